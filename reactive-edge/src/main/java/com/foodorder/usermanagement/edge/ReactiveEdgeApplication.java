@@ -0,0 +1,16 @@
+package com.foodorder.usermanagement.edge;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Users sign in through AuthController only, so there is no default in-memory user
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
+public class ReactiveEdgeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveEdgeApplication.class, args);
+    }
+}
@@ -0,0 +1,23 @@
+package com.foodorder.usermanagement.edge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * BCrypt takes tens of milliseconds of CPU per check, which would stall every connection on an
+ * event loop. Checks run on their own scheduler instead, with one thread per core by default
+ * and a bounded queue; logins beyond that are refused with 503 rather than queued without end.
+ */
+@Configuration
+public class PasswordCheckConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordCheckScheduler(
+            @Value("${app.auth.password-check.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${app.auth.password-check.queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "password-check");
+    }
+}
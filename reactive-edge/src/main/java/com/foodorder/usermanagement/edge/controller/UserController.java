@@ -0,0 +1,60 @@
+package com.foodorder.usermanagement.edge.controller;
+
+import com.foodorder.usermanagement.edge.dto.response.CurrentUserResponse;
+import com.foodorder.usermanagement.edge.dto.response.UserResponse;
+import com.foodorder.usermanagement.edge.security.UserPrincipal;
+import com.foodorder.usermanagement.edge.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The read side of the servlet service's {@code UserController}, without ETags or field
+ * selection.
+ */
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    // fresh=true is accepted too: the filter then authenticates against the database
+    @GetMapping("/me")
+    public ResponseEntity<CurrentUserResponse> getCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(CurrentUserResponse.from(principal));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<UserResponse> getUserById(@PathVariable Long id) {
+        return userService.getUserById(id);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<UserResponse> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    @GetMapping("/sellers")
+    public Flux<UserResponse> getAllSellers() {
+        return userService.getAllSellers();
+    }
+
+    @GetMapping("/customers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<UserResponse> getAllCustomers() {
+        return userService.getAllCustomers();
+    }
+}
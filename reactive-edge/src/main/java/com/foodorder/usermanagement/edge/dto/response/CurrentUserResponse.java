@@ -0,0 +1,25 @@
+package com.foodorder.usermanagement.edge.dto.response;
+
+import com.foodorder.usermanagement.edge.security.UserPrincipal;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Profile of the signed-in user, as carried by their access token.
+ */
+@Value
+public class CurrentUserResponse {
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    boolean seller;
+    List<String> roles;
+
+    public static CurrentUserResponse from(UserPrincipal principal) {
+        return new CurrentUserResponse(principal.getId(), principal.getEmail(), principal.getFirstName(),
+                principal.getLastName(), principal.isSeller(), principal.getRoles());
+    }
+}
@@ -0,0 +1,23 @@
+package com.foodorder.usermanagement.edge.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JwtResponse {
+    private String token;
+    private String type = "Bearer";
+    private Long id;
+    private String email;
+    private List<String> roles;
+
+    public JwtResponse(String token, Long id, String email, List<String> roles) {
+        this.token = token;
+        this.id = id;
+        this.email = email;
+        this.roles = roles;
+    }
+}
@@ -0,0 +1,54 @@
+package com.foodorder.usermanagement.edge.dto.response;
+
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Same shape as the servlet service's {@code UserResponse}.
+ */
+@Data
+public class UserResponse {
+    private Long id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phone;
+    private Set<String> roles;
+    private boolean enabled;
+    private boolean active;
+    private boolean seller;
+    private String businessName;
+    private String businessAddress;
+    private String upiId;
+    private String bankAccountNumber;
+    private String bankIfscCode;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    public static UserResponse from(UserRecord user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setEmail(user.getEmail());
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+        response.setPhone(user.getPhone());
+        response.setRoles(new LinkedHashSet<>(user.getRoles()));
+        response.setEnabled(user.isEnabled());
+        response.setActive(user.isActive());
+        response.setSeller(user.isSeller());
+        response.setBusinessName(user.getBusinessName());
+        response.setBusinessAddress(user.getBusinessAddress());
+        response.setUpiId(user.getUpiId());
+        response.setBankAccountNumber(user.getBankAccountNumber());
+        response.setBankIfscCode(user.getBankIfscCode());
+        response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        response.setVersion(user.getVersion());
+        return response;
+    }
+}
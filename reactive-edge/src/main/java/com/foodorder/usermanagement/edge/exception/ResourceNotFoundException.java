@@ -0,0 +1,8 @@
+package com.foodorder.usermanagement.edge.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.foodorder.usermanagement.edge.model;
+
+import lombok.Value;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only view of a live user with its seller profile and role names, as selected by
+ * {@link com.foodorder.usermanagement.edge.repository.UserRepository}. The tables belong to the
+ * servlet service, which is the only writer.
+ */
+@Value
+@Table("users")
+public class UserRecord {
+
+    @Id
+    Long id;
+    String email;
+    String password;
+    String firstName;
+    String lastName;
+    String phone;
+    boolean enabled;
+    boolean active;
+    boolean seller;
+    String businessName;
+    String businessAddress;
+    String upiId;
+    String bankAccountNumber;
+    String bankIfscCode;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
+    List<String> roles;
+}
@@ -0,0 +1,39 @@
+package com.foodorder.usermanagement.edge.repository;
+
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet service's {@code UserRepository} read methods. R2DBC has no
+ * associations, so each query selects the user, its seller profile and its role names in one
+ * round trip, and soft-deleted users are filtered explicitly.
+ */
+public interface UserRepository extends Repository<UserRecord, Long> {
+
+    String SELECT_USER = "SELECT u.id, u.email, u.password, u.first_name, u.last_name, u.phone, u.enabled, "
+            + "u.is_active AS active, u.is_seller AS seller, sp.business_name, sp.business_address, sp.upi_id, "
+            + "sp.bank_account_number, sp.bank_ifsc_code, u.created_at, u.updated_at, u.version, "
+            + "ARRAY(SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id "
+            + "WHERE ur.user_id = u.id ORDER BY r.name) AS roles "
+            + "FROM users u LEFT JOIN seller_profiles sp ON sp.id = u.seller_profile_id "
+            + "WHERE u.deleted_at IS NULL ";
+
+    @Query(SELECT_USER + "AND u.id = :id")
+    Mono<UserRecord> findById(@Param("id") Long id);
+
+    @Query(SELECT_USER + "AND lower(u.email) = lower(:email)")
+    Mono<UserRecord> findByEmail(@Param("email") String email);
+
+    @Query(SELECT_USER + "ORDER BY u.id")
+    Flux<UserRecord> findAll();
+
+    @Query(SELECT_USER + "AND u.is_seller ORDER BY u.id")
+    Flux<UserRecord> findAllSellers();
+
+    @Query(SELECT_USER + "AND NOT u.is_seller ORDER BY u.id")
+    Flux<UserRecord> findAllCustomers();
+}
@@ -0,0 +1,110 @@
+package com.foodorder.usermanagement.edge.security;
+
+import com.foodorder.usermanagement.edge.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive counterpart of the servlet service's {@code JwtAuthenticationFilter}: a valid, unrevoked
+ * bearer token authenticates the exchange as the user's current principal, anything else leaves
+ * it anonymous for the authorization rules to deal with. {@code GET /users/me} trusts the
+ * token's claims instead, as the servlet service does.
+ *
+ * <p>Concurrent lookups of the same email share one query, like the servlet service's
+ * {@code UserPrincipalLookup}. Service-client tokens are not accepted here.
+ */
+@Slf4j
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String CURRENT_USER = "/api/v1/users/me";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserRepository userRepository;
+    private final Map<String, Mono<UserPrincipal>> inFlightLookups = new ConcurrentHashMap<>();
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider jwtTokenProvider,
+                                      TokenRevocationList tokenRevocationList,
+                                      UserRepository userRepository) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange.getRequest());
+        if (jwt == null) {
+            return chain.filter(exchange);
+        }
+        return authenticate(jwt, isClaimsOnly(exchange.getRequest()))
+                .map(principal -> Optional.<Authentication>of(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(found -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(found)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    /**
+     * @return empty if the token is invalid, expired or revoked, or its user is gone or disabled
+     */
+    Mono<UserPrincipal> authenticate(String token, boolean claimsOnly) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Invalid JWT token: {}", ex.getMessage());
+            return Mono.empty();
+        }
+        if (tokenRevocationList.isRevoked(token) || claims.getSubject() == null) {
+            return Mono.empty();
+        }
+        Optional<UserPrincipal> fromClaims = claimsOnly ? UserPrincipal.fromClaims(claims) : Optional.empty();
+        return fromClaims.map(Mono::just).orElseGet(() -> findByEmail(claims.getSubject()));
+    }
+
+    private Mono<UserPrincipal> findByEmail(String email) {
+        String key = email.toLowerCase(Locale.ROOT);
+        return Mono.defer(() -> inFlightLookups.computeIfAbsent(key, k -> userRepository.findByEmail(k)
+                .map(UserPrincipal::from)
+                .filter(UserPrincipal::isEnabled)
+                // Removed before subscribers are signalled, so nobody joins a lookup that has finished
+                .doOnTerminate(() -> inFlightLookups.remove(k))
+                .cache()));
+    }
+
+    // GET /users/me answers from the token, so looking the user up would be its only query
+    private static boolean isClaimsOnly(ServerHttpRequest request) {
+        return CURRENT_USER.equals(request.getPath().pathWithinApplication().value())
+                && HttpMethod.GET.equals(request.getMethod())
+                && !"true".equals(request.getQueryParams().getFirst("fresh"));
+    }
+
+    private static String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER)) {
+            return bearerToken.substring(BEARER.length());
+        }
+        return null;
+    }
+}
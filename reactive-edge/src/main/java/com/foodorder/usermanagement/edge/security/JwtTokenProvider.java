@@ -0,0 +1,49 @@
+package com.foodorder.usermanagement.edge.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Issues and verifies access tokens with the servlet service's key and claims. Signing and
+ * verifying are a few microseconds of HMAC, cheap enough to run on the event loop.
+ */
+@Component
+public class JwtTokenProvider {
+
+    private final Key key;
+    private final JwtParser parser;
+    private final long jwtExpirationInMs;
+
+    public JwtTokenProvider(@Value("${spring.security.jwt.secret}") String jwtSecret,
+                            @Value("${spring.security.jwt.expiration}") long jwtExpirationInMs) {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.jwtExpirationInMs = jwtExpirationInMs;
+    }
+
+    public String generateToken(UserPrincipal principal) {
+        Date now = new Date();
+        return Jwts.builder()
+                .addClaims(principal.toClaims())
+                .setSubject(principal.getEmail())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationInMs))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
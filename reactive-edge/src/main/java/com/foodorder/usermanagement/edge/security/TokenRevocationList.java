@@ -0,0 +1,108 @@
+package com.foodorder.usermanagement.edge.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Access tokens revoked before their expiry, shared with the servlet service through
+ * {@code revoked_tokens}. Revocations are held in memory until the token would have expired
+ * anyway, so checking a token never touches the database; rows written by any instance are
+ * picked up within {@code refresh-interval-ms}. Expired rows are deleted by the servlet service.
+ *
+ * <p>Polls are keyed on the writing transaction's id, as the servlet service's are, so neither
+ * service's clock decides which rows a poll reads.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Rows of every transaction not yet finished at the last poll; the horizon comes back even with none
+    private static final String POLL = """
+            WITH horizon AS (
+                SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) AS tx_id
+            )
+            SELECT h.tx_id, r.token_hash, r.expires_at
+            FROM horizon h
+            LEFT JOIN revoked_tokens r ON r.tx_id >= :since AND r.expires_at > :now
+            """;
+
+    private final DatabaseClient databaseClient;
+    // Token hash to expiry
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    // Oldest transaction still running at the last poll; rows from older ones have all been read
+    private volatile long pollHorizon;
+
+    public TokenRevocationList(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> revoke(String token, Instant expiresAt) {
+        String hash = hash(token);
+        return databaseClient.sql("INSERT INTO revoked_tokens (token_hash, expires_at, revoked_at) "
+                        + "VALUES (:hash, :expiresAt, :revokedAt) ON CONFLICT DO NOTHING")
+                .bind("hash", hash)
+                .bind("expiresAt", local(expiresAt))
+                .bind("revokedAt", local(Instant.now()))
+                .then()
+                .doOnSuccess(done -> revoked.put(hash, expiresAt));
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.containsKey(hash(token));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.refresh-interval-ms:5000}")
+    public Mono<Void> refresh() {
+        Instant now = Instant.now();
+        AtomicLong horizon = new AtomicLong(pollHorizon);
+        // The first poll, from horizon 0, loads every revocation still in force
+        return databaseClient.sql(POLL)
+                .bind("since", pollHorizon)
+                .bind("now", local(now))
+                .map(row -> {
+                    horizon.set(row.get("tx_id", Long.class));
+                    String hash = row.get("token_hash", String.class);
+                    return hash == null ? Optional.<Map.Entry<String, Instant>>empty() : Optional.of(Map.entry(hash,
+                            row.get("expires_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant()));
+                })
+                .all()
+                .doOnNext(entry -> entry.ifPresent(revocation -> revoked.put(revocation.getKey(), revocation.getValue())))
+                .then(Mono.fromRunnable(() -> {
+                    pollHorizon = horizon.get();
+                    revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+                }))
+                .onErrorResume(ex -> {
+                    log.warn("Could not refresh revoked tokens, retrying on the next poll", ex);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // The columns hold local time, as the servlet service's JDBC timestamps write it
+    private static LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.foodorder.usermanagement.edge.security;
+
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The signed-in user as carried by an access token. Uses the same claims as the servlet
+ * service's {@code UserPrincipal}, so tokens issued by either are accepted by both.
+ *
+ * <p>Tokens are only issued to enabled users and carry no enabled claim, so a principal rebuilt
+ * from claims is taken to be enabled; only one loaded from the database reflects a later disable.
+ */
+@Value
+public class UserPrincipal {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String FIRST_NAME_CLAIM = "given_name";
+    public static final String LAST_NAME_CLAIM = "family_name";
+    public static final String SELLER_CLAIM = "seller";
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    boolean seller;
+    boolean enabled;
+    List<String> roles;
+
+    public static UserPrincipal from(UserRecord user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.isSeller(), user.isEnabled(), user.getRoles());
+    }
+
+    /**
+     * @return empty for tokens issued before the profile claims were added
+     */
+    public static Optional<UserPrincipal> fromClaims(Claims claims) {
+        Long id = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (id == null || roles == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserPrincipal(id, claims.getSubject(), claims.get(FIRST_NAME_CLAIM, String.class),
+                claims.get(LAST_NAME_CLAIM, String.class), Boolean.TRUE.equals(claims.get(SELLER_CLAIM, Boolean.class)),
+                true, roles.stream().map(String::valueOf).toList()));
+    }
+
+    public Map<String, Object> toClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, id);
+        claims.put(ROLES_CLAIM, roles);
+        claims.put(FIRST_NAME_CLAIM, firstName);
+        claims.put(LAST_NAME_CLAIM, lastName);
+        claims.put(SELLER_CLAIM, seller);
+        return claims;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+}
@@ -0,0 +1,12 @@
+package com.foodorder.usermanagement.edge.service;
+
+import com.foodorder.usermanagement.edge.dto.request.LoginRequest;
+import com.foodorder.usermanagement.edge.dto.response.JwtResponse;
+import reactor.core.publisher.Mono;
+
+public interface AuthService {
+
+    Mono<JwtResponse> login(LoginRequest loginRequest);
+
+    Mono<Void> logout(String token);
+}
@@ -0,0 +1,16 @@
+package com.foodorder.usermanagement.edge.service;
+
+import com.foodorder.usermanagement.edge.dto.response.UserResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UserService {
+
+    Mono<UserResponse> getUserById(Long id);
+
+    Flux<UserResponse> getAllUsers();
+
+    Flux<UserResponse> getAllSellers();
+
+    Flux<UserResponse> getAllCustomers();
+}
@@ -0,0 +1,81 @@
+package com.foodorder.usermanagement.edge.service.impl;
+
+import com.foodorder.usermanagement.edge.dto.request.LoginRequest;
+import com.foodorder.usermanagement.edge.dto.response.JwtResponse;
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import com.foodorder.usermanagement.edge.repository.UserRepository;
+import com.foodorder.usermanagement.edge.security.JwtTokenProvider;
+import com.foodorder.usermanagement.edge.security.TokenRevocationList;
+import com.foodorder.usermanagement.edge.security.UserPrincipal;
+import com.foodorder.usermanagement.edge.service.AuthService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final String BEARER = "Bearer ";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final Scheduler passwordCheckScheduler;
+    // Checked against when the email is unknown, so both cases take one BCrypt's time
+    private final String unknownUserHash;
+
+    public AuthServiceImpl(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           JwtTokenProvider tokenProvider,
+                           TokenRevocationList tokenRevocationList,
+                           @Qualifier("passwordCheckScheduler") Scheduler passwordCheckScheduler) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.passwordCheckScheduler = passwordCheckScheduler;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
+    @Override
+    public Mono<JwtResponse> login(LoginRequest loginRequest) {
+        return userRepository.findByEmail(loginRequest.getEmail())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> Mono.fromCallable(() -> passwordEncoder.matches(loginRequest.getPassword(),
+                                        user.map(UserRecord::getPassword).orElse(unknownUserHash)))
+                        .subscribeOn(passwordCheckScheduler)
+                        .flatMap(matches -> matches && user.isPresent()
+                                ? checkEnabled(UserPrincipal.from(user.get()))
+                                : Mono.error(new BadCredentialsException("Bad credentials"))))
+                .map(principal -> new JwtResponse(tokenProvider.generateToken(principal), principal.getId(),
+                        principal.getEmail(), principal.getRoles()));
+    }
+
+    @Override
+    public Mono<Void> logout(String token) {
+        String jwt = token != null && token.startsWith(BEARER) ? token.substring(BEARER.length()) : token;
+        try {
+            // Kept until the token would have expired anyway
+            return tokenRevocationList.revoke(jwt, tokenProvider.parseClaims(jwt).getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Not a usable token, so there is nothing to revoke
+            return Mono.empty();
+        }
+    }
+
+    // Checked after the password, so only someone who knows it learns that the account is disabled
+    private static Mono<UserPrincipal> checkEnabled(UserPrincipal principal) {
+        return principal.isEnabled()
+                ? Mono.just(principal)
+                : Mono.error(new DisabledException("User is disabled"));
+    }
+}
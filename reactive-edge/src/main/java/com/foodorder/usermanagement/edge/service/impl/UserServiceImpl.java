@@ -0,0 +1,39 @@
+package com.foodorder.usermanagement.edge.service.impl;
+
+import com.foodorder.usermanagement.edge.dto.response.UserResponse;
+import com.foodorder.usermanagement.edge.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.edge.repository.UserRepository;
+import com.foodorder.usermanagement.edge.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public Mono<UserResponse> getUserById(Long id) {
+        return userRepository.findById(id)
+                .map(UserResponse::from)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found")));
+    }
+
+    @Override
+    public Flux<UserResponse> getAllUsers() {
+        return userRepository.findAll().map(UserResponse::from);
+    }
+
+    @Override
+    public Flux<UserResponse> getAllSellers() {
+        return userRepository.findAllSellers().map(UserResponse::from);
+    }
+
+    @Override
+    public Flux<UserResponse> getAllCustomers() {
+        return userRepository.findAllCustomers().map(UserResponse::from);
+    }
+}
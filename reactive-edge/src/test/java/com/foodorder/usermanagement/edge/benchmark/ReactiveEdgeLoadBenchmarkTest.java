@@ -0,0 +1,304 @@
+package com.foodorder.usermanagement.edge.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.edge.ReactiveEdgeApplication;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Holds {@code benchmark.connections} keep-alive connections open against the reactive edge, each
+ * a closed-loop client, and reports throughput and latency per kind of request:
+ * {@code GET /users/me} (claims only), {@code GET /users/{id}} (one R2DBC query) and
+ * {@code POST /auth/login} (one query and one BCrypt check on the password-check scheduler).
+ *
+ * <p>With {@code benchmark.servlet-url} set, the same load is then sent to a running servlet
+ * service. Both need the same database and JWT secret, so point the benchmark at it with
+ * {@code benchmark.jdbc-url}, {@code benchmark.username} and {@code benchmark.password};
+ * without those it starts a Postgres container. Each connection takes a file descriptor on both
+ * ends, so the default of 10,000 needs {@code ulimit -n} well above 20,000 when client and edge
+ * share a JVM.
+ */
+@Slf4j
+@Tag("benchmark")
+class ReactiveEdgeLoadBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int ID_PERCENT = Integer.getInteger("benchmark.id-percent", 20);
+    private static final int LOGIN_PERMILLE = Integer.getInteger("benchmark.login-permille", 1);
+    private static final String SERVLET_URL = System.getProperty("benchmark.servlet-url");
+    private static final String JWT_SECRET = System.getProperty("benchmark.jwt-secret",
+            "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 15));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+    private static final String ADMIN_EMAIL = "bench-admin@example.com";
+    private static final String PASSWORD = "password123";
+
+    private static PostgreSQLContainer<?> postgres;
+    private static String jdbcUrl;
+    private static String username;
+    private static String password;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void database() {
+        jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        username = System.getProperty("benchmark.username", "test");
+        password = System.getProperty("benchmark.password", "test");
+        if (jdbcUrl == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("benchmark")
+                    .withUsername(username)
+                    .withPassword(password);
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+        }
+        Flyway.configure()
+                .dataSource(jdbcUrl, username, password)
+                .locations("filesystem:../src/main/resources/db/migration")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Reactive edge under many concurrent connections, against the servlet service if given")
+    void edgeAgainstServlet() throws Exception {
+        long firstId = seed();
+        Result edge;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveEdgeApplication.class)
+                .run("--server.port=0",
+                        "--spring.r2dbc.url=" + jdbcUrl.replace("jdbc:", "r2dbc:"),
+                        "--spring.r2dbc.username=" + username,
+                        "--spring.r2dbc.password=" + password,
+                        "--spring.security.jwt.secret=" + JWT_SECRET,
+                        "--logging.level.com.foodorder=INFO")) {
+            int port = ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+            edge = load("http://localhost:" + port, firstId);
+        }
+        Result servlet = SERVLET_URL == null ? null : load(SERVLET_URL, firstId);
+
+        StringBuilder report = new StringBuilder(String.format("""
+                %,d concurrent keep-alive connections for %d s after %d s ramp-up, %,d users,
+                %d%% GET /users/{id}, %.1f%% POST /auth/login, the rest GET /users/me; %d CPUs
+                %-9s %9s %9s %9s %9s %9s %9s %9s %9s %9s %8s
+                """,
+                CONNECTIONS, MEASUREMENT.toSeconds(), WARMUP.toSeconds(), USERS, ID_PERCENT, LOGIN_PERMILLE / 10.0,
+                Runtime.getRuntime().availableProcessors(),
+                "", "me req/s", "me p50", "me p99", "id req/s", "id p50", "id p99", "in req/s", "in p50", "in p99",
+                "errors"));
+        report.append(edge.format("reactive")).append('\n');
+        report.append(servlet == null
+                ? String.format("%-9s skipped, set benchmark.servlet-url%n", "servlet")
+                : servlet.format("servlet") + '\n');
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "reactive-edge.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertTrue(edge.me.size() > 0 && edge.id.size() > 0);
+    }
+
+    private Result load(String baseUrl, long firstId) throws Exception {
+        String token = login(baseUrl);
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(1))
+                .build();
+        HttpClient client = HttpClient.create(connections)
+                .baseUrl(baseUrl)
+                .responseTimeout(Duration.ofSeconds(30));
+        HttpClient authorized = client.headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token));
+        String loginBody = objectMapper.writeValueAsString(Map.of("email", ADMIN_EMAIL, "password", PASSWORD));
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + MEASUREMENT.toNanos();
+        try {
+            return Flux.range(0, CONNECTIONS)
+                    .flatMap(i -> {
+                        SplittableRandom random = new SplittableRandom(i);
+                        Result result = new Result();
+                        // Connections open evenly over the first half of the ramp-up
+                        Duration delay = Duration.ofNanos(WARMUP.toNanos() / 2 * i / CONNECTIONS);
+                        return Mono.delay(delay)
+                                .thenMany(Mono.defer(() -> {
+                                    int draw = random.nextInt(1000);
+                                    Latencies kind;
+                                    Mono<Integer> request;
+                                    if (draw < LOGIN_PERMILLE) {
+                                        kind = result.login;
+                                        request = status(client.headers(headers -> headers.set(
+                                                        HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                                                .post().uri("/api/v1/auth/login")
+                                                .send(ByteBufFlux.fromString(Mono.just(loginBody))));
+                                    } else if (draw < LOGIN_PERMILLE + ID_PERCENT * 10) {
+                                        kind = result.id;
+                                        request = status(authorized.get().uri("/api/v1/users/" + (firstId + random.nextInt(USERS))));
+                                    } else {
+                                        kind = result.me;
+                                        request = status(authorized.get().uri("/api/v1/users/me"));
+                                    }
+                                    long started = System.nanoTime();
+                                    return request
+                                            .onErrorReturn(-1)
+                                            .doOnNext(code -> {
+                                                long finished = System.nanoTime();
+                                                if (started < measureFrom) {
+                                                    return;
+                                                }
+                                                if (code != 200) {
+                                                    result.errors++;
+                                                } else {
+                                                    kind.add(finished - started);
+                                                }
+                                            });
+                                }).repeat(() -> System.nanoTime() < end))
+                                .then(Mono.just(result));
+                    }, CONNECTIONS)
+                    .reduce(new Result(), Result::merge)
+                    .block();
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private static Mono<Integer> status(HttpClient.ResponseReceiver<?> request) {
+        return request.responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                .defaultIfEmpty(-1);
+    }
+
+    private String login(String baseUrl) throws Exception {
+        String body = HttpClient.create()
+                .baseUrl(baseUrl)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                .post().uri("/api/v1/auth/login")
+                .send(ByteBufFlux.fromString(Mono.just(objectMapper.writeValueAsString(
+                        Map.of("email", ADMIN_EMAIL, "password", PASSWORD)))))
+                .responseContent().aggregate().asString()
+                .block(Duration.ofSeconds(30));
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    /**
+     * @return the id of the first of the {@code benchmark.users} users
+     */
+    private static long seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(jdbcUrl, username, password));
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email LIKE 'bench%')");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'bench%'");
+        jdbcTemplate.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                SELECT now(), now(), 0, 'First' || g, 'Last' || g, 'bench' || g || '@example.com',
+                       '+2' || lpad(g::text, 10, '0'), 'encodedPassword', true, false, true
+                FROM generate_series(1, ?) AS g
+                """, USERS);
+        Long adminId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'Bench', 'Admin', ?, '+29990000000', ?, true, false, true) RETURNING id
+                """, Long.class, ADMIN_EMAIL, new BCryptPasswordEncoder().encode(PASSWORD));
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_ADMIN'",
+                adminId);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE email LIKE 'bench%@example.com' "
+                + "AND email <> ?", Long.class, ADMIN_EMAIL);
+    }
+
+    private static final class Result {
+
+        private final Latencies me = new Latencies();
+        private final Latencies id = new Latencies();
+        private final Latencies login = new Latencies();
+        private long errors;
+
+        Result merge(Result other) {
+            me.addAll(other.me);
+            id.addAll(other.id);
+            login.addAll(other.login);
+            errors += other.errors;
+            return this;
+        }
+
+        String format(String target) {
+            double seconds = MEASUREMENT.toNanos() / 1e9;
+            return String.format("%-9s %9.0f %7.1fms %7.1fms %9.0f %7.1fms %7.1fms %9.1f %7.1fms %7.1fms %8d",
+                    target, me.size() / seconds, me.percentile(50), me.percentile(99),
+                    id.size() / seconds, id.percentile(50), id.percentile(99),
+                    login.size() / seconds, login.percentile(50), login.percentile(99), errors);
+        }
+    }
+
+    private static final class Latencies {
+
+        private final List<Long> nanos = new ArrayList<>();
+
+        void add(long value) {
+            nanos.add(value);
+        }
+
+        void addAll(Latencies other) {
+            nanos.addAll(other.nanos);
+        }
+
+        int size() {
+            return nanos.size();
+        }
+
+        /**
+         * @return the percentile in milliseconds
+         */
+        double percentile(int percentile) {
+            if (nanos.isEmpty()) {
+                return Double.NaN;
+            }
+            List<Long> sorted = new ArrayList<>(nanos);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.foodorder.usermanagement.edge.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.edge.dto.request.LoginRequest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The edge's side of the servlet service's {@code DisabledUserIntegrationTest}: users are disabled
+ * by the servlet service, which owns the table, so here the row is changed directly.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+class DisabledUserIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("filesystem:../src/main/resources/db/migration")
+                .load()
+                .migrate();
+        registry.add("spring.r2dbc.url", () -> postgres.getJdbcUrl().replace("jdbc:", "r2dbc:"));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.security.jwt.secret", () -> "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private JdbcTemplate jdbcTemplate;
+    private long adminId;
+    private long fraudsterId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+        jdbcTemplate.update("DELETE FROM revoked_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        adminId = insertAdmin("ada@example.com", "+15550000001");
+        fraudsterId = insertAdmin("mallory@fraud.example", "+15550000002");
+    }
+
+    @Test
+    @DisplayName("A disabled user can no longer log in, and tokens issued before are refused")
+    void disabledUser_LoginAndTokensRefused() {
+        String fraudsterToken = login("mallory@fraud.example").expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody().get("token").asText();
+        getUser(fraudsterToken, adminId).expectStatus().isOk();
+
+        jdbcTemplate.update("UPDATE users SET enabled = false, version = version + 1 WHERE id = ?", fraudsterId);
+
+        login("mallory@fraud.example").expectStatus().isUnauthorized();
+        getUser(fraudsterToken, adminId).expectStatus().isForbidden();
+        webTestClient.get().uri("/api/v1/users/me?fresh=true")
+                .headers(headers -> headers.setBearerAuth(fraudsterToken))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        String adminToken = login("ada@example.com").expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody().get("token").asText();
+        getUser(adminToken, fraudsterId).expectStatus().isOk()
+                .expectBody().jsonPath("$.enabled").isEqualTo(false);
+        // The claims-only path does not check the holder, like the servlet service's
+        webTestClient.get().uri("/api/v1/users/me")
+                .headers(headers -> headers.setBearerAuth(fraudsterToken))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private WebTestClient.ResponseSpec login(String email) {
+        return webTestClient.post().uri("/api/v1/auth/login")
+                .bodyValue(new LoginRequest(email, PASSWORD))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec getUser(String token, long id) {
+        return webTestClient.get().uri("/api/v1/users/{id}", id)
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange();
+    }
+
+    private long insertAdmin(String email, String phone) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone, password,
+                                   enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'Admin', 'User', ?, ?, ?, true, false, true) RETURNING id
+                """, Long.class, email, phone, passwordEncoder.encode(PASSWORD));
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_ADMIN'",
+                id);
+        return id;
+    }
+}
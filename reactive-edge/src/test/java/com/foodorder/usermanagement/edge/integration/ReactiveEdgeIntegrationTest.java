@@ -0,0 +1,215 @@
+package com.foodorder.usermanagement.edge.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.edge.dto.request.LoginRequest;
+import com.foodorder.usermanagement.edge.security.TokenRevocationList;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the edge against the servlet service's schema, migrated by its own Flyway scripts.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+class ReactiveEdgeIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("filesystem:../src/main/resources/db/migration")
+                .load()
+                .migrate();
+        registry.add("spring.r2dbc.url", () -> postgres.getJdbcUrl().replace("jdbc:", "r2dbc:"));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.security.jwt.secret", () -> "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private JdbcTemplate jdbcTemplate;
+    private long adminId;
+    private long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+        jdbcTemplate.update("DELETE FROM revoked_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM seller_profiles");
+        String password = passwordEncoder.encode("password123");
+        adminId = insertUser("admin@example.com", "+15550000001", password, false, "ROLE_ADMIN");
+        insertUser("customer@example.com", "+15550000002", password, false, "ROLE_CUSTOMER");
+        sellerId = insertUser("seller@example.com", "+15550000003", password, true, "ROLE_SELLER");
+        Long profileId = jdbcTemplate.queryForObject("""
+                INSERT INTO seller_profiles (created_at, updated_at, version, business_name, upi_id)
+                VALUES (now(), now(), 0, 'Sam''s Kitchen', 'sam@upi') RETURNING id
+                """, Long.class);
+        jdbcTemplate.update("UPDATE users SET seller_profile_id = ? WHERE id = ?", profileId, sellerId);
+    }
+
+    @Test
+    @DisplayName("Login checks the stored BCrypt hash and issues a token the edge accepts")
+    void login_IssuesUsableToken() {
+        String token = login("ADMIN@example.com", "password123");
+
+        webTestClient.get().uri("/api/v1/users/me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(adminId)
+                .jsonPath("$.roles[0]").isEqualTo("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Wrong passwords and unknown emails get the same 401; malformed requests get 400")
+    void login_Rejected() {
+        for (LoginRequest request : new LoginRequest[] {
+                new LoginRequest("admin@example.com", "wrong"), new LoginRequest("nobody@example.com", "password123")}) {
+            webTestClient.post().uri("/api/v1/auth/login").bodyValue(request)
+                    .exchange()
+                    .expectStatus().isUnauthorized()
+                    .expectBody().jsonPath("$.message").isEqualTo("Invalid credentials");
+        }
+        webTestClient.post().uri("/api/v1/auth/login").bodyValue(new LoginRequest("not-an-email", ""))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Users are read with their seller profile and roles, for admins only")
+    void getUserById() {
+        String admin = login("admin@example.com", "password123");
+        webTestClient.get().uri("/api/v1/users/{id}", sellerId)
+                .headers(headers -> headers.setBearerAuth(admin))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("seller@example.com")
+                .jsonPath("$.seller").isEqualTo(true)
+                .jsonPath("$.businessName").isEqualTo("Sam's Kitchen")
+                .jsonPath("$.roles[0]").isEqualTo("ROLE_SELLER");
+        webTestClient.get().uri("/api/v1/users/{id}", sellerId + 1000)
+                .headers(headers -> headers.setBearerAuth(admin))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/api/v1/users")
+                .headers(headers -> headers.setBearerAuth(admin))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Object.class).hasSize(3);
+
+        String customer = login("customer@example.com", "password123");
+        webTestClient.get().uri("/api/v1/users/{id}", sellerId)
+                .headers(headers -> headers.setBearerAuth(customer))
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.get().uri("/api/v1/users/sellers")
+                .headers(headers -> headers.setBearerAuth(customer))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(sellerId);
+    }
+
+    @Test
+    @DisplayName("Anonymous requests are refused")
+    void anonymous_Forbidden() {
+        webTestClient.get().uri("/api/v1/users/me").exchange().expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Logout revokes the token in the shared table and locally at once")
+    void logout_RevokesToken() {
+        String token = login("customer@example.com", "password123");
+
+        webTestClient.post().uri("/api/v1/auth/logout")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_tokens", Integer.class));
+        webTestClient.get().uri("/api/v1/users/me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("A revocation written elsewhere is picked up by the next poll, whatever the writer's clock said")
+    void revokedElsewhere_SkewedClock_Refused() throws Exception {
+        String token = login("customer@example.com", "password123");
+        tokenRevocationList.refresh().block();
+
+        jdbcTemplate.update("INSERT INTO revoked_tokens (token_hash, expires_at, revoked_at) VALUES (?, ?, ?)",
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))),
+                Timestamp.from(Instant.now().plus(1, ChronoUnit.HOURS)), Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+        tokenRevocationList.refresh().block();
+
+        webTestClient.get().uri("/api/v1/users/me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private String login(String email, String password) {
+        JsonNode response = webTestClient.post().uri("/api/v1/auth/login")
+                .bodyValue(new LoginRequest(email, password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(response);
+        assertEquals("Bearer", response.get("type").asText());
+        return response.get("token").asText();
+    }
+
+    private long insertUser(String email, String phone, String password, boolean seller, String role) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone, password,
+                                   enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'First', 'Last', ?, ?, ?, true, ?, true) RETURNING id
+                """, Long.class, email, phone, password, seller);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = ?", id, role);
+        return id;
+    }
+}
@@ -0,0 +1,148 @@
+package com.foodorder.usermanagement.edge.security;
+
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import com.foodorder.usermanagement.edge.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationWebFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private final JwtTokenProvider jwtTokenProvider =
+            new JwtTokenProvider("test-secret-key-that-is-long-enough-for-hmac-sha-256", 3_600_000L);
+    private JwtAuthenticationWebFilter filter;
+    private UserRecord user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationWebFilter(jwtTokenProvider, tokenRevocationList, userRepository);
+        user = new UserRecord(7L, "customer@example.com", "encodedPassword", "Casey", "Customer", "+15550000007",
+                true, true, false, null, null, null, null, null, null, null, 0L, List.of("ROLE_CUSTOMER"));
+        token = jwtTokenProvider.generateToken(UserPrincipal.from(user));
+    }
+
+    @Test
+    @DisplayName("GET /users/me is authenticated from the token's claims without a lookup")
+    void currentUser_FromClaims() {
+        List<Authentication> seen = new ArrayList<>();
+
+        StepVerifier.create(filter.filter(exchange("/api/v1/users/me", token), recording(seen))).verifyComplete();
+
+        assertEquals(1, seen.size());
+        assertEquals(7L, ((UserPrincipal) seen.get(0).getPrincipal()).getId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Other requests authenticate as the user's current principal")
+    void otherRequests_LookUpUser() {
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(user));
+        List<Authentication> seen = new ArrayList<>();
+
+        StepVerifier.create(filter.filter(exchange("/api/v1/users/7", token), recording(seen))).verifyComplete();
+
+        assertEquals(List.of("ROLE_CUSTOMER"), seen.get(0).getAuthorities().stream().map(Object::toString).toList());
+    }
+
+    @Test
+    @DisplayName("A user disabled since the token was issued is left anonymous")
+    void disabledUser_Anonymous() {
+        UserRecord disabled = new UserRecord(7L, "customer@example.com", "encodedPassword", "Casey", "Customer",
+                "+15550000007", false, true, false, null, null, null, null, null, null, null, 1L,
+                List.of("ROLE_CUSTOMER"));
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(disabled));
+        List<Authentication> seen = new ArrayList<>();
+
+        StepVerifier.create(filter.filter(exchange("/api/v1/users/7", token), recording(seen))).verifyComplete();
+
+        assertEquals(1, seen.size());
+        assertNull(seen.get(0));
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for the same user share one lookup")
+    void concurrentLookups_Coalesced() {
+        Sinks.One<UserRecord> result = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+        when(userRepository.findByEmail("customer@example.com"))
+                .thenReturn(result.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet()));
+        List<Authentication> seen = new ArrayList<>();
+
+        Mono<Void> first = filter.filter(exchange("/api/v1/users/7", token), recording(seen)).cache();
+        Mono<Void> second = filter.filter(exchange("/api/v1/users/sellers", token), recording(seen)).cache();
+        first.subscribe();
+        second.subscribe();
+        result.tryEmitValue(user);
+
+        StepVerifier.create(Mono.when(first, second)).verifyComplete();
+        assertEquals(2, seen.size());
+        assertEquals(1, subscriptions.get());
+        verify(userRepository, times(1)).findByEmail("customer@example.com");
+    }
+
+    @Test
+    @DisplayName("Revoked, invalid and orphaned tokens leave the request anonymous, and it continues once")
+    void unusableTokens_Anonymous() {
+        String revoked = jwtTokenProvider.generateToken(
+                new UserPrincipal(8L, "revoked@example.com", "Rory", "Revoked", false, true, List.of("ROLE_CUSTOMER")));
+        when(tokenRevocationList.isRevoked(anyString())).thenAnswer(invocation -> revoked.equals(invocation.getArgument(0)));
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.empty());
+        List<Authentication> seen = new ArrayList<>();
+
+        for (String unusable : List.of(revoked, "not-a-jwt", token)) {
+            StepVerifier.create(filter.filter(exchange("/api/v1/users/7", unusable), recording(seen))).verifyComplete();
+        }
+
+        assertEquals(3, seen.size());
+        verify(userRepository, never()).findByEmail("revoked@example.com");
+        assertTrue(seen.stream().allMatch(authentication -> authentication == null));
+    }
+
+    private static MockServerWebExchange exchange(String path, String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    // Records the authentication each pass down the chain sees, null when anonymous
+    private static WebFilterChain recording(List<Authentication> seen) {
+        return exchange -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(authentication -> {
+                    synchronized (seen) {
+                        seen.add(authentication.orElse(null));
+                    }
+                })
+                .then();
+    }
+}
@@ -0,0 +1,175 @@
+package com.foodorder.usermanagement.edge.service;
+
+import com.foodorder.usermanagement.edge.dto.request.LoginRequest;
+import com.foodorder.usermanagement.edge.model.UserRecord;
+import com.foodorder.usermanagement.edge.repository.UserRepository;
+import com.foodorder.usermanagement.edge.security.JwtTokenProvider;
+import com.foodorder.usermanagement.edge.security.TokenRevocationList;
+import com.foodorder.usermanagement.edge.security.UserPrincipal;
+import com.foodorder.usermanagement.edge.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final Set<String> checkThreads = ConcurrentHashMap.newKeySet();
+    private final JwtTokenProvider jwtTokenProvider =
+            new JwtTokenProvider("test-secret-key-that-is-long-enough-for-hmac-sha-256", 3_600_000L);
+    private Scheduler scheduler;
+    private AuthServiceImpl authService;
+    private UserRecord user;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Schedulers.newBoundedElastic(1, 1, "password-check");
+        PasswordEncoder recordingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return passwordEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                checkThreads.add(Thread.currentThread().getName());
+                return passwordEncoder.matches(rawPassword, encodedPassword);
+            }
+        };
+        authService = new AuthServiceImpl(userRepository, recordingEncoder, jwtTokenProvider, tokenRevocationList,
+                scheduler);
+        user = new UserRecord(7L, "customer@example.com", passwordEncoder.encode("password123"), "Casey", "Customer",
+                "+15550000007", true, true, false, null, null, null, null, null, null, null, 0L,
+                List.of("ROLE_CUSTOMER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("A correct password is checked off the caller's thread and gets a token")
+    void login_Success() {
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(user));
+
+        StepVerifier.create(authService.login(new LoginRequest("customer@example.com", "password123")))
+                .assertNext(response -> {
+                    assertEquals(7L, response.getId());
+                    assertEquals(List.of("ROLE_CUSTOMER"), response.getRoles());
+                    UserPrincipal principal = UserPrincipal.fromClaims(jwtTokenProvider.parseClaims(response.getToken()))
+                            .orElseThrow();
+                    assertEquals("customer@example.com", principal.getEmail());
+                })
+                .verifyComplete();
+        assertTrue(checkThreads.stream().allMatch(name -> name.startsWith("password-check")), checkThreads.toString());
+    }
+
+    @Test
+    @DisplayName("A wrong password is rejected as bad credentials")
+    void login_WrongPassword() {
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(user));
+
+        StepVerifier.create(authService.login(new LoginRequest("customer@example.com", "wrong")))
+                .verifyError(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("A disabled user is refused, but only told so after the right password")
+    void login_DisabledUser() {
+        UserRecord disabled = new UserRecord(7L, "customer@example.com", user.getPassword(), "Casey", "Customer",
+                "+15550000007", false, true, false, null, null, null, null, null, null, null, 1L,
+                List.of("ROLE_CUSTOMER"));
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(disabled));
+
+        StepVerifier.create(authService.login(new LoginRequest("customer@example.com", "password123")))
+                .verifyError(DisabledException.class);
+        StepVerifier.create(authService.login(new LoginRequest("customer@example.com", "wrong")))
+                .verifyError(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("An unknown email still costs a password check, then is rejected the same way")
+    void login_UnknownEmail() {
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authService.login(new LoginRequest("nobody@example.com", "password123")))
+                .verifyError(BadCredentialsException.class);
+        assertFalse(checkThreads.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Logins beyond the password-check queue are refused instead of waiting")
+    void login_Saturated() throws InterruptedException {
+        when(userRepository.findByEmail("customer@example.com")).thenReturn(Mono.just(user));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        // Occupies the only thread and the only queue slot
+        scheduler.schedule(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.schedule(() -> { });
+
+        StepVerifier.create(authService.login(new LoginRequest("customer@example.com", "password123")))
+                .verifyError(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Logout revokes the bearer token until it expires")
+    void logout_RevokesToken() {
+        String token = jwtTokenProvider.generateToken(UserPrincipal.from(user));
+        when(tokenRevocationList.revoke(eq(token), any(Instant.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(authService.logout("Bearer " + token)).verifyComplete();
+
+        verify(tokenRevocationList).revoke(eq(token), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Logout with an unusable token has nothing to revoke")
+    void logout_InvalidToken() {
+        StepVerifier.create(authService.logout("Bearer not-a-jwt")).verifyComplete();
+
+        verify(tokenRevocationList, never()).revoke(anyString(), any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.foodorder.usermanagement.availability;
+
+import com.foodorder.usermanagement.exception.TooManyRequestsException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client key. Buckets that have refilled completely are dropped by a
+ * periodic sweep, and the number of tracked clients is capped, so a flood of distinct keys
+ * cannot grow the map without bound: once full, new clients share a single bucket.
+ */
+public class ClientRateLimiter {
+
+    private static final String OVERFLOW_KEY = "";
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(int requestsPerMinute, int burst, int maxClients) {
+        this(requestsPerMinute, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(int requestsPerMinute, int burst, int maxClients, LongSupplier nanoClock) {
+        if (requestsPerMinute < 1 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Rate limit settings must be positive");
+        }
+        this.capacity = burst;
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one request from {@code client}'s allowance.
+     *
+     * @throws TooManyRequestsException when the allowance is used up
+     */
+    public void acquire(String client) {
+        String key = buckets.containsKey(client) || buckets.size() < maxClients ? client : OVERFLOW_KEY;
+        long waitNanos = buckets.computeIfAbsent(key, k -> new Bucket(capacity, nanoClock.getAsLong()))
+                .tryTake(nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        // Returns 0 when a token was taken, otherwise the nanoseconds until one is available
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.foodorder.usermanagement.availability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.email-filter")
+public class EmailFilterProperties {
+
+    private boolean enabled = true;
+
+    /** Registered emails the filter is sized for; it grows on rebuild once outgrown. */
+    private long expectedEmails = 1_000_000;
+
+    /** Share of unregistered emails allowed to fall through to Postgres at expected-emails. */
+    private double falsePositiveRate = 0.01;
+
+    /** Deleted users, as a share of the entries, that trigger a rebuild. */
+    private double maxStaleRatio = 0.05;
+
+    /** Rows fetched per round trip while streaming users into a new filter. */
+    private int scanFetchSize = 1000;
+
+    /** How far the change feed may fall behind before every check goes to the database. */
+    private Duration maxFeedLag = Duration.ofSeconds(2);
+
+    private RateLimit rateLimit = new RateLimit();
+
+    // check-interval-ms is read by the @Scheduled trigger of RegisteredEmailFilter
+    @Data
+    public static class RateLimit {
+        /** Sustained availability checks per client. */
+        private int requestsPerMinute = 30;
+
+        /** Checks a client may make back to back before the sustained rate applies. */
+        private int burst = 10;
+
+        /** Clients tracked at once; beyond that, unknown clients share one bucket. */
+        private int maxClients = 100_000;
+    }
+}
@@ -0,0 +1,302 @@
+package com.foodorder.usermanagement.availability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
+import com.foodorder.usermanagement.feed.ChangeSubscriber;
+import com.foodorder.usermanagement.feed.UserChangeFeed;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.model.UserEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory Bloom filter of every registered email, so that checking an address nobody has
+ * registered never reaches Postgres; only possible matches fall through to the indexed lookup.
+ * Until the first build completes, and after the filter has lost track of changes, every
+ * email is reported as possibly registered.
+ *
+ * <p>The filter is built by streaming the live emails out of {@code users} and kept current
+ * from the {@link UserChangeFeed}, so registrations on other instances show up within a feed
+ * poll. The feed subscription is in place before the scan starts, which leaves no window in
+ * which a registration is neither scanned nor delivered; one seen twice costs nothing.
+ *
+ * <p>Freshness: a registration on another instance can still be reported available until the
+ * feed delivers it, which is one feed poll, or longer while an open transaction holds back the
+ * outbox relay. Once the feed has not caught up for {@code max-feed-lag}, the filter rules
+ * nothing out and every check goes to the database until it catches up again. The remaining
+ * window is accepted: the answer is advisory, and registering a taken email still fails on
+ * the unique index.
+ *
+ * <p>False-positive budget: the filter is sized for {@code expected-emails} at
+ * {@code false-positive-rate}, about 1.2 MB for a million emails at 1%. A Bloom filter cannot
+ * forget, so deleted users and changed addresses keep their bits set. The filter is rebuilt in
+ * the background once deletions exceed {@code max-stale-ratio} of its entries or the estimated
+ * false-positive rate drifts past twice the budget, and grows when the users have outgrown it.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter implements CheckpointParticipant {
+
+    private static final String LIVE_EMAILS = "SELECT email FROM users WHERE deleted_at IS NULL";
+
+    private final EmailFilterProperties properties;
+    private final UserChangeFeed feed;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChangeSubscriber subscriber = new FeedSubscriber();
+    private final ExecutorService buildExecutor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final Counter definitelyAbsent;
+    private final Counter possiblyPresent;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter current;
+    // Receives feed updates while it is being filled, before it replaces current
+    private volatile BloomFilter building;
+    private volatile boolean subscribed;
+    private volatile boolean shuttingDown;
+
+    public RegisteredEmailFilter(EmailFilterProperties properties,
+                                 UserChangeFeed feed,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.feed = feed;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getScanFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.buildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-filter-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String checks = "users.email_filter.checks";
+        this.definitelyAbsent = meterRegistry.counter(checks, "result", "absent");
+        this.possiblyPresent = meterRegistry.counter(checks, "result", "possibly-present");
+        this.falsePositives = meterRegistry.counter(checks, "result", "false-positive");
+        gauge(meterRegistry, "users.email_filter.memory", "bytes", BloomFilter::memoryBytes);
+        gauge(meterRegistry, "users.email_filter.entries", null, BloomFilter::approximateElementCount);
+        gauge(meterRegistry, "users.email_filter.false_positive_rate", null, BloomFilter::expectedFalsePositiveRate);
+        Gauge.builder("users.email_filter.stale_entries", staleEntries, AtomicLong::get).register(meterRegistry);
+    }
+
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return false only if no user has registered {@code email}
+     */
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter != null && feed.sinceCaughtUp().compareTo(properties.getMaxFeedLag()) <= 0
+                && !filter.mightContain(normalize(email))) {
+            definitelyAbsent.increment();
+            return false;
+        }
+        possiblyPresent.increment();
+        return true;
+    }
+
+    /**
+     * Adds an email registered by this instance right away, ahead of the feed delivering it.
+     */
+    public void put(String email) {
+        String normalized = normalize(email);
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(normalized);
+        }
+        filter = building;
+        if (filter != null) {
+            filter.put(normalized);
+        }
+    }
+
+    /**
+     * Records that a possible match turned out not to be registered.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            scheduleRebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.email-filter.check-interval-ms:60000}",
+            initialDelayString = "${app.users.email-filter.check-interval-ms:60000}")
+    public void checkBudget() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        BloomFilter filter = current;
+        if (filter == null) {
+            scheduleRebuild();
+        } else if (filter.expectedFalsePositiveRate() > 2 * properties.getFalsePositiveRate()
+                || staleEntries.get() > properties.getMaxStaleRatio() * Math.max(1, filter.approximateElementCount())) {
+            log.info("Email filter over its false-positive budget ({} entries, {} stale, estimated rate {}), rebuilding",
+                    filter.approximateElementCount(), staleEntries.get(), filter.expectedFalsePositiveRate());
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Drops the filter, which would otherwise carry every registered email into the image and
+     * miss registrations whose feed events were purged before the restore.
+     */
+    @Override
+    public void beforeCheckpoint() {
+        current = null;
+    }
+
+    @Override
+    public void afterRestore() {
+        if (properties.isEnabled()) {
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        feed.unsubscribe(subscriber);
+        buildExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (shuttingDown || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    building = null;
+                    log.warn("Building the email filter failed, lookups go to the database until the next attempt", ex);
+                } finally {
+                    rebuildPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rebuildPending.set(false);
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        BloomFilter previous = current;
+        long live = previous == null ? 0 : previous.approximateElementCount() - staleEntries.get();
+        BloomFilter filter = BloomFilter.create(Math.max(properties.getExpectedEmails(), 2 * live),
+                properties.getFalsePositiveRate());
+        building = filter;
+        staleEntries.set(0);
+        if (!subscribed) {
+            // The first poll fixes the feed position, so it has to happen before the scan
+            feed.poll();
+            subscribed = true;
+            feed.subscribe(subscriber, null);
+        }
+        long[] scanned = new long[1];
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(LIVE_EMAILS, (RowCallbackHandler) row -> {
+            filter.put(normalize(row.getString(1)));
+            scanned[0]++;
+        }));
+        synchronized (this) {
+            building = null;
+            if (!subscribed) {
+                throw new IllegalStateException("User change feed was lost while the email filter was being built");
+            }
+            current = filter;
+        }
+        log.info("Email filter built from {} users in {} ms: {} bits, {} hashes, {} bytes",
+                scanned[0], (System.nanoTime() - started) / 1_000_000, filter.bitCount(), filter.hashCount(),
+                filter.memoryBytes());
+    }
+
+    private void gauge(MeterRegistry registry, String name, String unit, ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, self -> {
+                    BloomFilter filter = self.current;
+                    return filter == null ? Double.NaN : value.applyAsDouble(filter);
+                })
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+    private void putFromPayload(String payload) throws JsonProcessingException {
+        JsonNode email = objectMapper.readTree(payload).get("email");
+        if (email != null && email.isTextual()) {
+            put(email.asText());
+        }
+    }
+
+    private final class FeedSubscriber implements ChangeSubscriber {
+
+        @Override
+        public void onEvents(List<OutboxEvent> events) throws JsonProcessingException {
+            for (OutboxEvent event : events) {
+                if (UserEventType.USER_DELETED.name().equals(event.getEventType())) {
+                    staleEntries.incrementAndGet();
+                } else {
+                    // Updates may carry a changed email; the old one just goes stale
+                    putFromPayload(event.getPayload());
+                }
+            }
+        }
+
+        @Override
+        public void onReset() {
+            // Only subscribed from the head, so there is nothing to resume
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        @Override
+        public void onClosed(String reason) {
+            // Changes may have been missed, so the filter can no longer rule anything out
+            synchronized (RegisteredEmailFilter.this) {
+                subscribed = false;
+                current = null;
+            }
+            if (!shuttingDown) {
+                log.warn("Email filter lost the user change feed ({}), rebuilding", reason);
+                scheduleRebuild();
+            }
+        }
+    }
+}
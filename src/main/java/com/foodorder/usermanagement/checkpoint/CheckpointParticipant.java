@@ -0,0 +1,26 @@
+package com.foodorder.usermanagement.checkpoint;
+
+/**
+ * In-memory state that must not be carried across a checkpoint as it is. Called by
+ * {@link CheckpointRestoreLifecycle} while no requests are being served and the connection
+ * pools are open.
+ *
+ * <p>An image can be restored long after it was taken, on a host whose {@code System.nanoTime()},
+ * which Caffeine's expiry runs on, has nothing to do with the one it was taken on. Cached user
+ * data is therefore dropped rather than trusted to expire, which also keeps it out of the image.
+ */
+public interface CheckpointParticipant {
+
+    /**
+     * Drops what a restored instance must not reuse, such as cached user data. Also called when
+     * the context stops for good.
+     */
+    default void beforeCheckpoint() {
+    }
+
+    /**
+     * Reloads what may have changed while the image was stored, before traffic resumes.
+     */
+    default void afterRestore() {
+    }
+}
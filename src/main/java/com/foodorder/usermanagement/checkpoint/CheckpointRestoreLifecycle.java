@@ -0,0 +1,63 @@
+package com.foodorder.usermanagement.checkpoint;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Takes the {@link CheckpointParticipant}s through a CRaC checkpoint and restore. With
+ * {@code org.crac} on the class path Spring stops every running lifecycle bean before a
+ * checkpoint and starts them again after the restore, in phase order. The web server, the gRPC
+ * server and the task scheduler stop before this phase, so no request or scheduled job sees
+ * state half dropped. The connection pools (phase 0) stop after it, so participants can still
+ * query while stopping and can query again when restored.
+ *
+ * <p>The JIT-compiled code and loaded classes stay in the image, which is what lets a restored
+ * instance answer at its warmed-up latency right away.
+ */
+@Slf4j
+@Component
+public class CheckpointRestoreLifecycle implements SmartLifecycle {
+
+    // The web server starts and stops at DEFAULT_PHASE - 2048
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final List<CheckpointParticipant> participants;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    public CheckpointRestoreLifecycle(List<CheckpointParticipant> participants) {
+        this.participants = participants;
+    }
+
+    @Override
+    public void start() {
+        if (stopped) {
+            long started = System.nanoTime();
+            participants.forEach(CheckpointParticipant::afterRestore);
+            log.info("Reloaded {} checkpoint participants in {} ms", participants.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        participants.forEach(CheckpointParticipant::beforeCheckpoint);
+        stopped = true;
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.foodorder.usermanagement.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, and
+ * everyone who asks for that key while it is running waits for and shares its result, or its
+ * exception. Nothing is kept once the load finishes, so this never serves anything older than
+ * the one in-flight call; values must therefore be safe to hand to several threads at once.
+ *
+ * <p>Counts callers under {@code users.single_flight.calls}, tagged with the lookup name and
+ * {@code role=leader} for those that ran the loader or {@code role=follower} for those that
+ * shared a result; followers over all calls is the coalescing ratio.
+ */
+public final class SingleFlight<K, V> {
+
+    public static final String CALLS = "users.single_flight.calls";
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter(CALLS, "lookup", name, "role", "leader");
+        this.followers = meterRegistry.counter(CALLS, "lookup", name, "role", "follower");
+        Gauge.builder("users.single_flight.in_flight", inFlight, Map::size)
+                .tag("lookup", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+        leaders.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(ex);
+            throw ex;
+        }
+        // Removed first, so that nobody arriving from here on joins a load that has finished
+        inFlight.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.availability.ClientRateLimiter;
+import com.foodorder.usermanagement.availability.EmailFilterProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmailFilterProperties.class)
+public class EmailFilterConfig {
+
+    // The availability check is public, so each client gets a small allowance
+    @Bean
+    public ClientRateLimiter emailAvailabilityRateLimiter(EmailFilterProperties properties) {
+        EmailFilterProperties.RateLimit rateLimit = properties.getRateLimit();
+        return new ClientRateLimiter(rateLimit.getRequestsPerMinute(), rateLimit.getBurst(), rateLimit.getMaxClients());
+    }
+}
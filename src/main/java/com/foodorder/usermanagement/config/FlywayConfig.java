@@ -0,0 +1,24 @@
+package com.foodorder.usermanagement.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Skips migrations in the class-data-sharing training run of the fast-startup build, which
+     * only refreshes the context ({@code spring.context.exit=onRefresh}) and has no database.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean trainingRun = "onRefresh".equals(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.foodorder.usermanagement.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.response.EmailAvailabilityResponse;
+import com.foodorder.usermanagement.dto.response.ErrorResponse;
+import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Blackbird replaces Jackson's reflective getter calls with generated lambdas, and the
+ * serializers for the response types are built at startup, so the first requests after a
+ * deploy do not pay for introspection and code generation.
+ */
+@Slf4j
+@Configuration
+public class JacksonConfig {
+
+    // Picked up by Spring Boot's ObjectMapper along with the other Module beans
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public SmartInitializingSingleton responseSerializerWarmup(ObjectMapper objectMapper) {
+        return () -> {
+            long started = System.nanoTime();
+            TypeFactory types = objectMapper.getTypeFactory();
+            List<JavaType> responseTypes = List.of(
+                    types.constructType(UserResponse.class),
+                    types.constructCollectionType(List.class, UserResponse.class),
+                    types.constructType(SparseUserResponse.class),
+                    types.constructCollectionType(List.class, SparseUserResponse.class),
+                    types.constructType(UserSummary.class),
+                    types.constructType(UserBatchLookupResponse.class),
+                    types.constructType(JwtResponse.class),
+                    types.constructType(EmailAvailabilityResponse.class),
+                    types.constructType(ErrorResponse.class));
+            for (JavaType type : responseTypes) {
+                try {
+                    // Cached in the mapper's serializer cache, which every writer shares
+                    objectMapper.getSerializerProviderInstance().findTypedValueSerializer(type, true, null);
+                } catch (JsonMappingException ex) {
+                    log.warn("Could not prepare the JSON serializer for {}", type, ex);
+                }
+            }
+            log.debug("Prepared JSON serializers for {} response types in {} ms",
+                    responseTypes.size(), (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.outbox.OutboxProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+}
@@ -0,0 +1,93 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.datasource.DataSourceRole;
+import com.foodorder.usermanagement.datasource.ReadReplicaRoutingDataSource;
+import com.foodorder.usermanagement.datasource.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Active when {@code spring.datasource.replica.url} is set. Read-only transactions are served by
+ * the replica pool, everything else (and recent writers, see {@link ReplicaLagGuard}) by the
+ * {@code spring.datasource} primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:}") String username,
+            @Value("${spring.datasource.replica.password:}") String password,
+            @Value("${spring.datasource.hikari.allow-pool-suspension:false}") boolean allowPoolSuspension) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Suspendable like the primary unless spring.datasource.replica.hikari says otherwise
+        dataSource.setAllowPoolSuspension(allowPoolSuspension);
+        return dataSource;
+    }
+
+    // Boot's own covers only a plain Hikari dataSource bean, not the two behind the routing proxy
+    @Bean
+    @ConditionalOnCheckpointRestore
+    public HikariCheckpointRestoreLifecycle primaryCheckpointRestoreLifecycle(HikariDataSource primaryDataSource) {
+        return new HikariCheckpointRestoreLifecycle(primaryDataSource);
+    }
+
+    @Bean
+    @ConditionalOnCheckpointRestore
+    public HikariCheckpointRestoreLifecycle replicaCheckpointRestoreLifecycle(HikariDataSource replicaDataSource) {
+        return new HikariCheckpointRestoreLifecycle(replicaDataSource);
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${spring.datasource.replica.lag-tolerance:5s}") Duration lagTolerance) {
+        return new ReplicaLagGuard(lagTolerance);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagGuard replicaLagGuard) {
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(replicaLagGuard);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRole.PRIMARY, primaryDataSource,
+                DataSourceRole.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
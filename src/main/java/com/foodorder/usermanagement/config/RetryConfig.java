@@ -0,0 +1,14 @@
+package com.foodorder.usermanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Retry advice is ordered ahead of the transaction advice so that every attempt runs in a
+ * fresh transaction and re-reads the entity.
+ */
+@Configuration
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryConfig {
+}
@@ -0,0 +1,10 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.security.ServiceClientProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ServiceClientProperties.class)
+public class ServiceClientConfig {
+}
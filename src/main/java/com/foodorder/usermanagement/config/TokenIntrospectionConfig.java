@@ -0,0 +1,10 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.security.TokenIntrospectionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TokenIntrospectionProperties.class)
+public class TokenIntrospectionConfig {
+}
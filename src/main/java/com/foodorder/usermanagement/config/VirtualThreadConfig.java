@@ -0,0 +1,35 @@
+package com.foodorder.usermanagement.config;
+
+import com.foodorder.usermanagement.threading.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true} on a JDK 21 runtime, which takes a
+ * build with {@code -Pjdk21}. Spring Boot then runs Tomcat requests, {@code @Async} and
+ * {@code @Scheduled} work on virtual threads, and the executors this service creates for
+ * blocking work (change feed delivery) follow the same switch.
+ *
+ * <p>Threads stop being the limit on concurrent requests; the Hikari pools take that role.
+ * Requests queue for a connection for up to {@code spring.datasource.hikari.connection-timeout}
+ * and then fail, and {@code hikaricp.connections.pending} shows how many are waiting.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.threads.pinned-monitor", name = "enabled", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            @Value("${app.threads.pinned-monitor.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(threshold, meterRegistry);
+    }
+}
@@ -1,25 +1,51 @@
 package com.foodorder.usermanagement.controller;
 
+import com.foodorder.usermanagement.availability.ClientRateLimiter;
 import com.foodorder.usermanagement.dto.request.LoginRequest;
 import com.foodorder.usermanagement.dto.request.RegisterRequest;
+import com.foodorder.usermanagement.dto.request.TokenIntrospectionRequest;
+import com.foodorder.usermanagement.dto.response.ClientTokenResponse;
+import com.foodorder.usermanagement.dto.response.EmailAvailabilityResponse;
 import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.TokenIntrospectionBatchResponse;
 import com.foodorder.usermanagement.service.AuthService;
+import com.foodorder.usermanagement.service.ClientCredentialsService;
+import com.foodorder.usermanagement.service.TokenIntrospectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Authentication", description = "Authentication management APIs")
 public class AuthController {
 
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+    private static final String BASIC = "Basic ";
+
     private final AuthService authService;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final ClientCredentialsService clientCredentialsService;
+    private final ClientRateLimiter emailAvailabilityRateLimiter;
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticates user and returns JWT token")
@@ -53,4 +79,59 @@ public class AuthController {
         authService.logout(token);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Client-credentials token", description = "Issues an access token to a registered service "
+            + "client. Credentials go in HTTP Basic auth or the client_id and client_secret form fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token issued"),
+        @ApiResponse(responseCode = "400", description = "Unsupported grant type or scope not allowed"),
+        @ApiResponse(responseCode = "401", description = "Invalid client credentials")
+    })
+    public ResponseEntity<ClientTokenResponse> token(
+            @RequestParam("grant_type") String grantType,
+            @RequestParam(value = "client_id", required = false) String clientId,
+            @RequestParam(value = "client_secret", required = false) String clientSecret,
+            @RequestParam(value = "scope", required = false) String scope,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!CLIENT_CREDENTIALS.equals(grantType)) {
+            throw new IllegalArgumentException("Unsupported grant type: " + grantType);
+        }
+        if (authorization != null && authorization.startsWith(BASIC)) {
+            String[] credentials = new String(Base64.getDecoder().decode(authorization.substring(BASIC.length())),
+                    StandardCharsets.UTF_8).split(":", 2);
+            clientId = credentials[0];
+            clientSecret = credentials.length > 1 ? credentials[1] : null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(clientCredentialsService.issueToken(clientId, clientSecret, scope));
+    }
+
+    @PostMapping("/introspect")
+    @Operation(summary = "Introspect tokens", description = "Tells for each of up to app.auth.introspection.max-tokens "
+            + "bearer tokens whether it is active, and if so its subject, current roles and expiry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens checked"),
+        @ApiResponse(responseCode = "400", description = "No tokens or too many tokens"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TokenIntrospectionBatchResponse> introspect(@RequestBody TokenIntrospectionRequest request) {
+        return ResponseEntity.ok(new TokenIntrospectionBatchResponse(tokenIntrospectionService.introspect(request.getTokens())));
+    }
+
+    @GetMapping("/email-available")
+    @Operation(summary = "Check email availability", description = "Tells whether an email can still be used to register")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability checked"),
+        @ApiResponse(responseCode = "400", description = "Invalid email"),
+        @ApiResponse(responseCode = "429", description = "Too many checks from this client")
+    })
+    public ResponseEntity<EmailAvailabilityResponse> emailAvailable(@RequestParam @NotBlank @Email String email,
+                                                                    HttpServletRequest request) {
+        emailAvailabilityRateLimiter.acquire(request.getRemoteAddr());
+        return ResponseEntity.ok(new EmailAvailabilityResponse(email, authService.isEmailAvailable(email)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.foodorder.usermanagement.controller;
+
+import com.foodorder.usermanagement.model.OutboxOffset;
+import com.foodorder.usermanagement.outbox.OutboxRelay;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/outbox")
+@RequiredArgsConstructor
+@ConditionalOnBean(OutboxRelay.class)
+@Tag(name = "Outbox Administration", description = "User event relay offsets and replay")
+@SecurityRequirement(name = "bearerAuth")
+public class OutboxAdminController {
+
+    private final OutboxRelay outboxRelay;
+
+    @GetMapping("/offsets")
+    @Operation(summary = "Get sink offsets", description = "Returns the last relayed position of every sink")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Offsets retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<OutboxOffset>> getOffsets() {
+        return ResponseEntity.ok(outboxRelay.offsets());
+    }
+
+    @PostMapping("/{sink}/replay")
+    @Operation(summary = "Replay events to a sink",
+            description = "Rewinds a sink so relaying restarts at the given event, or at the oldest retained event")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Offset rewound"),
+        @ApiResponse(responseCode = "404", description = "Sink or event not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxOffset> replay(
+            @Parameter(description = "Sink name") @PathVariable String sink,
+            @Parameter(description = "First event to relay again") @RequestParam(required = false) Long fromEventId) {
+        return ResponseEntity.ok(outboxRelay.replay(sink, fromEventId));
+    }
+}
@@ -0,0 +1,64 @@
+package com.foodorder.usermanagement.controller;
+
+import com.foodorder.usermanagement.dto.request.ServiceClientRequest;
+import com.foodorder.usermanagement.dto.response.ServiceClientResponse;
+import com.foodorder.usermanagement.service.ClientCredentialsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/service-clients")
+@RequiredArgsConstructor
+@Tag(name = "Service Client Administration", description = "Machine callers of the client-credentials grant")
+@SecurityRequirement(name = "bearerAuth")
+public class ServiceClientAdminController {
+
+    private final ClientCredentialsService clientCredentialsService;
+
+    @PostMapping
+    @Operation(summary = "Register a service client",
+            description = "Registers a client with the scopes it may request and returns its secret, which is shown only once")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Client registered"),
+        @ApiResponse(responseCode = "400", description = "Invalid client id or scope"),
+        @ApiResponse(responseCode = "409", description = "Client id already registered")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ServiceClientResponse> register(@Valid @RequestBody ServiceClientRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(clientCredentialsService.register(request));
+    }
+
+    @PostMapping("/{clientId}/secret")
+    @Operation(summary = "Rotate a client secret", description = "Replaces the secret and returns the new one; the old one stops working")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Secret rotated"),
+        @ApiResponse(responseCode = "404", description = "Client not found")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ServiceClientResponse> rotateSecret(
+            @Parameter(description = "Client id") @PathVariable String clientId) {
+        return ResponseEntity.ok(clientCredentialsService.rotateSecret(clientId));
+    }
+
+    @DeleteMapping("/{clientId}")
+    @Operation(summary = "Disable a service client",
+            description = "Stops the client getting tokens; tokens it holds stop working within the registry refresh interval")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Client disabled"),
+        @ApiResponse(responseCode = "404", description = "Client not found")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ServiceClientResponse> disable(@Parameter(description = "Client id") @PathVariable String clientId) {
+        return ResponseEntity.ok(clientCredentialsService.disable(clientId));
+    }
+}
@@ -0,0 +1,62 @@
+package com.foodorder.usermanagement.controller;
+
+import com.foodorder.usermanagement.feed.SseChangeSubscriber;
+import com.foodorder.usermanagement.feed.UserChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@Tag(name = "User Management", description = "User management APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class UserChangeFeedController {
+
+    private static final long RECONNECT_DELAY_MS = 3_000;
+
+    private final UserChangeFeed userChangeFeed;
+    private final Duration streamTimeout;
+
+    public UserChangeFeedController(UserChangeFeed userChangeFeed,
+                                    @Value("${app.users.feed.stream-timeout:30m}") Duration streamTimeout) {
+        this.userChangeFeed = userChangeFeed;
+        this.streamTimeout = streamTimeout;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream user changes",
+            description = "Server-Sent Events stream of user create, update and delete events. Reconnect with "
+                    + "Last-Event-ID to resume; a RESET event means the position is gone and the list must be reloaded")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event received")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        // Commits the response right away instead of with the first change or heartbeat
+        emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS));
+        SseChangeSubscriber subscriber = new SseChangeSubscriber(emitter);
+        emitter.onCompletion(() -> userChangeFeed.unsubscribe(subscriber));
+        emitter.onTimeout(() -> userChangeFeed.unsubscribe(subscriber));
+        emitter.onError(ex -> userChangeFeed.unsubscribe(subscriber));
+        userChangeFeed.subscribe(subscriber, lastEventId);
+        return emitter;
+    }
+}
@@ -1,6 +1,21 @@
 package com.foodorder.usermanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.request.BulkUserFilter;
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.CurrentUserResponse;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.mapper.UserMapper;
+import com.foodorder.usermanagement.model.BulkUserAction;
 import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.service.CurrentUserService;
+import com.foodorder.usermanagement.service.UserBulkService;
+import com.foodorder.usermanagement.service.UserLookupService;
 import com.foodorder.usermanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,13 +23,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -24,55 +52,130 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserBulkService userBulkService;
+    private final UserLookupService userLookupService;
+    private final UserMapper userMapper;
+    private final CurrentUserService currentUserService;
+    private final HttpServletRequest request;
 
 
+    @GetMapping("/me")
+    @Operation(summary = "Get current user", description = "Returns the signed-in user's profile from their token without "
+            + "a database query, so it is answered even if the user was disabled since; fresh=true reads it from the database "
+            + "and refuses disabled users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Profile retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Not signed in as a user, or the user no longer exists"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CurrentUserResponse> getCurrentUser(
+            @AuthenticationPrincipal UserDetails principal,
+            @Parameter(description = "Read through to the database") @RequestParam(defaultValue = "false") boolean fresh) {
+        if (!(principal instanceof UserPrincipal user)) {
+            throw new ResourceNotFoundException("Only users have a profile");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(currentUserService.getCurrentUser(user));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Returns a user's details by their ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User details retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<User> getUserById(
-            @Parameter(description = "User ID") @PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<?> getUserById(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, all when absent") @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
+        if (selected == null) {
+            User user = userService.getUserById(id);
+            return conditional(UserETags.ofUsers(List.of(user), accept()), userMapper.toResponse(user));
+        }
+        SparseUserResponse user = userService.getUserById(id, selected);
+        return conditional(UserETags.ofFields(List.of(user), selected, accept()), user);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get users in batch", description = "Resolves up to app.users.batch.max-keys ids and emails in one call; "
+            + "results follow request order and unknown keys are reported as not found")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users resolved"),
+        @ApiResponse(responseCode = "400", description = "No keys or too many keys"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserBatchLookupResponse> getUsersInBatch(@RequestBody UserBatchLookupRequest request) {
+        return ResponseEntity.ok(userLookupService.lookup(request));
     }
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Returns a list of all users")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @Parameter(description = "Comma-separated fields to return, all when absent") @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
+        if (selected == null) {
+            List<User> users = userService.getAllUsers();
+            return conditional(UserETags.ofUsers(users, accept()), userMapper.toResponses(users));
+        }
+        List<SparseUserResponse> users = userService.getAllUsers(selected);
+        return conditional(UserETags.ofFields(users, selected, accept()), users);
     }
 
     @GetMapping("/sellers")
     @Operation(summary = "Get all sellers", description = "Returns a list of all seller users")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sellers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<User>> getAllSellers() {
-        return ResponseEntity.ok(userService.getAllSellers());
+    public ResponseEntity<?> getAllSellers(
+            @Parameter(description = "Comma-separated fields to return, all when absent") @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
+        if (selected == null) {
+            List<User> users = userService.getAllSellers();
+            return conditional(UserETags.ofUsers(users, accept()), userMapper.toResponses(users));
+        }
+        List<SparseUserResponse> users = userService.getAllSellers(selected);
+        return conditional(UserETags.ofFields(users, selected, accept()), users);
     }
 
     @GetMapping("/customers")
     @Operation(summary = "Get all customers", description = "Returns a list of all customer users")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllCustomers() {
-        return ResponseEntity.ok(userService.getAllCustomers());
+    public ResponseEntity<?> getAllCustomers(
+            @Parameter(description = "Comma-separated fields to return, all when absent") @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
+        if (selected == null) {
+            List<User> users = userService.getAllCustomers();
+            return conditional(UserETags.ofUsers(users, accept()), userMapper.toResponses(users));
+        }
+        List<SparseUserResponse> users = userService.getAllCustomers(selected);
+        return conditional(UserETags.ofFields(users, selected, accept()), users);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update user", description = "Updates a user's details")
+    @Operation(summary = "Update user", description = "Updates a user's details; enabled, seller and active are "
+            + "only changed for admins")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User updated successfully"),
         @ApiResponse(responseCode = "404", description = "User not found"),
@@ -80,10 +183,27 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserResponse> updateUser(
             @Parameter(description = "User ID") @PathVariable Long id,
             @Valid @RequestBody User userDetails) {
-        return ResponseEntity.ok(userService.updateUser(id, userDetails));
+        return ResponseEntity.ok(userMapper.toResponse(userService.updateUser(id, userDetails)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch user", description = "Applies a JSON merge patch (RFC 7396) to a user's details; "
+            + "only admins may set enabled, seller or active")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User patched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid patch"),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public ResponseEntity<UserResponse> patchUser(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(userMapper.toResponse(userService.patchUser(id, patch)));
     }
 
     @DeleteMapping("/{id}")
@@ -118,4 +238,54 @@ public class UserController {
         userService.changePassword(id, oldPassword, newPassword);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    @PostMapping(value = "/bulk/{action}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk update users",
+            description = "Enables, disables, activates, deactivates or deletes all users matching the filter. "
+                    + "Affected user ids are streamed back as newline-delimited JSON as each chunk commits.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Affected user ids streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown action or empty filter"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> bulkUpdate(
+            @Parameter(description = "enable, disable, activate, deactivate or delete") @PathVariable String action,
+            @Valid @RequestBody BulkUserFilter filter) {
+        BulkUserAction bulkAction = BulkUserAction.fromPath(action);
+        // Checked up front: once streaming starts the status can no longer change
+        if (!filter.hasCriteria()) {
+            throw new IllegalArgumentException("At least one filter criterion is required");
+        }
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            userBulkService.apply(bulkAction, filter, ids -> {
+                try {
+                    for (Long id : ids) {
+                        writer.write("{\"id\":" + id + "}\n");
+                    }
+                    writer.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // A matching If-None-Match is answered with 304 before the body is serialized
+    private static <T> ResponseEntity<T> conditional(String eTag, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    // JSON, CBOR and protobuf bodies differ, so the representation depends on what was accepted
+    private String accept() {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept == null ? "" : accept;
+    }
+}
@@ -0,0 +1,79 @@
+package com.foodorder.usermanagement.controller;
+
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
+import com.foodorder.usermanagement.model.SellerProfile;
+import com.foodorder.usermanagement.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Strong ETags for user representations, hashed from the id, version and update time of every
+ * user in it, in order, plus the selected fields and the accepted media types. Writes to a user or its seller profile bump
+ * their version, and deletions drop the user from lists, so any change to what would be
+ * written out changes the tag.
+ */
+final class UserETags {
+
+    private UserETags() {
+    }
+
+    static String ofUsers(List<User> users, String accept) {
+        Digest digest = new Digest("*", accept);
+        for (User user : users) {
+            SellerProfile profile = user.getSellerProfile();
+            digest.add(user.getId(), user.getVersion(), user.getUpdatedAt(), profile == null ? null : profile.getVersion());
+        }
+        return digest.toETag();
+    }
+
+    static String ofFields(List<SparseUserResponse> users, Set<UserField> fields, String accept) {
+        Digest digest = new Digest(fields.toString(), accept);
+        for (SparseUserResponse user : users) {
+            digest.add(user.getId(), user.getVersion(), user.getUpdatedAt(), user.getProfileVersion());
+        }
+        return digest.toETag();
+    }
+
+    private static final class Digest {
+
+        private final MessageDigest sha256;
+        private final ByteBuffer buffer = ByteBuffer.allocate(5 * Long.BYTES);
+
+        Digest(String fields, String accept) {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+            sha256.update((fields + '\n' + accept + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+
+        void add(Long id, Long version, LocalDateTime updatedAt, Long profileVersion) {
+            buffer.clear();
+            buffer.putLong(valueOf(id))
+                    .putLong(valueOf(version))
+                    .putLong(updatedAt == null ? -1 : updatedAt.toEpochSecond(ZoneOffset.UTC))
+                    .putLong(updatedAt == null ? -1 : updatedAt.getNano())
+                    .putLong(valueOf(profileVersion));
+            sha256.update(buffer.flip());
+        }
+
+        String toETag() {
+            return '"' + HexFormat.of().formatHex(Arrays.copyOf(sha256.digest(), 16)) + '"';
+        }
+
+        private static long valueOf(Long value) {
+            return value == null ? -1 : value;
+        }
+    }
+}
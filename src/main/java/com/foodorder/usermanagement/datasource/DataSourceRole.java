@@ -0,0 +1,6 @@
+package com.foodorder.usermanagement.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,62 @@
+package com.foodorder.usermanagement.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes protection: after a principal commits a read-write transaction, its
+ * read-only transactions stay on the primary until the configured replica lag tolerance has
+ * passed. State is per instance.
+ */
+public class ReplicaLagGuard {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long toleranceNanos;
+    private final Map<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(Duration lagTolerance) {
+        this.toleranceNanos = lagTolerance.toNanos();
+    }
+
+    public void recordWrite() {
+        String principal = currentPrincipal();
+        if (principal == null || toleranceNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteByPrincipal.put(principal, now);
+        if (lastWriteByPrincipal.size() > SWEEP_THRESHOLD) {
+            lastWriteByPrincipal.values().removeIf(writtenAt -> now - writtenAt > toleranceNanos);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByPrincipal.get(principal);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > toleranceNanos) {
+            lastWriteByPrincipal.remove(principal, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
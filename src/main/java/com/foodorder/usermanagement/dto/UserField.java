@@ -0,0 +1,70 @@
+package com.foodorder.usermanagement.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The user properties a client may pick with {@code fields=}, named as in the full user JSON,
+ * with the JPQL path each one is read from. The password and roles cannot be picked.
+ */
+public enum UserField {
+    ID("id", "u.id"),
+    EMAIL("email", "u.email"),
+    FIRST_NAME("firstName", "u.firstName"),
+    LAST_NAME("lastName", "u.lastName"),
+    PHONE("phone", "u.phone"),
+    ENABLED("enabled", "u.enabled"),
+    SELLER("seller", "u.isSeller"),
+    ACTIVE("active", "u.isActive"),
+    CREATED_AT("createdAt", "u.createdAt"),
+    UPDATED_AT("updatedAt", "u.updatedAt"),
+    VERSION("version", "u.version"),
+    BUSINESS_NAME("businessName", "sp.businessName"),
+    BUSINESS_ADDRESS("businessAddress", "sp.businessAddress"),
+    UPI_ID("upiId", "sp.upiId"),
+    BANK_ACCOUNT_NUMBER("bankAccountNumber", "sp.bankAccountNumber"),
+    BANK_IFSC_CODE("bankIfscCode", "sp.bankIfscCode");
+
+    private final String jsonName;
+    private final String path;
+
+    UserField(String jsonName, String path) {
+        this.jsonName = jsonName;
+        this.path = path;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isSellerProfile() {
+        return path.startsWith("sp.");
+    }
+
+    /**
+     * @return the fields listed in {@code fields}, comma separated, or null for the full user
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(Arrays.stream(values())
+                        .filter(field -> field.jsonName.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + trimmed + "', expected any of "
+                                + Arrays.stream(values()).map(UserField::getJsonName).collect(Collectors.joining(", ")))));
+            }
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+}
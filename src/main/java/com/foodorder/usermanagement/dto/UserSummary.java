@@ -0,0 +1,20 @@
+package com.foodorder.usermanagement.dto;
+
+import lombok.Value;
+
+/**
+ * The user details other services render next to their own records, read as a projection
+ * without loading the entity.
+ */
+@Value
+public class UserSummary {
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    String phone;
+    boolean seller;
+    boolean active;
+    String businessName;
+    String businessAddress;
+}
@@ -0,0 +1,33 @@
+package com.foodorder.usermanagement.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects the users a bulk action applies to. All given criteria must match; at least one is
+ * required so that a missing body can never target every user.
+ */
+@Data
+public class BulkUserFilter {
+
+    @Size(max = 10_000, message = "At most 10000 ids can be given")
+    private List<Long> ids;
+
+    private Boolean seller;
+    private Boolean enabled;
+    private Boolean active;
+
+    @Size(max = 100, message = "Email domain must be less than 100 characters")
+    private String emailDomain;
+
+    private LocalDateTime createdAfter;
+    private LocalDateTime createdBefore;
+
+    public boolean hasCriteria() {
+        return (ids != null && !ids.isEmpty()) || seller != null || enabled != null || active != null
+                || (emailDomain != null && !emailDomain.isBlank()) || createdAfter != null || createdBefore != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.foodorder.usermanagement.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class ServiceClientRequest {
+
+    @NotBlank(message = "Client id is required")
+    @Pattern(regexp = "[a-z0-9][a-z0-9-]{2,63}", message = "Client id must be 3-64 lowercase letters, digits or hyphens")
+    private String clientId;
+
+    // Roles the client may act as: admin, seller, customer
+    @NotEmpty(message = "At least one scope is required")
+    private Set<String> scopes;
+}
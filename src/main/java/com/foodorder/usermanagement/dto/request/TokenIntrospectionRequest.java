@@ -0,0 +1,14 @@
+package com.foodorder.usermanagement.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bearer tokens to check in one call, capped by {@code app.auth.introspection.max-tokens}.
+ */
+@Data
+public class TokenIntrospectionRequest {
+
+    private List<String> tokens;
+}
@@ -0,0 +1,21 @@
+package com.foodorder.usermanagement.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Users to resolve in one call, by id, by email or both. The combined number of keys is
+ * capped by {@code app.users.batch.max-keys}.
+ */
+@Data
+public class UserBatchLookupRequest {
+
+    private List<Long> ids;
+
+    private List<String> emails;
+
+    public int keyCount() {
+        return (ids == null ? 0 : ids.size()) + (emails == null ? 0 : emails.size());
+    }
+}
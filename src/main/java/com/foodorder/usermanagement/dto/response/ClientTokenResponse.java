@@ -0,0 +1,22 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Access token response of the client-credentials grant, in the OAuth 2.0 (RFC 6749) shape.
+ */
+@Value
+public class ClientTokenResponse {
+
+    @JsonProperty("access_token")
+    String accessToken;
+
+    @JsonProperty("token_type")
+    String tokenType;
+
+    @JsonProperty("expires_in")
+    long expiresIn;
+
+    String scope;
+}
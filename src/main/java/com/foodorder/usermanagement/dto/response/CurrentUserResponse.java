@@ -0,0 +1,27 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.foodorder.usermanagement.security.UserPrincipal;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Profile of the signed-in user, as carried by their access token.
+ */
+@Value
+public class CurrentUserResponse {
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    boolean seller;
+    List<String> roles;
+
+    public static CurrentUserResponse from(UserPrincipal principal) {
+        return new CurrentUserResponse(principal.getId(), principal.getEmail(), principal.getFirstName(),
+                principal.getLastName(), principal.isSeller(),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+}
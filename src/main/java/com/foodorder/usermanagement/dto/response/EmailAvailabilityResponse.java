@@ -0,0 +1,11 @@
+package com.foodorder.usermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EmailAvailabilityResponse {
+    private String email;
+    private boolean available;
+}
@@ -0,0 +1,20 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * A registered service client. The secret is only ever returned by registration and
+ * rotation; it is not stored and cannot be read back.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ServiceClientResponse {
+
+    String clientId;
+    Set<String> scopes;
+    boolean enabled;
+    String clientSecret;
+}
@@ -0,0 +1,36 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A user reduced to the fields a client asked for. Only {@link #getValues()} is written out;
+ * the version columns are read alongside for the ETag.
+ */
+@Getter
+public class SparseUserResponse {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    // Null unless seller profile fields were selected
+    private final Long profileVersion;
+    private final Map<String, Object> values;
+
+    public SparseUserResponse(Long id, Long version, LocalDateTime updatedAt, Long profileVersion,
+                              Map<String, Object> values) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.profileVersion = profileVersion;
+        this.values = values;
+    }
+
+    @JsonValue
+    public Map<String, Object> getValues() {
+        return values;
+    }
+}
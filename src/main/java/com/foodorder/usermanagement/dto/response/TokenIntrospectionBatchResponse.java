@@ -0,0 +1,14 @@
+package com.foodorder.usermanagement.dto.response;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One result per requested token, in request order.
+ */
+@Value
+public class TokenIntrospectionBatchResponse {
+
+    List<TokenIntrospectionResponse> results;
+}
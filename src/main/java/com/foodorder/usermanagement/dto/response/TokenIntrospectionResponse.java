@@ -0,0 +1,42 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.foodorder.usermanagement.security.ServiceClientPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What a bearer token stands for right now. Tokens that are malformed, expired, revoked or
+ * belong to a user who no longer exists are just not active; nothing else is said about them.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResponse {
+
+    private static final TokenIntrospectionResponse INACTIVE = new TokenIntrospectionResponse(false, null, null, null, null);
+
+    boolean active;
+    String subject;
+    Long userId;
+    List<String> roles;
+    Instant expiresAt;
+
+    public static TokenIntrospectionResponse inactive() {
+        return INACTIVE;
+    }
+
+    public static TokenIntrospectionResponse active(UserPrincipal principal, Instant expiresAt) {
+        return new TokenIntrospectionResponse(true, principal.getEmail(), principal.getId(),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(), expiresAt);
+    }
+
+    // Service clients have no user id; the subject is "client:" and the client id
+    public static TokenIntrospectionResponse active(ServiceClientPrincipal client, Instant expiresAt) {
+        return new TokenIntrospectionResponse(true, client.getUsername(), null,
+                client.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(), expiresAt);
+    }
+}
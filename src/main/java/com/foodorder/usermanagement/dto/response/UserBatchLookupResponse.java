@@ -0,0 +1,34 @@
+package com.foodorder.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.foodorder.usermanagement.dto.UserSummary;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One result per requested key, ids first and then emails, each in request order. A key
+ * that matches no user has {@code found} false and no {@code user}.
+ */
+@Value
+public class UserBatchLookupResponse {
+
+    List<Result> results;
+
+    @Value
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        Long id;
+        String email;
+        boolean found;
+        UserSummary user;
+
+        public static Result forId(Long id, UserSummary user) {
+            return new Result(id, null, user != null, user);
+        }
+
+        public static Result forEmail(String email, UserSummary user) {
+            return new Result(null, email, user != null, user);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.foodorder.usermanagement.dto.response;
 
 import lombok.Data;
+
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
@@ -11,10 +13,15 @@ public class UserResponse {
     private String lastName;
     private String phone;
     private Set<String> roles;
+    private boolean enabled;
+    private boolean active;
     private boolean seller;
     private String businessName;
     private String businessAddress;
     private String upiId;
     private String bankAccountNumber;
     private String bankIfscCode;
-} 
\ No newline at end of file
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
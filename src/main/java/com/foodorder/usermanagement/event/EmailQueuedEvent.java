@@ -0,0 +1,7 @@
+package com.foodorder.usermanagement.event;
+
+/**
+ * Published when an email is queued; the dispatcher picks it up after the transaction commits.
+ */
+public record EmailQueuedEvent(Long emailId) {
+}
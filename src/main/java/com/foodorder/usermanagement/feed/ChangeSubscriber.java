@@ -0,0 +1,29 @@
+package com.foodorder.usermanagement.feed;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receiver of the user change feed. Calls for one subscriber never overlap, and they run on
+ * feed delivery threads, so a slow subscriber only holds up itself. Throwing from any
+ * callback unsubscribes it.
+ */
+public interface ChangeSubscriber {
+
+    void onEvents(List<OutboxEvent> events) throws IOException;
+
+    /**
+     * The requested position is no longer buffered; the subscriber should reload its state
+     * and continue with the events that follow.
+     */
+    void onReset() throws IOException;
+
+    void onHeartbeat() throws IOException;
+
+    /**
+     * Called once when the feed stops delivering to this subscriber, for whatever reason.
+     */
+    void onClosed(String reason);
+}
@@ -0,0 +1,45 @@
+package com.foodorder.usermanagement.feed;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+
+/**
+ * Place of an event in outbox relay order, sent to clients as the SSE event id.
+ */
+public record FeedPosition(long txId, long eventId) implements Comparable<FeedPosition> {
+
+    public static final FeedPosition START = new FeedPosition(0, 0);
+
+    public static FeedPosition of(OutboxEvent event) {
+        return new FeedPosition(event.getTxId(), event.getId());
+    }
+
+    /**
+     * @return the position, or null if {@code value} is not one this feed handed out
+     */
+    public static FeedPosition parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new FeedPosition(Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public int compareTo(FeedPosition other) {
+        int byTx = Long.compare(txId, other.txId);
+        return byTx != 0 ? byTx : Long.compare(eventId, other.eventId);
+    }
+
+    @Override
+    public String toString() {
+        return txId + "-" + eventId;
+    }
+}
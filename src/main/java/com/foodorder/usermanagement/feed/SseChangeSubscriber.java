@@ -0,0 +1,46 @@
+package com.foodorder.usermanagement.feed;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes feed events to a Server-Sent Events stream: the event name is the event type, the
+ * id is the {@link FeedPosition} to resume from and the data is the user snapshot.
+ */
+public class SseChangeSubscriber implements ChangeSubscriber {
+
+    private final SseEmitter emitter;
+
+    public SseChangeSubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) throws IOException {
+        for (OutboxEvent event : events) {
+            emitter.send(SseEmitter.event()
+                    .id(FeedPosition.of(event).toString())
+                    .name(event.getEventType())
+                    .data(event.getPayload(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Override
+    public void onReset() throws IOException {
+        emitter.send(SseEmitter.event().name("RESET").data("{}", MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onHeartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void onClosed(String reason) {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,301 @@
+package com.foodorder.usermanagement.feed;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans user change events out to any number of subscribers from one in-memory ring buffer.
+ * Each instance tails the outbox on its own, so subscribers see every change whichever
+ * instance they are connected to, and the database sees one cheap indexed query per poll
+ * no matter how many subscribers there are.
+ *
+ * <p>Appending never waits for subscribers: each one has its own cursor into the ring and is
+ * drained on a delivery thread. A subscriber whose unread events get overwritten is dropped.
+ * A subscriber can resume from any position still in the ring; older positions get a reset.
+ */
+@Slf4j
+@Component
+public class UserChangeFeed {
+
+    private static final int MAX_DELIVERY_BATCH = 100;
+
+    private final OutboxEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final OutboxEvent[] ring;
+    private final Map<ChangeSubscriber, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor;
+    // Polls may also be triggered by callers that need the feed position initialised. Held
+    // across the outbox query, so not a monitor, which would pin a virtual thread's carrier.
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    // Guarded by this. head is the sequence number the next appended event gets.
+    private long head;
+    // Position just before the oldest buffered event; null until the first poll
+    private FeedPosition floor;
+    private FeedPosition position;
+    // System.nanoTime() when a poll last read everything relayable; 0 before the first
+    private volatile long caughtUpAt;
+
+    public UserChangeFeed(OutboxEventRepository eventRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.users.feed.buffer-size:10000}") int bufferSize,
+                          @Value("${app.users.feed.batch-size:500}") int batchSize,
+                          Environment environment) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.ring = new OutboxEvent[bufferSize];
+        AtomicInteger threads = new AtomicInteger();
+        // Unbounded on purpose: a subscriber stuck in a socket write must not hold up the others
+        this.deliveryExecutor = Executors.newCachedThreadPool(Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("user-feed-").getVirtualThreadFactory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "user-feed-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Appends everything committed since the last poll. The first poll fixes the feed position
+     * at the newest relayable event, so anything committed after it returns is delivered.
+     */
+    @Scheduled(fixedDelayString = "${app.users.feed.poll-interval-ms:250}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            FeedPosition from = currentPosition();
+            if (from == null) {
+                from = transactionTemplate.execute(status -> eventRepository.findLatestRelayable()
+                        .map(FeedPosition::of)
+                        .orElse(FeedPosition.START));
+                synchronized (this) {
+                    floor = from;
+                    position = from;
+                }
+            }
+            List<OutboxEvent> events;
+            do {
+                FeedPosition after = from;
+                events = transactionTemplate.execute(status ->
+                        eventRepository.findBatchAfter(after.txId(), after.eventId(), batchSize));
+                if (!events.isEmpty()) {
+                    append(events);
+                    from = FeedPosition.of(events.get(events.size() - 1));
+                }
+            } while (events.size() == batchSize);
+            caughtUpAt = System.nanoTime();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Starts delivering to {@code subscriber}: from the event after {@code lastEventId} when
+     * that position is still buffered, otherwise with a reset followed by new events only.
+     * Without a {@code lastEventId} only new events are delivered.
+     */
+    public void subscribe(ChangeSubscriber subscriber, String lastEventId) {
+        FeedPosition requested = FeedPosition.parse(lastEventId);
+        Subscription subscription = new Subscription(subscriber);
+        synchronized (this) {
+            subscription.cursor = head;
+            if (lastEventId != null) {
+                if (requested == null || floor == null || requested.compareTo(floor) < 0) {
+                    subscription.resetPending = true;
+                } else {
+                    subscription.cursor = firstSequenceAfter(requested);
+                }
+            }
+        }
+        subscriptions.put(subscriber, subscription);
+        if (subscription.resetPending || subscription.cursor < head()) {
+            subscription.schedule();
+        }
+    }
+
+    public void unsubscribe(ChangeSubscriber subscriber) {
+        Subscription subscription = subscriptions.get(subscriber);
+        if (subscription != null) {
+            subscription.close("Unsubscribed");
+        }
+    }
+
+    /**
+     * How long since a poll last read everything relayable. Grows while polls fail or stall;
+     * before the first poll it is {@link ChronoUnit#FOREVER}.
+     */
+    public Duration sinceCaughtUp() {
+        long at = caughtUpAt;
+        return at == 0 ? ChronoUnit.FOREVER.getDuration() : Duration.ofNanos(System.nanoTime() - at);
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.heartbeatPending = true;
+            subscription.schedule();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(subscription -> subscription.close("Shutting down"));
+        deliveryExecutor.shutdownNow();
+    }
+
+    private void append(List<OutboxEvent> events) {
+        long newHead;
+        synchronized (this) {
+            for (OutboxEvent event : events) {
+                int slot = (int) (head % ring.length);
+                if (ring[slot] != null) {
+                    floor = FeedPosition.of(ring[slot]);
+                }
+                ring[slot] = event;
+                head++;
+            }
+            position = FeedPosition.of(events.get(events.size() - 1));
+            newHead = head;
+        }
+        for (Subscription subscription : subscriptions.values()) {
+            if (newHead - subscription.cursor > ring.length) {
+                subscription.close("Subscriber fell more than " + ring.length + " events behind");
+            } else {
+                subscription.schedule();
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private long firstSequenceAfter(FeedPosition requested) {
+        for (long sequence = Math.max(0, head - ring.length); sequence < head; sequence++) {
+            if (FeedPosition.of(ring[(int) (sequence % ring.length)]).compareTo(requested) > 0) {
+                return sequence;
+            }
+        }
+        return head;
+    }
+
+    /**
+     * @return the unread events from {@code cursor} on, or null once they have been overwritten
+     */
+    private synchronized List<OutboxEvent> read(long cursor) {
+        if (head - cursor > ring.length) {
+            return null;
+        }
+        int count = (int) Math.min(head - cursor, MAX_DELIVERY_BATCH);
+        List<OutboxEvent> events = new ArrayList<>(count);
+        for (long sequence = cursor; sequence < cursor + count; sequence++) {
+            events.add(ring[(int) (sequence % ring.length)]);
+        }
+        return events;
+    }
+
+    private synchronized long head() {
+        return head;
+    }
+
+    private synchronized FeedPosition currentPosition() {
+        return position;
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final ChangeSubscriber subscriber;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean resetPending;
+        private volatile boolean heartbeatPending;
+
+        private Subscription(ChangeSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        // At most one delivery run per subscriber at a time
+        void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    scheduled.set(false);
+                    close("Feed is shutting down");
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (resetPending) {
+                    resetPending = false;
+                    subscriber.onReset();
+                }
+                List<OutboxEvent> events;
+                while (!closed.get() && (events = read(cursor)) != null && !events.isEmpty()) {
+                    subscriber.onEvents(events);
+                    cursor += events.size();
+                }
+                if (read(cursor) == null) {
+                    close("Subscriber fell more than " + ring.length + " events behind");
+                    return;
+                }
+                if (heartbeatPending) {
+                    heartbeatPending = false;
+                    subscriber.onHeartbeat();
+                }
+            } catch (Exception ex) {
+                close("Delivery failed: " + ex.getMessage());
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Catches events appended after the last read but before the flag was cleared
+            if (cursor < head() || heartbeatPending) {
+                schedule();
+            }
+        }
+
+        void close(String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.remove(subscriber, this);
+            log.debug("User change subscriber closed: {}", reason);
+            try {
+                subscriber.onClosed(reason);
+            } catch (RuntimeException ex) {
+                log.debug("Closing user change subscriber failed", ex);
+            }
+        }
+    }
+}
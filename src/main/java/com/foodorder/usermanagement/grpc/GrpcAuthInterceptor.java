@@ -0,0 +1,54 @@
+package com.foodorder.usermanagement.grpc;
+
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.security.AccessTokenAuthenticator;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Authenticates gRPC calls with the same bearer tokens as the REST API, sent as
+ * {@code authorization} metadata. Every internal method is admin-only, like their REST
+ * counterparts, so other callers are turned away before the call starts. Service clients
+ * holding the {@code admin} scope are let in the same way as admin users.
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcAuthInterceptor implements ServerInterceptor {
+
+    public static final Context.Key<UserDetails> PRINCIPAL = Context.key("principal");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER = "Bearer ";
+    private static final String ADMIN = Role.RoleType.ROLE_ADMIN.name();
+
+    private final AccessTokenAuthenticator accessTokenAuthenticator;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        Optional<UserDetails> principal = authorization != null && authorization.startsWith(BEARER)
+                ? accessTokenAuthenticator.authenticate(authorization.substring(BEARER.length()))
+                : Optional.empty();
+        if (principal.isEmpty()) {
+            call.close(Status.UNAUTHENTICATED.withDescription("A valid bearer token is required"), new Metadata());
+            return new ServerCall.Listener<>() { };
+        }
+        if (principal.get().getAuthorities().stream().noneMatch(authority -> ADMIN.equals(authority.getAuthority()))) {
+            call.close(Status.PERMISSION_DENIED.withDescription("Admin role required"), new Metadata());
+            return new ServerCall.Listener<>() { };
+        }
+        return Contexts.interceptCall(Context.current().withValue(PRINCIPAL, principal.get()), call, headers, next);
+    }
+}
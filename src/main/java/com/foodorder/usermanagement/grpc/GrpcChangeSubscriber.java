@@ -0,0 +1,107 @@
+package com.foodorder.usermanagement.grpc;
+
+import com.foodorder.usermanagement.feed.ChangeSubscriber;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.proto.UserProtoMapper;
+import com.foodorder.usermanagement.proto.v1.UserChange;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes feed events to a {@code WatchUserChanges} stream. Each message waits for the stream to
+ * be ready, so a slow client holds up its own delivery thread instead of piling messages up in
+ * memory; if it falls too far behind, the feed drops it like any other subscriber.
+ *
+ * <p>The observer is not thread-safe and the feed may close a subscriber from its poll thread
+ * while delivery runs, so every call to it happens under {@code lock}. That is a
+ * {@link ReentrantLock} rather than a monitor because delivery waits while holding it, which
+ * would pin the carrier of a virtual delivery thread.
+ */
+class GrpcChangeSubscriber implements ChangeSubscriber {
+
+    private static final String RESET = "RESET";
+
+    private final ServerCallStreamObserver<UserChange> observer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private boolean closed;
+
+    GrpcChangeSubscriber(ServerCallStreamObserver<UserChange> observer) {
+        this.observer = observer;
+        observer.setOnReadyHandler(this::wakeUp);
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) throws IOException {
+        lock.lock();
+        try {
+            for (OutboxEvent event : events) {
+                awaitReady();
+                observer.onNext(UserProtoMapper.toMessage(event));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onReset() throws IOException {
+        lock.lock();
+        try {
+            awaitReady();
+            observer.onNext(UserChange.newBuilder().setType(RESET).build());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onHeartbeat() {
+        // HTTP/2 keepalive pings watch idle connections
+    }
+
+    @Override
+    public void onClosed(String reason) {
+        lock.lock();
+        try {
+            closed = true;
+            ready.signalAll();
+            if (!observer.isCancelled()) {
+                // Clients resume from their last event_id, as after any other disconnect
+                observer.onError(Status.UNAVAILABLE.withDescription(reason).asRuntimeException());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void wakeUp() {
+        lock.lock();
+        try {
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void awaitReady() throws IOException {
+        while (!observer.isReady()) {
+            if (closed || observer.isCancelled()) {
+                throw new IOException("Stream closed");
+            }
+            try {
+                ready.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
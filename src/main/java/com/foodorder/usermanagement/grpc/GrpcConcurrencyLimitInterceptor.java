@@ -0,0 +1,75 @@
+package com.foodorder.usermanagement.grpc;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the calls in progress across all connections. A call over the limit is closed with
+ * {@code RESOURCE_EXHAUSTED} before any other interceptor or the service sees it, so clients
+ * can back off and retry. Watch streams hold their permit for as long as they stay open.
+ */
+public class GrpcConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public GrpcConcurrencyLimitInterceptor(int maxConcurrentCalls, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.rejected = meterRegistry.counter("grpc.server.calls.rejected");
+        Gauge.builder("grpc.server.calls.active", permits, available -> maxConcurrentCalls - available.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent calls"), new Metadata());
+            return new ServerCall.Listener<>() { };
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        ServerCall.Listener<Q> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (RuntimeException ex) {
+            release.run();
+            throw ex;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release.run();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release.run();
+                }
+            }
+        };
+    }
+}
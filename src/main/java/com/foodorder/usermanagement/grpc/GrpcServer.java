@@ -0,0 +1,133 @@
+package com.foodorder.usermanagement.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal gRPC server on its own port, next to the servlet container. Internal callers keep a
+ * few long-lived HTTP/2 connections and multiplex their calls over them.
+ *
+ * <p>Calls run on a fixed pool of {@code threads} rather than gRPC's default unbounded cached
+ * pool, so a burst queues instead of starting a thread per call and exhausting the connection
+ * pool. {@code max-concurrent-calls-per-connection} only limits each connection, not how many
+ * connections there are, so the calls in progress across all of them are capped by
+ * {@link GrpcConcurrencyLimitInterceptor}, and the queue holds at most {@code queue-capacity}
+ * tasks. A call arriving while the queue is full is reset by the transport.
+ */
+@Slf4j
+@Component
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private final List<ServerInterceptor> interceptors;
+    private final GrpcConcurrencyLimitInterceptor concurrencyLimit;
+    private final ExecutorService executor;
+    private volatile Server server;
+
+    public GrpcServer(GrpcServerProperties properties,
+                      List<BindableService> services,
+                      List<ServerInterceptor> interceptors,
+                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.services = services;
+        this.interceptors = interceptors;
+        this.concurrencyLimit = new GrpcConcurrencyLimitInterceptor(properties.getMaxConcurrentCalls(), meterRegistry);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                            Thread thread = new Thread(runnable, "grpc-" + threads.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }),
+                "grpc.server");
+    }
+
+    /**
+     * Applies the services, interceptors, executor and message limits to {@code builder}, so
+     * any transport serves the same API the same way.
+     */
+    public <T extends ServerBuilder<T>> T configure(T builder) {
+        builder.executor(executor).maxInboundMessageSize(properties.getMaxInboundMessageSize());
+        services.forEach(builder::addService);
+        interceptors.forEach(builder::intercept);
+        // Added last, so it runs first and refuses a call before any other work is done for it
+        builder.intercept(concurrencyLimit);
+        return builder;
+    }
+
+    /**
+     * @return the bound port, or -1 when the server is not running
+     */
+    public int getPort() {
+        Server running = server;
+        return running == null ? -1 : running.getPort();
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void start() {
+        NettyServerBuilder builder = configure(NettyServerBuilder.forPort(properties.getPort()))
+                .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                .keepAliveTime(properties.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(properties.getKeepAliveTime().toMillis() / 2, TimeUnit.MILLISECONDS);
+        try {
+            server = builder.build().start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not start the gRPC server on port " + properties.getPort(), ex);
+        }
+        log.info("gRPC server started on port {} with {} threads", server.getPort(), properties.getThreads());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                // Watch streams never finish on their own
+                running.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @PreDestroy
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.foodorder.usermanagement.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.grpc")
+public class GrpcServerProperties {
+
+    private boolean enabled = true;
+
+    /** Port of the internal gRPC server, separate from the HTTP port; 0 picks a free one. */
+    private int port = 9090;
+
+    /** Threads running calls; the transport's event loops never run application code. */
+    private int threads = 16;
+
+    /** Concurrent calls, that is HTTP/2 streams, each client connection may have open. */
+    private int maxConcurrentCallsPerConnection = 100;
+
+    /** Calls in progress across all connections; more are refused with RESOURCE_EXHAUSTED. */
+    private int maxConcurrentCalls = 200;
+
+    /**
+     * Tasks waiting for a thread. Each admitted call has at most one waiting, so keep it well
+     * above max-concurrent-calls to leave room for calls that are about to be refused.
+     */
+    private int queueCapacity = 1000;
+
+    private int maxInboundMessageSize = 1024 * 1024;
+
+    /** Connections idle this long are pinged, so dead peers and watch streams are noticed. */
+    private Duration keepAliveTime = Duration.ofMinutes(1);
+
+    /** How long in-flight calls get to finish on shutdown before they are cancelled. */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+}
@@ -0,0 +1,103 @@
+package com.foodorder.usermanagement.grpc;
+
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.feed.UserChangeFeed;
+import com.foodorder.usermanagement.mapper.UserMapper;
+import com.foodorder.usermanagement.proto.UserProtoMapper;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.GetUserRequest;
+import com.foodorder.usermanagement.proto.v1.InternalUserServiceGrpc;
+import com.foodorder.usermanagement.proto.v1.IntrospectTokenRequest;
+import com.foodorder.usermanagement.proto.v1.IntrospectTokenResponse;
+import com.foodorder.usermanagement.proto.v1.User;
+import com.foodorder.usermanagement.proto.v1.UserChange;
+import com.foodorder.usermanagement.proto.v1.WatchUserChangesRequest;
+import com.foodorder.usermanagement.service.TokenIntrospectionService;
+import com.foodorder.usermanagement.service.UserLookupService;
+import com.foodorder.usermanagement.service.UserService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@code foodorder.user.v1.InternalUserService} methods, on top of the same services as
+ * the REST controllers. Failures map to status codes the way the exception handler maps them
+ * to HTTP statuses.
+ */
+@Slf4j
+@Component
+public class InternalUserGrpcService extends InternalUserServiceGrpc.InternalUserServiceImplBase {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final UserService userService;
+    private final UserLookupService userLookupService;
+    private final UserMapper userMapper;
+    private final UserChangeFeed userChangeFeed;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public InternalUserGrpcService(TokenIntrospectionService tokenIntrospectionService,
+                                   UserService userService,
+                                   UserLookupService userLookupService,
+                                   UserMapper userMapper,
+                                   UserChangeFeed userChangeFeed,
+                                   PlatformTransactionManager transactionManager) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.userService = userService;
+        this.userLookupService = userLookupService;
+        this.userMapper = userMapper;
+        this.userChangeFeed = userChangeFeed;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void introspectToken(IntrospectTokenRequest request, StreamObserver<IntrospectTokenResponse> responseObserver) {
+        unary(responseObserver, () -> UserProtoMapper.toMessage(tokenIntrospectionService.introspect(request.getToken())));
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        // Roles and seller profile are mapped inside the transaction; there is no open session here
+        unary(responseObserver, () -> readOnlyTransaction.execute(status ->
+                UserProtoMapper.toMessage(userMapper.toResponse(userService.getUserById(request.getId())))));
+    }
+
+    @Override
+    public void batchGetUsers(BatchLookupRequest request, StreamObserver<BatchLookupResponse> responseObserver) {
+        unary(responseObserver, () -> UserProtoMapper.toMessage(userLookupService.lookup(UserProtoMapper.fromMessage(request))));
+    }
+
+    @Override
+    public void watchUserChanges(WatchUserChangesRequest request, StreamObserver<UserChange> responseObserver) {
+        ServerCallStreamObserver<UserChange> observer = (ServerCallStreamObserver<UserChange>) responseObserver;
+        GrpcChangeSubscriber subscriber = new GrpcChangeSubscriber(observer);
+        observer.setOnCancelHandler(() -> userChangeFeed.unsubscribe(subscriber));
+        userChangeFeed.subscribe(subscriber, request.hasLastEventId() ? request.getLastEventId() : null);
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (ResourceNotFoundException ex) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(ex.getMessage()).asRuntimeException());
+            return;
+        } catch (IllegalArgumentException ex) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(ex.getMessage()).asRuntimeException());
+            return;
+        } catch (RuntimeException ex) {
+            log.error("gRPC call failed", ex);
+            responseObserver.onError(Status.INTERNAL.withDescription("An unexpected error occurred").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodorder.usermanagement.job;
+
+import com.foodorder.usermanagement.repository.RefreshTokenRepository;
+import com.foodorder.usermanagement.repository.SellerProfileRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hard-deletes users that were soft-deleted longer than the retention period ago, together
+ * with their role links, refresh tokens and seller profiles. Runs in the off-peak window given by the cron
+ * expression and stops once {@code max-duration} has elapsed; whatever is left is picked up
+ * by the next run. Batches are claimed with {@code SKIP LOCKED}, so several instances can
+ * run the job at the same time without blocking each other.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.users.purge", name = "enabled", matchIfMissing = true)
+public class UserPurgeJob {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SellerProfileRepository sellerProfileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration maxDuration;
+
+    public UserPurgeJob(UserRepository userRepository,
+                        RefreshTokenRepository refreshTokenRepository,
+                        SellerProfileRepository sellerProfileRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.users.purge.retention:7d}") Duration retention,
+                        @Value("${app.users.purge.batch-size:500}") int batchSize,
+                        @Value("${app.users.purge.max-duration:2h}") Duration maxDuration) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.sellerProfileRepository = sellerProfileRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxDuration = maxDuration;
+    }
+
+    @Scheduled(cron = "${app.users.purge.cron:0 0 3 * * *}", zone = "${app.users.purge.zone:UTC}")
+    public void run() {
+        purge(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * @return number of users removed
+     */
+    public long purge(LocalDateTime deletedBefore) {
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long purged = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> purgeBatch(deletedBefore));
+            purged += batch;
+        } while (batch == batchSize && System.nanoTime() < deadline);
+
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted users", purged);
+        }
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime deletedBefore) {
+        List<Long> ids = userRepository.findPurgeableIds(deletedBefore, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> profileIds = userRepository.findSellerProfileIds(ids);
+        refreshTokenRepository.deleteByUserIds(ids);
+        userRepository.deleteRoleLinks(ids);
+        userRepository.purgeDeleted(ids);
+        // Profiles are referenced by users, so they go last
+        if (!profileIds.isEmpty()) {
+            sellerProfileRepository.deleteByIds(profileIds);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,235 @@
+package com.foodorder.usermanagement.mail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.event.EmailQueuedEvent;
+import com.foodorder.usermanagement.model.QueuedEmail;
+import com.foodorder.usermanagement.repository.EmailQueueRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends queued emails on a single background thread. It is woken after every commit that
+ * queued an email and by a slow poll that covers retries and anything left over from a
+ * restart. Due messages are claimed in batches with {@code SKIP LOCKED} and leased for the
+ * send timeout, so several instances can dispatch side by side; each batch goes out over one
+ * SMTP connection. Failed messages are retried with exponential backoff until
+ * {@code max-attempts} is reached, then marked FAILED.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.mail.dispatcher", name = "enabled", matchIfMissing = true)
+public class EmailDispatcher {
+
+    private static final TypeReference<Map<String, String>> MODEL_TYPE = new TypeReference<>() { };
+
+    private final EmailQueueRepository emailQueueRepository;
+    private final EmailTemplates emailTemplates;
+    private final JavaMailSender mailSender;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    public EmailDispatcher(EmailQueueRepository emailQueueRepository,
+                           EmailTemplates emailTemplates,
+                           JavaMailSender mailSender,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.mail.from:no-reply@foodorder.example}") String from,
+                           @Value("${app.mail.dispatcher.batch-size:50}") int batchSize,
+                           @Value("${app.mail.dispatcher.max-attempts:8}") int maxAttempts,
+                           @Value("${app.mail.dispatcher.initial-backoff:30s}") Duration initialBackoff,
+                           @Value("${app.mail.dispatcher.max-backoff:1h}") Duration maxBackoff,
+                           @Value("${app.mail.dispatcher.lease:5m}") Duration lease,
+                           @Value("${app.mail.dispatcher.retention:30d}") Duration retention) {
+        this.emailQueueRepository = emailQueueRepository;
+        this.emailTemplates = emailTemplates;
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onEmailQueued(EmailQueuedEvent event) {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.dispatcher.poll-interval-ms:30000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(cron = "${app.mail.dispatcher.cleanup-cron:0 45 3 * * *}", zone = "${app.mail.dispatcher.zone:UTC}")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer removed = transactionTemplate.execute(status -> emailQueueRepository.deleteFinishedBefore(cutoff));
+        if (removed != null && removed > 0) {
+            log.info("Removed {} sent or failed emails", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    // Coalesces wake-ups: at most one drain runs, and a wake-up during it causes one more pass
+    private void wakeUp() {
+        wakeRequested.set(true);
+        if (running.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<QueuedEmail> batch;
+            do {
+                wakeRequested.set(false);
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Email dispatch failed, will retry", ex);
+        } finally {
+            running.set(false);
+        }
+        if (wakeRequested.get()) {
+            wakeUp();
+        }
+    }
+
+    private List<QueuedEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<QueuedEmail> due = emailQueueRepository.claimDue(now, batchSize);
+            // Leased so no other dispatcher picks them up while this one is sending
+            due.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void deliver(List<QueuedEmail> batch) {
+        Map<MimeMessage, QueuedEmail> messages = new IdentityHashMap<>();
+        Map<QueuedEmail, String> failures = new IdentityHashMap<>();
+        for (QueuedEmail email : batch) {
+            try {
+                messages.put(render(email), email);
+            } catch (MessagingException | IOException | RuntimeException ex) {
+                failures.put(email, "Rendering failed: " + ex.getMessage());
+                // Retrying cannot fix a message that does not render
+                email.setAttempts(maxAttempts - 1);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException ex) {
+                ex.getFailedMessages().forEach((message, cause) -> {
+                    QueuedEmail email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email, String.valueOf(cause.getMessage()));
+                    }
+                });
+                if (ex.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, ex.getMessage()));
+                }
+            } catch (MailException ex) {
+                messages.values().forEach(email -> failures.put(email, ex.getMessage()));
+            }
+        }
+
+        List<Long> sent = new ArrayList<>();
+        for (QueuedEmail email : batch) {
+            if (!failures.containsKey(email)) {
+                sent.add(email.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                emailQueueRepository.markSent(sent, LocalDateTime.now());
+            }
+            failures.forEach(this::recordFailure);
+        });
+        if (!failures.isEmpty()) {
+            log.warn("{} of {} emails could not be sent", failures.size(), batch.size());
+        }
+    }
+
+    private MimeMessage render(QueuedEmail email) throws MessagingException, IOException {
+        EmailTemplate template = emailTemplates.get(email.getEmailType());
+        Map<String, String> model = objectMapper.readValue(email.getModel(), MODEL_TYPE);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(template.renderSubject(model));
+        helper.setText(template.renderBody(model));
+        return message;
+    }
+
+    private void recordFailure(QueuedEmail email, String error) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+        if (attempts >= maxAttempts) {
+            email.setStatus(QueuedEmail.Status.FAILED);
+        } else {
+            email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        }
+        emailQueueRepository.save(email);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
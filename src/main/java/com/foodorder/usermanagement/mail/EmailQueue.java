@@ -0,0 +1,57 @@
+package com.foodorder.usermanagement.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.event.EmailQueuedEvent;
+import com.foodorder.usermanagement.model.EmailType;
+import com.foodorder.usermanagement.model.QueuedEmail;
+import com.foodorder.usermanagement.repository.EmailQueueRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Queues account emails. Must be called from inside the transaction that makes the change,
+ * so the email is only sent if the change commits; sending itself never happens on the
+ * calling thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailQueue {
+
+    private final EmailQueueRepository emailQueueRepository;
+    private final EmailTemplates emailTemplates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public QueuedEmail enqueue(EmailType type, String recipient, Map<String, String> model) {
+        // Checked here so a bad model fails the request rather than the send
+        if (!model.keySet().containsAll(emailTemplates.get(type).getVariables())) {
+            throw new IllegalArgumentException("Missing values for email template '" + type.getTemplate() + "'");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        QueuedEmail email = new QueuedEmail();
+        email.setEmailType(type);
+        email.setRecipient(recipient);
+        email.setModel(toJson(model));
+        email.setNextAttemptAt(now);
+        email.setCreatedAt(now);
+        QueuedEmail saved = emailQueueRepository.save(email);
+        eventPublisher.publishEvent(new EmailQueuedEvent(saved.getId()));
+        return saved;
+    }
+
+    private String toJson(Map<String, String> model) {
+        try {
+            return objectMapper.writeValueAsString(model);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Email model cannot be serialized", ex);
+        }
+    }
+}
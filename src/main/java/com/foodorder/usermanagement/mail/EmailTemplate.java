@@ -0,0 +1,95 @@
+package com.foodorder.usermanagement.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Plain-text email template. The first line is {@code Subject: ...}, followed by a blank line
+ * and the body; {@code {{name}}} is replaced with the model value of that name. Templates are
+ * parsed once into literal and variable parts, so rendering is a single pass of appends.
+ */
+public final class EmailTemplate {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final String name;
+    private final List<Part> subject;
+    private final List<Part> body;
+    private final Set<String> variables = new TreeSet<>();
+
+    private EmailTemplate(String name, List<Part> subject, List<Part> body) {
+        this.name = name;
+        this.subject = subject;
+        this.body = body;
+        for (List<Part> parts : List.of(subject, body)) {
+            parts.stream().filter(Part::variable).map(Part::text).forEach(variables::add);
+        }
+    }
+
+    public static EmailTemplate compile(String name, String source) {
+        String normalized = source.replace("\r\n", "\n");
+        int headerEnd = normalized.indexOf("\n\n");
+        if (!normalized.startsWith(SUBJECT_PREFIX) || headerEnd < 0) {
+            throw new IllegalArgumentException("Email template '" + name
+                    + "' must start with a Subject line followed by a blank line");
+        }
+        String subject = normalized.substring(SUBJECT_PREFIX.length(), headerEnd).strip();
+        return new EmailTemplate(name, parse(name, subject), parse(name, normalized.substring(headerEnd + 2)));
+    }
+
+    public String renderSubject(Map<String, String> model) {
+        return render(subject, model);
+    }
+
+    public String renderBody(Map<String, String> model) {
+        return render(body, model);
+    }
+
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    private String render(List<Part> parts, Map<String, String> model) {
+        StringBuilder out = new StringBuilder(256);
+        for (Part part : parts) {
+            if (!part.variable()) {
+                out.append(part.text());
+                continue;
+            }
+            String value = model.get(part.text());
+            if (value == null) {
+                throw new IllegalArgumentException("Email template '" + name + "' needs a value for '" + part.text() + "'");
+            }
+            out.append(value);
+        }
+        return out.toString();
+    }
+
+    private static List<Part> parse(String name, String text) {
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf("{{", position);
+            if (open < 0) {
+                parts.add(new Part(text.substring(position), false));
+                break;
+            }
+            int close = text.indexOf("}}", open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in email template '" + name + "'");
+            }
+            if (open > position) {
+                parts.add(new Part(text.substring(position, open), false));
+            }
+            parts.add(new Part(text.substring(open + 2, close).strip(), true));
+            position = close + 2;
+        }
+        return List.copyOf(parts);
+    }
+
+    private record Part(String text, boolean variable) {
+    }
+}
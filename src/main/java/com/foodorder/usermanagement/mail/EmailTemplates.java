@@ -0,0 +1,38 @@
+package com.foodorder.usermanagement.mail;
+
+import com.foodorder.usermanagement.model.EmailType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compiles every {@link EmailType}'s template at startup, so a missing or malformed template
+ * stops the application instead of failing the first send.
+ */
+@Component
+public class EmailTemplates {
+
+    private final Map<EmailType, EmailTemplate> templates = new EnumMap<>(EmailType.class);
+
+    public EmailTemplates() {
+        for (EmailType type : EmailType.values()) {
+            String path = "templates/email/" + type.getTemplate() + ".txt";
+            try (InputStream in = new ClassPathResource(path).getInputStream()) {
+                templates.put(type, EmailTemplate.compile(type.getTemplate(),
+                        new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Email template " + path + " could not be read", ex);
+            }
+        }
+    }
+
+    public EmailTemplate get(EmailType type) {
+        return templates.get(type);
+    }
+}
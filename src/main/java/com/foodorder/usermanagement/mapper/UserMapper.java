@@ -0,0 +1,40 @@
+package com.foodorder.usermanagement.mapper;
+
+import com.foodorder.usermanagement.dto.UserDTO;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Entity/DTO conversions, implemented at compile time by MapStruct as plain getter and setter
+ * calls. Unmapped target properties fail the build, so a field added on one side has to be
+ * mapped or explicitly ignored here.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+
+    UserResponse toResponse(User user);
+
+    List<UserResponse> toResponses(List<User> users);
+
+    UserDTO toDto(User user);
+
+    // Identity, roles and audit columns are never taken from a client
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "sellerProfile", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    User toEntity(UserDTO dto);
+
+    default String roleName(Role role) {
+        return role.getName().name();
+    }
+}
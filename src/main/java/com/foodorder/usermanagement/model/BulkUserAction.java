@@ -0,0 +1,26 @@
+package com.foodorder.usermanagement.model;
+
+import java.util.Locale;
+
+public enum BulkUserAction {
+    ENABLE,
+    DISABLE,
+    ACTIVATE,
+    DEACTIVATE,
+    DELETE;
+
+    /**
+     * Whether users affected by this action lose their refresh tokens.
+     */
+    public boolean revokesTokens() {
+        return this == DISABLE || this == DEACTIVATE || this == DELETE;
+    }
+
+    public static BulkUserAction fromPath(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown bulk action: " + value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.foodorder.usermanagement.model;
+
+/**
+ * Account emails; each is rendered from {@code templates/email/<template>.txt}.
+ */
+public enum EmailType {
+    WELCOME("welcome"),
+    PASSWORD_CHANGED("password-changed");
+
+    private final String template;
+
+    EmailType(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+}
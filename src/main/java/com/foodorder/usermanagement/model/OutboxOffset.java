@@ -0,0 +1,38 @@
+package com.foodorder.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_offsets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxOffset {
+
+    @Id
+    @Column(length = 100)
+    private String sink;
+
+    @Column(nullable = false)
+    private long lastTxId;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Whether the event sits after this offset in relay order.
+     */
+    public boolean isBefore(OutboxEvent event) {
+        return event.getTxId() > lastTxId || (event.getTxId() == lastTxId && event.getId() > lastEventId);
+    }
+}
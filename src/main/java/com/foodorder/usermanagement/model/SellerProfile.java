@@ -0,0 +1,36 @@
+package com.foodorder.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * Seller-only details, kept out of the users row so that auth and customer reads stay narrow.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "seller_profiles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProfile extends BaseEntity {
+
+    @Column(name = "business_name")
+    private String businessName;
+
+    @Column(name = "business_address")
+    private String businessAddress;
+
+    @Column(name = "upi_id")
+    private String upiId;
+
+    @Column(name = "bank_account_number")
+    private String bankAccountNumber;
+
+    @Column(name = "bank_ifsc_code")
+    private String bankIfscCode;
+}
@@ -0,0 +1,27 @@
+package com.foodorder.usermanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "service_clients")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ServiceClient extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String clientId;
+
+    // Hex HMAC-SHA256 of the secret under app.auth.clients.hash-key
+    @Column(nullable = false, length = 64)
+    private String secretHash;
+
+    @Column(nullable = false)
+    private String scopes;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+}
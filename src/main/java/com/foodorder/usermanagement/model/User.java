@@ -1,5 +1,6 @@
 package com.foodorder.usermanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,16 +9,17 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users",
-       uniqueConstraints = {
-           @UniqueConstraint(columnNames = "email"),
-           @UniqueConstraint(columnNames = "phone")
-       })
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
+@Table(name = "users")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -63,23 +65,76 @@ public class User extends BaseEntity {
     @Column(name = "is_seller")
     private boolean isSeller = false;
 
-    @Column(name = "business_name")
-    private String businessName;
+    // Loaded only when a seller field is read; customers have no profile row at all
+    @JsonIgnore
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "seller_profile_id")
+    private SellerProfile sellerProfile;
 
-    @Column(name = "business_address")
-    private String businessAddress;
+    @Column(name = "is_active")
+    private boolean isActive = true;
 
-    @Column(name = "upi_id")
-    private String upiId;
+    // Set on delete; the row is hidden from every query and hard-deleted later by UserPurgeJob
+    @JsonIgnore
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 
-    @Column(name = "bank_account_number")
-    private String bankAccountNumber;
+    public String getBusinessName() {
+        return sellerProfile == null ? null : sellerProfile.getBusinessName();
+    }
 
-    @Column(name = "bank_ifsc_code")
-    private String bankIfscCode;
+    public void setBusinessName(String businessName) {
+        if (businessName != null || sellerProfile != null) {
+            profile().setBusinessName(businessName);
+        }
+    }
 
-    @Column(name = "is_active")
-    private boolean isActive = true;
+    public String getBusinessAddress() {
+        return sellerProfile == null ? null : sellerProfile.getBusinessAddress();
+    }
+
+    public void setBusinessAddress(String businessAddress) {
+        if (businessAddress != null || sellerProfile != null) {
+            profile().setBusinessAddress(businessAddress);
+        }
+    }
+
+    public String getUpiId() {
+        return sellerProfile == null ? null : sellerProfile.getUpiId();
+    }
+
+    public void setUpiId(String upiId) {
+        if (upiId != null || sellerProfile != null) {
+            profile().setUpiId(upiId);
+        }
+    }
+
+    public String getBankAccountNumber() {
+        return sellerProfile == null ? null : sellerProfile.getBankAccountNumber();
+    }
+
+    public void setBankAccountNumber(String bankAccountNumber) {
+        if (bankAccountNumber != null || sellerProfile != null) {
+            profile().setBankAccountNumber(bankAccountNumber);
+        }
+    }
+
+    public String getBankIfscCode() {
+        return sellerProfile == null ? null : sellerProfile.getBankIfscCode();
+    }
+
+    public void setBankIfscCode(String bankIfscCode) {
+        if (bankIfscCode != null || sellerProfile != null) {
+            profile().setBankIfscCode(bankIfscCode);
+        }
+    }
+
+    private SellerProfile profile() {
+        if (sellerProfile == null) {
+            sellerProfile = new SellerProfile();
+        }
+        return sellerProfile;
+    }
 
     public void addRole(Role role) {
         this.roles.add(role);
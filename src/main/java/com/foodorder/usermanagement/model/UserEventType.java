@@ -0,0 +1,22 @@
+package com.foodorder.usermanagement.model;
+
+public enum UserEventType {
+    USER_REGISTERED,
+    USER_UPDATED,
+    USER_PASSWORD_CHANGED,
+    USER_ENABLED,
+    USER_DISABLED,
+    USER_ACTIVATED,
+    USER_DEACTIVATED,
+    USER_DELETED;
+
+    public static UserEventType of(BulkUserAction action) {
+        return switch (action) {
+            case ENABLE -> USER_ENABLED;
+            case DISABLE -> USER_DISABLED;
+            case ACTIVATE -> USER_ACTIVATED;
+            case DEACTIVATE -> USER_DEACTIVATED;
+            case DELETE -> USER_DELETED;
+        };
+    }
+}
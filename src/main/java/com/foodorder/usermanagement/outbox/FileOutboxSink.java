@@ -0,0 +1,78 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends events as newline-delimited JSON to a local log file and forces each batch to disk
+ * before the offset moves on.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+
+    public static final String NAME = "file";
+
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    // Not a monitor: publishers queue up here across the fsync, and a virtual thread blocked
+    // entering a monitor pins its carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        Path path = properties.getFile().getPath();
+        appendLock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            StringBuilder lines = new StringBuilder();
+            for (OutboxEvent event : events) {
+                lines.append(objectMapper.writeValueAsString(toJson(event))).append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append outbox events to " + path, ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private ObjectNode toJson(OutboxEvent event) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", event.getId());
+        node.put("type", event.getEventType());
+        node.put("aggregateType", event.getAggregateType());
+        node.put("aggregateId", event.getAggregateId());
+        node.put("createdAt", event.getCreatedAt().toString());
+        node.set("payload", objectMapper.readTree(event.getPayload()));
+        return node;
+    }
+}
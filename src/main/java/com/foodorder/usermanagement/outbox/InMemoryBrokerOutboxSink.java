@@ -0,0 +1,92 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stand-in for a message broker: a partitioned, offset-addressed log held in memory. Events
+ * of one user always land on the same partition, so per-user order is kept for consumers
+ * reading a partition from an offset. Used until a real broker is wired in, and in tests.
+ */
+@Component
+public class InMemoryBrokerOutboxSink implements OutboxSink {
+
+    public static final String NAME = "broker";
+
+    private final Partition[] partitions;
+    private final int maxEventsPerPartition;
+
+    public InMemoryBrokerOutboxSink(OutboxProperties properties) {
+        this.partitions = new Partition[properties.getBroker().getPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition();
+        }
+        this.maxEventsPerPartition = properties.getBroker().getMaxEventsPerPartition();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            Partition partition = partitions[partitionFor(event.getAggregateId())];
+            synchronized (partition) {
+                partition.events.addLast(event);
+                if (partition.events.size() > maxEventsPerPartition) {
+                    partition.events.removeFirst();
+                    partition.baseOffset++;
+                }
+            }
+        }
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    public int partitionFor(long aggregateId) {
+        return Math.floorMod(Long.hashCode(aggregateId), partitions.length);
+    }
+
+    /**
+     * @return up to {@code max} events starting at {@code offset}, or from the oldest retained
+     *         event if {@code offset} has already been dropped
+     */
+    public List<OutboxEvent> poll(int partition, long offset, int max) {
+        Partition source = partitions[partition];
+        synchronized (source) {
+            long skip = Math.max(0, offset - source.baseOffset);
+            List<OutboxEvent> result = new ArrayList<>(Math.min(max, source.events.size()));
+            for (OutboxEvent event : source.events) {
+                if (skip > 0) {
+                    skip--;
+                } else if (result.size() < max) {
+                    result.add(event);
+                } else {
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+
+    public long endOffset(int partition) {
+        Partition source = partitions[partition];
+        synchronized (source) {
+            return source.baseOffset + source.events.size();
+        }
+    }
+
+    private static final class Partition {
+        private final Deque<OutboxEvent> events = new ArrayDeque<>();
+        private long baseOffset;
+    }
+}
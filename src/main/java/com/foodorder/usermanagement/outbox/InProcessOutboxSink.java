@@ -0,0 +1,31 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Republishes relayed events as application events; listen with {@code @EventListener} on
+ * {@link OutboxEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    public static final String NAME = "in-process";
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,48 @@
+package com.foodorder.usermanagement.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** Names of the sinks events are relayed to; each keeps its own offset. */
+    private List<String> sinks = new ArrayList<>(List.of(InProcessOutboxSink.NAME));
+
+    private Relay relay = new Relay();
+
+    private File file = new File();
+
+    private Broker broker = new Broker();
+
+    // poll-interval-ms, cleanup-cron and zone are read by the @Scheduled triggers of OutboxRelay
+    @Data
+    public static class Relay {
+        private boolean enabled = true;
+
+        /** Events handed to a sink per transaction. */
+        private int batchSize = 500;
+
+        /** How long relayed events are kept for replay before the cleanup removes them. */
+        private Duration retention = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class File {
+        private Path path = Path.of("outbox", "user-events.ndjson");
+    }
+
+    @Data
+    public static class Broker {
+        private int partitions = 8;
+
+        /** Oldest events are dropped from a partition beyond this size. */
+        private int maxEventsPerPartition = 100_000;
+    }
+}
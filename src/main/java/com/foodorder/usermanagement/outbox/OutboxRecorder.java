@@ -0,0 +1,35 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes user lifecycle events to the outbox. Must be called from inside the transaction
+ * that makes the change, so the event is committed or rolled back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEventType type, Long userId) {
+        recordAll(type, List.of(userId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(UserEventType type, Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            outboxEventRepository.insertUserEvents(userIds, type.name(), LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.model.OutboxOffset;
+import com.foodorder.usermanagement.repository.OutboxEventRepository;
+import com.foodorder.usermanagement.repository.OutboxOffsetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves committed outbox events to the configured sinks. Each sink has its own offset row;
+ * a batch is read, published and the offset advanced in one transaction that holds the row
+ * lock, so only one instance relays a given sink at a time and others skip it. A crash after
+ * publishing but before commit hands the same batch over again: delivery is at least once.
+ *
+ * <p>Cleanup only removes events every offset row has passed, so the offset of a sink that
+ * is taken out of {@code app.outbox.sinks} has to be deleted for cleanup to continue.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Map<String, OutboxSink> sinks;
+
+    public OutboxRelay(OutboxEventRepository eventRepository,
+                       OutboxOffsetRepository offsetRepository,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties,
+                       List<OutboxSink> availableSinks) {
+        this.eventRepository = eventRepository;
+        this.offsetRepository = offsetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+
+        Map<String, OutboxSink> byName = availableSinks.stream()
+                .collect(Collectors.toMap(OutboxSink::name, Function.identity()));
+        this.sinks = new LinkedHashMap<>();
+        for (String name : properties.getSinks()) {
+            OutboxSink sink = byName.get(name);
+            if (sink == null) {
+                throw new IllegalStateException("Unknown outbox sink '" + name + "', available: " + byName.keySet());
+            }
+            sinks.put(name, sink);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOffsets() {
+        transactionTemplate.executeWithoutResult(status -> sinks.keySet().forEach(offsetRepository::createIfMissing));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval-ms:250}")
+    public void poll() {
+        for (String sink : sinks.keySet()) {
+            try {
+                relay(sink);
+            } catch (RuntimeException ex) {
+                log.warn("Relaying outbox events to sink '{}' failed, will retry", sink, ex);
+            }
+        }
+    }
+
+    /**
+     * Relays everything currently relayable to one sink.
+     *
+     * @return number of events published
+     */
+    public long relay(String sinkName) {
+        OutboxSink sink = sinks.get(sinkName);
+        if (sink == null) {
+            throw new ResourceNotFoundException("Outbox sink not found");
+        }
+        int batchSize = properties.getRelay().getBatchSize();
+        long relayed = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch(sink, batchSize));
+            relayed += batch;
+        } while (batch == batchSize);
+        return relayed;
+    }
+
+    private int relayBatch(OutboxSink sink, int batchSize) {
+        OutboxOffset offset = offsetRepository.lockBySink(sink.name()).orElse(null);
+        if (offset == null) {
+            // Another instance holds the sink
+            return 0;
+        }
+        List<OutboxEvent> events = eventRepository.findBatchAfter(offset.getLastTxId(), offset.getLastEventId(), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.publish(events);
+        OutboxEvent last = events.get(events.size() - 1);
+        offset.setLastTxId(last.getTxId());
+        offset.setLastEventId(last.getId());
+        offset.setUpdatedAt(LocalDateTime.now());
+        return events.size();
+    }
+
+    /**
+     * Moves a sink's offset so that relaying restarts at the given event, or at the oldest
+     * retained event when {@code fromEventId} is null.
+     */
+    public OutboxOffset replay(String sinkName, Long fromEventId) {
+        if (!sinks.containsKey(sinkName)) {
+            throw new ResourceNotFoundException("Outbox sink not found");
+        }
+        return transactionTemplate.execute(status -> {
+            OutboxOffset offset = offsetRepository.findById(sinkName)
+                    .orElseGet(() -> new OutboxOffset(sinkName, 0, 0, LocalDateTime.now()));
+            if (fromEventId == null) {
+                offset.setLastTxId(0);
+                offset.setLastEventId(0);
+            } else {
+                OutboxEvent from = eventRepository.findById(fromEventId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Outbox event not found"));
+                // Positions are ordered by (tx_id, id), so this sits just before the event
+                offset.setLastTxId(from.getTxId());
+                offset.setLastEventId(from.getId() - 1);
+            }
+            offset.setUpdatedAt(LocalDateTime.now());
+            return offsetRepository.save(offset);
+        });
+    }
+
+    public List<OutboxOffset> offsets() {
+        return offsetRepository.findAll();
+    }
+
+    @Scheduled(cron = "${app.outbox.relay.cleanup-cron:0 30 3 * * *}", zone = "${app.outbox.relay.zone:UTC}")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRelay().getRetention());
+        int batchSize = properties.getRelay().getBatchSize();
+        long removed = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> eventRepository.deleteRelayedBefore(cutoff, batchSize));
+            removed += batch;
+        } while (batch == batchSize);
+        if (removed > 0) {
+            log.info("Removed {} relayed outbox events", removed);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.foodorder.usermanagement.outbox;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. Batches arrive in relay order and are delivered at
+ * least once: a batch whose offset could not be committed is handed over again, so consumers
+ * should de-duplicate on the event id.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Throwing leaves the sink's offset where it was; the batch is retried on the next poll.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,180 @@
+package com.foodorder.usermanagement.proto;
+
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.ErrorResponse;
+import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.TokenIntrospectionResponse;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.feed.FeedPosition;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.IntrospectTokenResponse;
+import com.foodorder.usermanagement.proto.v1.Jwt;
+import com.foodorder.usermanagement.proto.v1.UserChange;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Converts the response DTOs and feed events to their {@code foodorder.user.v1} messages, and batch lookup
+ * requests back. Null strings are left unset, since protobuf has no null.
+ */
+public final class UserProtoMapper {
+
+    private UserProtoMapper() {
+    }
+
+    /**
+     * @return the message for {@code body}, or null if it has no protobuf representation
+     */
+    public static Message toMessage(Object body) {
+        if (body instanceof UserResponse user) {
+            return toMessage(user);
+        }
+        if (body instanceof JwtResponse jwt) {
+            return toMessage(jwt);
+        }
+        if (body instanceof UserBatchLookupResponse batch) {
+            return toMessage(batch);
+        }
+        if (body instanceof ErrorResponse error) {
+            return toMessage(error);
+        }
+        return null;
+    }
+
+    public static boolean canConvert(Class<?> type) {
+        return UserResponse.class.isAssignableFrom(type) || JwtResponse.class.isAssignableFrom(type)
+                || UserBatchLookupResponse.class.isAssignableFrom(type) || ErrorResponse.class.isAssignableFrom(type);
+    }
+
+    public static com.foodorder.usermanagement.proto.v1.User toMessage(UserResponse user) {
+        com.foodorder.usermanagement.proto.v1.User.Builder builder = com.foodorder.usermanagement.proto.v1.User.newBuilder()
+                .setEnabled(user.isEnabled())
+                .setActive(user.isActive())
+                .setSeller(user.isSeller());
+        set(user.getId(), builder::setId);
+        set(user.getEmail(), builder::setEmail);
+        set(user.getFirstName(), builder::setFirstName);
+        set(user.getLastName(), builder::setLastName);
+        set(user.getPhone(), builder::setPhone);
+        if (user.getRoles() != null) {
+            builder.addAllRoles(user.getRoles());
+        }
+        set(user.getBusinessName(), builder::setBusinessName);
+        set(user.getBusinessAddress(), builder::setBusinessAddress);
+        set(user.getUpiId(), builder::setUpiId);
+        set(user.getBankAccountNumber(), builder::setBankAccountNumber);
+        set(user.getBankIfscCode(), builder::setBankIfscCode);
+        set(timestamp(user.getCreatedAt()), builder::setCreatedAt);
+        set(timestamp(user.getUpdatedAt()), builder::setUpdatedAt);
+        set(user.getVersion(), builder::setVersion);
+        return builder.build();
+    }
+
+    public static Jwt toMessage(JwtResponse jwt) {
+        Jwt.Builder builder = Jwt.newBuilder();
+        set(jwt.getToken(), builder::setToken);
+        set(jwt.getType(), builder::setType);
+        set(jwt.getId(), builder::setId);
+        set(jwt.getEmail(), builder::setEmail);
+        if (jwt.getRoles() != null) {
+            builder.addAllRoles(jwt.getRoles());
+        }
+        return builder.build();
+    }
+
+    public static com.foodorder.usermanagement.proto.v1.UserSummary toMessage(UserSummary user) {
+        com.foodorder.usermanagement.proto.v1.UserSummary.Builder builder =
+                com.foodorder.usermanagement.proto.v1.UserSummary.newBuilder()
+                        .setSeller(user.isSeller())
+                        .setActive(user.isActive());
+        set(user.getId(), builder::setId);
+        set(user.getEmail(), builder::setEmail);
+        set(user.getFirstName(), builder::setFirstName);
+        set(user.getLastName(), builder::setLastName);
+        set(user.getPhone(), builder::setPhone);
+        set(user.getBusinessName(), builder::setBusinessName);
+        set(user.getBusinessAddress(), builder::setBusinessAddress);
+        return builder.build();
+    }
+
+    public static BatchLookupResponse toMessage(UserBatchLookupResponse batch) {
+        BatchLookupResponse.Builder builder = BatchLookupResponse.newBuilder();
+        for (UserBatchLookupResponse.Result result : batch.getResults()) {
+            BatchLookupResponse.Result.Builder entry = builder.addResultsBuilder().setFound(result.isFound());
+            set(result.getId(), entry::setId);
+            set(result.getEmail(), entry::setEmail);
+            if (result.getUser() != null) {
+                entry.setUser(toMessage(result.getUser()));
+            }
+        }
+        return builder.build();
+    }
+
+    public static com.foodorder.usermanagement.proto.v1.Error toMessage(ErrorResponse error) {
+        com.foodorder.usermanagement.proto.v1.Error.Builder builder = com.foodorder.usermanagement.proto.v1.Error.newBuilder()
+                .setStatus(error.getStatus());
+        set(error.getMessage(), builder::setMessage);
+        set(timestamp(error.getTimestamp()), builder::setTimestamp);
+        return builder.build();
+    }
+
+    public static IntrospectTokenResponse toMessage(TokenIntrospectionResponse introspection) {
+        IntrospectTokenResponse.Builder builder = IntrospectTokenResponse.newBuilder()
+                .setActive(introspection.isActive());
+        set(introspection.getSubject(), builder::setSubject);
+        set(introspection.getUserId(), builder::setUserId);
+        if (introspection.getRoles() != null) {
+            builder.addAllRoles(introspection.getRoles());
+        }
+        set(timestamp(introspection.getExpiresAt()), builder::setExpiresAt);
+        return builder.build();
+    }
+
+    public static UserChange toMessage(OutboxEvent event) {
+        UserChange.Builder builder = UserChange.newBuilder()
+                .setType(event.getEventType())
+                .setEventId(FeedPosition.of(event).toString())
+                .setUserId(event.getAggregateId())
+                .setPayload(event.getPayload());
+        set(timestamp(event.getCreatedAt()), builder::setCreatedAt);
+        return builder.build();
+    }
+
+    public static UserBatchLookupRequest fromMessage(BatchLookupRequest message) {
+        UserBatchLookupRequest request = new UserBatchLookupRequest();
+        request.setIds(new ArrayList<>(message.getIdsList()));
+        request.setEmails(new ArrayList<>(message.getEmailsList()));
+        return request;
+    }
+
+    // Audit columns are written in the server's zone, like LocalDateTime.now()
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        return timestamp(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        if (instant == null) {
+            return null;
+        }
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static <T> void set(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+}
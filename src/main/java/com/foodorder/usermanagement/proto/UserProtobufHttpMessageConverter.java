@@ -0,0 +1,63 @@
+package com.foodorder.usermanagement.proto;
+
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.google.protobuf.Message;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Writes the user and token response DTOs as {@code application/x-protobuf}, converting them
+ * to the generated {@code foodorder.user.v1} messages, and reads batch lookup requests. Like
+ * Spring's {@link ProtobufHttpMessageConverter}, responses name their schema and message in
+ * the {@code X-Protobuf-Schema} and {@code X-Protobuf-Message} headers.
+ */
+public class UserProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    static final String SCHEMA = "foodorder/user/v1/user.proto";
+
+    public UserProtobufHttpMessageConverter() {
+        super(ProtobufHttpMessageConverter.PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserProtoMapper.canConvert(clazz) || UserBatchLookupRequest.class.equals(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return UserBatchLookupRequest.class.equals(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return UserProtoMapper.canConvert(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return UserProtoMapper.fromMessage(BatchLookupRequest.parseFrom(inputMessage.getBody()));
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Message message = UserProtoMapper.toMessage(body);
+        if (message == null) {
+            throw new HttpMessageNotWritableException("No protobuf representation for " + body.getClass().getName());
+        }
+        outputMessage.getHeaders().set(ProtobufHttpMessageConverter.X_PROTOBUF_SCHEMA_HEADER, SCHEMA);
+        outputMessage.getHeaders().set(ProtobufHttpMessageConverter.X_PROTOBUF_MESSAGE_HEADER,
+                message.getDescriptorForType().getFullName());
+        message.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,35 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.model.QueuedEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailQueueRepository extends JpaRepository<QueuedEmail, Long> {
+
+    // Rows another dispatcher has locked are skipped rather than waited for
+    @Query(value = """
+            SELECT * FROM email_queue
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<QueuedEmail> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE email_queue SET status = 'SENT', sent_at = :now, attempts = attempts + 1, last_error = NULL "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM email_queue WHERE status <> 'PENDING' AND created_at < :cutoff", nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,79 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Writes one event per user from the rows as this transaction sees them. Being a native
+     * statement it flushes pending entity changes first, so the payload reflects them.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+            SELECT 'user', u.id, :eventType,
+                   CAST(jsonb_build_object(
+                       'id', u.id,
+                       'email', u.email,
+                       'firstName', u.first_name,
+                       'lastName', u.last_name,
+                       'phone', u.phone,
+                       'seller', u.is_seller,
+                       'enabled', u.enabled,
+                       'active', u.is_active,
+                       'deleted', u.deleted_at IS NOT NULL,
+                       'version', u.version,
+                       'updatedAt', u.updated_at,
+                       'businessName', sp.business_name,
+                       'businessAddress', sp.business_address,
+                       'roles', (SELECT coalesce(jsonb_agg(r.name ORDER BY r.name), CAST('[]' AS jsonb))
+                                 FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+                                 WHERE ur.user_id = u.id)) AS text),
+                   :now
+            FROM users u LEFT JOIN seller_profiles sp ON sp.id = u.seller_profile_id
+            WHERE u.id IN (:userIds)
+            ORDER BY u.id
+            """, nativeQuery = true)
+    int insertUserEvents(@Param("userIds") Collection<Long> userIds, @Param("eventType") String eventType,
+                         @Param("now") LocalDateTime now);
+
+    // Only rows of transactions older than every running one, so nothing can still appear behind them.
+    // Any long or idle-in-transaction session in the cluster holds pg_snapshot_xmin back, and this with it.
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE (tx_id, id) > (:txId, :eventId)
+              AND tx_id < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)
+            ORDER BY tx_id, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OutboxEvent> findBatchAfter(@Param("txId") long txId, @Param("eventId") long eventId, @Param("limit") int limit);
+
+    // Newest event findBatchAfter could return right now; readers that keep no offset start from here
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE tx_id < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)
+            ORDER BY tx_id DESC, id DESC
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<OutboxEvent> findLatestRelayable();
+
+    // Only events every sink has relayed are removed, so a lagging sink never loses any
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_events e
+            WHERE e.id IN (SELECT id FROM outbox_events WHERE created_at < :cutoff ORDER BY created_at LIMIT :limit)
+              AND NOT EXISTS (SELECT 1 FROM outbox_offsets o WHERE (o.last_tx_id, o.last_event_id) < (e.tx_id, e.id))
+            """, nativeQuery = true)
+    int deleteRelayedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,29 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.model.OutboxOffset;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    // Skips the row if another instance is relaying this sink right now
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxOffset o WHERE o.sink = :sink")
+    Optional<OutboxOffset> lockBySink(@Param("sink") String sink);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_offsets (sink, last_tx_id, last_event_id, updated_at) "
+            + "VALUES (:sink, 0, 0, now()) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createIfMissing(@Param("sink") String sink);
+}
@@ -0,0 +1,18 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.model.SellerProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface SellerProfileRepository extends JpaRepository<SellerProfile, Long> {
+
+    @Modifying
+    @Query("DELETE FROM SellerProfile sp WHERE sp.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
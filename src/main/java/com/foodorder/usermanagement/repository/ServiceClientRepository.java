@@ -0,0 +1,13 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.model.ServiceClient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ServiceClientRepository extends JpaRepository<ServiceClient, Long> {
+
+    Optional<ServiceClient> findByClientId(String clientId);
+}
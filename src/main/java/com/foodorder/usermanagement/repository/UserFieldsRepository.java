@@ -0,0 +1,22 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads only the selected user columns, joining the seller profile only when one of its
+ * fields is selected.
+ */
+public interface UserFieldsRepository {
+
+    Optional<SparseUserResponse> findFieldsById(Long id, Set<UserField> fields);
+
+    /**
+     * @param seller true for sellers, false for customers, null for every user
+     */
+    List<SparseUserResponse> findFields(Boolean seller, Set<UserField> fields);
+}
@@ -0,0 +1,74 @@
+package com.foodorder.usermanagement.repository;
+
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class UserFieldsRepositoryImpl implements UserFieldsRepository {
+
+    // id, version, updatedAt and, with a profile join, the profile version precede the selected fields
+    private static final int LEADING_COLUMNS = 3;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<SparseUserResponse> findFieldsById(Long id, Set<UserField> fields) {
+        return query(fields, "WHERE u.id = :id", "")
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toResponse(tuple, fields));
+    }
+
+    @Override
+    public List<SparseUserResponse> findFields(Boolean seller, Set<UserField> fields) {
+        TypedQuery<Tuple> query = query(fields, seller == null ? "" : "WHERE u.isSeller = :seller", " ORDER BY u.id");
+        if (seller != null) {
+            query.setParameter("seller", seller);
+        }
+        return query.getResultStream().map(tuple -> toResponse(tuple, fields)).toList();
+    }
+
+    private TypedQuery<Tuple> query(Set<UserField> fields, String where, String orderBy) {
+        boolean profile = joinsProfile(fields);
+        StringBuilder jpql = new StringBuilder("SELECT u.id, u.version, u.updatedAt");
+        if (profile) {
+            jpql.append(", sp.version");
+        }
+        for (UserField field : fields) {
+            jpql.append(", ").append(field.getPath());
+        }
+        jpql.append(" FROM User u");
+        if (profile) {
+            jpql.append(" LEFT JOIN u.sellerProfile sp");
+        }
+        jpql.append(' ').append(where).append(orderBy);
+        return entityManager.createQuery(jpql.toString(), Tuple.class);
+    }
+
+    private SparseUserResponse toResponse(Tuple tuple, Set<UserField> fields) {
+        boolean profile = joinsProfile(fields);
+        int column = profile ? LEADING_COLUMNS + 1 : LEADING_COLUMNS;
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (UserField field : fields) {
+            values.put(field.getJsonName(), tuple.get(column++));
+        }
+        return new SparseUserResponse(tuple.get(0, Long.class), tuple.get(1, Long.class),
+                tuple.get(2, LocalDateTime.class), profile ? tuple.get(LEADING_COLUMNS, Long.class) : null, values);
+    }
+
+    private static boolean joinsProfile(Set<UserField> fields) {
+        return fields.stream().anyMatch(UserField::isSellerProfile);
+    }
+}
@@ -1,25 +1,93 @@
 package com.foodorder.usermanagement.repository;
 
+import com.foodorder.usermanagement.dto.UserSummary;
 import com.foodorder.usermanagement.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserFieldsRepository {
 
-    Optional<User> findByEmail(String email);
+    @Override
+    @EntityGraph(attributePaths = "sellerProfile")
+    List<User> findAll();
+
+    // Emails are matched case-insensitively; served by the ux_users_email_lower index
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
     
     Optional<User> findByPhone(String phone);
     
-    boolean existsByEmail(String email);
+    @Query("SELECT count(u) > 0 FROM User u WHERE lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    // Token introspection resolves a batch of subjects with their roles in one query; emails are
+    // passed in lower case for the ux_users_email_lower index
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE lower(u.email) IN :emails")
+    List<User> findAllWithRolesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Batch lookups project only what other services render; IN lists are padded to powers of
+    // two (hibernate.query.in_clause_parameter_padding) so a handful of plans serve every size
+    @Query("SELECT new com.foodorder.usermanagement.dto.UserSummary(u.id, u.email, u.firstName, u.lastName, u.phone, "
+            + "u.isSeller, u.isActive, sp.businessName, sp.businessAddress) "
+            + "FROM User u LEFT JOIN u.sellerProfile sp WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT u FROM User u WHERE u.isSeller = true")
+    // Emails are passed in lower case, so the ux_users_email_lower index serves the lookup
+    @Query("SELECT new com.foodorder.usermanagement.dto.UserSummary(u.id, u.email, u.firstName, u.lastName, u.phone, "
+            + "u.isSeller, u.isActive, sp.businessName, sp.businessAddress) "
+            + "FROM User u LEFT JOIN u.sellerProfile sp WHERE lower(u.email) IN :emails")
+    List<UserSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Seller listings always render the profile, so it is fetched in the same query
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.sellerProfile WHERE u.isSeller = true")
     List<User> findAllSellers();
     
     @Query("SELECT u FROM User u WHERE u.isSeller = false")
     List<User> findAllCustomers();
-} 
\ No newline at end of file
+
+    // Bulk statements bypass the persistence context, so they bump version and updatedAt themselves
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled, u.version = u.version + 1, u.updatedAt = :now WHERE u.id IN :ids")
+    int bulkSetEnabled(@Param("ids") Collection<Long> ids, @Param("enabled") boolean enabled, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = :active, u.version = u.version + 1, u.updatedAt = :now WHERE u.id IN :ids")
+    int bulkSetActive(@Param("ids") Collection<Long> ids, @Param("active") boolean active, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :now, u.version = u.version + 1, u.updatedAt = :now "
+            + "WHERE u.id = :id AND u.deletedAt IS NULL")
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :now, u.version = u.version + 1, u.updatedAt = :now "
+            + "WHERE u.id IN :ids AND u.deletedAt IS NULL")
+    int bulkSoftDelete(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Purge queries are native: soft-deleted rows are invisible to JPQL
+    @Query(value = "SELECT id FROM users WHERE deleted_at < :cutoff ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "SELECT seller_profile_id FROM users WHERE id IN (:ids) AND seller_profile_id IS NOT NULL",
+            nativeQuery = true)
+    List<Long> findSellerProfileIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:ids)", nativeQuery = true)
+    int deleteRoleLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("ids") Collection<Long> ids);
+}
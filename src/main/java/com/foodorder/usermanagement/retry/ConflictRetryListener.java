@@ -0,0 +1,67 @@
+package com.foodorder.usermanagement.retry;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.persistence.OptimisticLockException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts optimistic-lock conflicts seen by {@link RetryOnConflict} methods, how many of them a
+ * retry resolved and how many were surfaced to the caller.
+ */
+@Slf4j
+@Component("conflictRetryListener")
+public class ConflictRetryListener implements RetryListener {
+
+    private static final String CONFLICTED = "conflicted";
+
+    private final Counter conflicts;
+    private final Counter resolved;
+    private final Counter exhausted;
+
+    public ConflictRetryListener(MeterRegistry meterRegistry) {
+        this.conflicts = Counter.builder("users.optimistic_lock.conflicts")
+                .description("Optimistic-lock conflicts on user writes")
+                .register(meterRegistry);
+        this.resolved = Counter.builder("users.optimistic_lock.retries")
+                .tag("outcome", "resolved")
+                .description("Conflicting user writes, by final outcome")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("users.optimistic_lock.retries")
+                .tag("outcome", "exhausted")
+                .description("Conflicting user writes, by final outcome")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (!isConflict(throwable)) {
+            return;
+        }
+        conflicts.increment();
+        context.setAttribute(CONFLICTED, true);
+        log.debug("Optimistic-lock conflict in {} (attempt {})", context.getAttribute(RetryContext.NAME),
+                context.getRetryCount());
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (!context.hasAttribute(CONFLICTED)) {
+            return;
+        }
+        if (throwable == null) {
+            resolved.increment();
+        } else if (isConflict(throwable)) {
+            exhausted.increment();
+        }
+    }
+
+    private boolean isConflict(Throwable throwable) {
+        return throwable instanceof OptimisticLockingFailureException || throwable instanceof OptimisticLockException;
+    }
+}
@@ -0,0 +1,32 @@
+package com.foodorder.usermanagement.retry;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a method, including its transaction, when it loses an optimistic-lock race.
+ * Attempts are bounded and spaced by exponential backoff with random jitter. Only use it on
+ * operations that re-read their state and can safely be applied again.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+        maxAttemptsExpression = "${app.retry.conflict.max-attempts:3}",
+        backoff = @Backoff(
+                delayExpression = "${app.retry.conflict.initial-delay-ms:20}",
+                maxDelayExpression = "${app.retry.conflict.max-delay-ms:200}",
+                multiplier = 2,
+                random = true),
+        listeners = "conflictRetryListener")
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,62 @@
+package com.foodorder.usermanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves a bearer token to whoever holds it, for the REST filter and the gRPC interceptor
+ * alike. User tokens resolve to the user's current principal; client-credentials tokens are
+ * answered from their claims and the in-memory client index, without a query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessTokenAuthenticator {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserPrincipalLookup userPrincipalLookup;
+    private final ServiceClientRegistry serviceClientRegistry;
+
+    /**
+     * @return empty if the token is invalid, expired or revoked, or its holder is gone or disabled
+     */
+    public Optional<UserDetails> authenticate(String token) {
+        return authenticate(token, false);
+    }
+
+    /**
+     * @param claimsOnly trust the user snapshot in the token's claims instead of looking the user
+     *                   up, for reads that may be as stale as the token itself. The holder is then
+     *                   not checked: a user deleted or disabled since the token was issued still
+     *                   authenticates until it expires or is revoked, so only use it for reads that
+     *                   return no more than the token already carries
+     */
+    public Optional<UserDetails> authenticate(String token, boolean claimsOnly) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+            return Optional.empty();
+        }
+        if (tokenRevocationList.isRevoked(token)) {
+            return Optional.empty();
+        }
+        String clientId = claims.get(ServiceClientPrincipal.CLIENT_ID_CLAIM, String.class);
+        if (clientId != null) {
+            return serviceClientRegistry.isEnabled(clientId)
+                    ? Optional.of(ServiceClientPrincipal.from(claims))
+                    : Optional.empty();
+        }
+        Optional<UserPrincipal> fromClaims = claimsOnly ? UserPrincipal.fromClaims(claims) : Optional.empty();
+        return fromClaims.or(() -> userPrincipalLookup.findByEmail(claims.getSubject()).filter(UserPrincipal::isEnabled))
+                .map(UserDetails.class::cast);
+    }
+}
@@ -8,8 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,8 +20,9 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private static final String CURRENT_USER = "/api/v1/users/me";
+
+    private final AccessTokenAuthenticator accessTokenAuthenticator;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,15 +32,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("JwtAuthFilter hit: " + request.getRequestURI());
 
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (StringUtils.hasText(jwt)) {
+                accessTokenAuthenticator.authenticate(jwt, isClaimsOnly(request)).ifPresent(userDetails -> {
+                    UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -50,6 +48,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // GET /users/me answers from the token, so looking the user up would be its only query
+    private boolean isClaimsOnly(HttpServletRequest request) {
+        return CURRENT_USER.equals(request.getServletPath()) && "GET".equals(request.getMethod())
+                && !"true".equals(request.getParameter("fresh"));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -69,7 +73,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         || path.startsWith("/swagger-resources")
         || path.startsWith("/webjars")
         || path.equals("/swagger-ui.html")
-        || path.startsWith("/api/v1/auth")
+        || (path.startsWith("/api/v1/auth") && !path.equals("/api/v1/auth/introspect"))
             || path.contains("favicon"); // also skip your login/signup APIs if needed
 }
 } 
\ No newline at end of file
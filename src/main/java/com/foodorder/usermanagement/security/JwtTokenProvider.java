@@ -1,20 +1,25 @@
 package com.foodorder.usermanagement.security;
 
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 
 @Slf4j
 @Component
-public class JwtTokenProvider {
+@ImportRuntimeHints(JwtRuntimeHints.class)
+public class JwtTokenProvider implements CheckpointParticipant {
 
     @Value("${spring.security.jwt.secret}")
     private String jwtSecret;
@@ -24,9 +29,25 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    // Thread-safe once built; building one per call costs more than verifying a signature
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    @Override
+    public void beforeCheckpoint() {
+        key = null;
+        parser = null;
+    }
+
+    // Derived again from the configured secret, not carried over in the image
+    @Override
+    public void afterRestore() {
+        init();
     }
 
     public String generateToken(Authentication authentication) {
@@ -34,7 +55,12 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (userDetails instanceof UserPrincipal principal) {
+            // Lets profile reads be answered from the token alone
+            builder.addClaims(principal.toClaims());
+        }
+        return builder
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -42,19 +68,35 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Client-credentials token, with the client and its granted scopes as claims so that it can
+     * be authenticated without looking anything up.
+     */
+    public String generateClientToken(String clientId, Collection<String> scopes, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject(ServiceClientPrincipal.SUBJECT_PREFIX + clientId)
+                .claim(ServiceClientPrincipal.CLIENT_ID_CLAIM, clientId)
+                .claim(ServiceClientPrincipal.SCOPE_CLAIM, ServiceClientPrincipal.formatScopes(scopes))
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key)
+                .compact();
+    }
+
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token).getSubject();
+    }
 
-        return claims.getSubject();
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -0,0 +1,108 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.model.Role;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A registered service client acting through a client-credentials token. Everything it holds
+ * comes from the token's claims. Each scope names the role the client may act as, so
+ * {@code admin} grants {@code ROLE_ADMIN} and existing role checks apply to clients unchanged.
+ * It has no user id, so owner-only rules never match it.
+ */
+@Getter
+public final class ServiceClientPrincipal implements UserDetails {
+
+    public static final String CLIENT_ID_CLAIM = "client_id";
+    public static final String SCOPE_CLAIM = "scope";
+    public static final String SUBJECT_PREFIX = "client:";
+
+    private final String clientId;
+    private final Set<String> scopes;
+    private final List<GrantedAuthority> authorities;
+
+    private ServiceClientPrincipal(String clientId, Set<String> scopes) {
+        this.clientId = clientId;
+        this.scopes = scopes;
+        this.authorities = scopes.stream().<GrantedAuthority>map(scope -> new SimpleGrantedAuthority(role(scope).name()))
+                .toList();
+    }
+
+    public static ServiceClientPrincipal from(Claims claims) {
+        return new ServiceClientPrincipal(claims.get(CLIENT_ID_CLAIM, String.class),
+                parseScopes(claims.get(SCOPE_CLAIM, String.class)));
+    }
+
+    /**
+     * @return the scopes in a space-separated list, sorted
+     * @throws IllegalArgumentException if one does not name a role
+     */
+    public static Set<String> parseScopes(String scopes) {
+        Set<String> parsed = new TreeSet<>();
+        if (scopes != null) {
+            Arrays.stream(scopes.trim().split("\\s+"))
+                    .filter(scope -> !scope.isEmpty())
+                    .map(scope -> scope.toLowerCase(Locale.ROOT))
+                    .forEach(parsed::add);
+        }
+        parsed.forEach(ServiceClientPrincipal::role);
+        return parsed;
+    }
+
+    public static String formatScopes(Collection<String> scopes) {
+        return String.join(" ", new TreeSet<>(scopes));
+    }
+
+    private static Role.RoleType role(String scope) {
+        try {
+            return Role.RoleType.valueOf("ROLE_" + scope.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown scope: " + scope);
+        }
+    }
+
+    // Lets "#id == authentication.principal.id" evaluate to false instead of failing
+    public Long getId() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return SUBJECT_PREFIX + clientId;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
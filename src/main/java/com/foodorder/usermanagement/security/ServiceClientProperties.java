@@ -0,0 +1,25 @@
+package com.foodorder.usermanagement.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.clients")
+public class ServiceClientProperties {
+
+    /** HMAC key for client secrets; changing it invalidates every registered secret. */
+    private String hashKey;
+
+    /** Lifetime of client-credentials access tokens. */
+    private Duration tokenTtl = Duration.ofHours(1);
+
+    /**
+     * Issued tokens handed out again to the same client and scopes, each until half its
+     * lifetime has passed.
+     */
+    private long tokenCacheSize = 10_000;
+
+    // refresh-interval-ms is read by the @Scheduled trigger of ServiceClientRegistry
+}
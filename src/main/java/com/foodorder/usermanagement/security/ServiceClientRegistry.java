@@ -0,0 +1,153 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
+import com.foodorder.usermanagement.model.ServiceClient;
+import com.foodorder.usermanagement.repository.ServiceClientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of registered service clients, so checking a client secret or a client
+ * token never queries the database. Secrets are 256 random bits, which makes a keyed
+ * HMAC-SHA256 as safe to store as a password hash while costing microseconds to check rather
+ * than BCrypt's milliseconds.
+ *
+ * <p>The index is reloaded every {@code refresh-interval-ms}, so a client registered, disabled
+ * or rotated on another instance is picked up here within that interval. Unknown client ids are
+ * not looked up, since the token endpoint is open and anyone can present one.
+ */
+@Component
+public class ServiceClientRegistry implements CheckpointParticipant {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SECRET_BYTES = 32;
+
+    private final ServiceClientRepository serviceClientRepository;
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private volatile SecureRandom random = new SecureRandom();
+    // Mac instances are not thread-safe
+    private final ThreadLocal<Mac> macs;
+
+    public ServiceClientRegistry(ServiceClientRepository serviceClientRepository,
+                                 ServiceClientProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.serviceClientRepository = serviceClientRepository;
+        if (properties.getHashKey() == null || properties.getHashKey().isBlank()) {
+            throw new IllegalStateException("app.auth.clients.hash-key (CLIENT_SECRET_HASH_KEY) must be set");
+        }
+        SecretKeySpec key = new SecretKeySpec(properties.getHashKey().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Gauge.builder("users.service_clients", clients, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @throws BadCredentialsException unless the client exists, is enabled and the secret matches
+     */
+    public Client authenticate(String clientId, String secret) {
+        // Hashed even for unknown clients, so timing does not tell which ids exist
+        byte[] presented = hash(secret == null ? "" : secret);
+        Client client = clientId == null ? null : find(clientId);
+        if (client == null || !client.enabled() || !MessageDigest.isEqual(presented, client.secretHash())) {
+            throw new BadCredentialsException("Invalid client credentials");
+        }
+        return client;
+    }
+
+    public boolean isEnabled(String clientId) {
+        Client client = find(clientId);
+        return client != null && client.enabled();
+    }
+
+    public String newSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        random.nextBytes(secret);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    public String hashToHex(String secret) {
+        return HexFormat.of().formatHex(hash(secret));
+    }
+
+    /**
+     * Takes in a client just saved on this instance, ahead of the next refresh. Inside a
+     * transaction it is taken in once that commits, so a rolled-back change is never served.
+     */
+    public void put(ServiceClient serviceClient) {
+        Client client = Client.from(serviceClient);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clients.put(client.clientId(), client);
+                }
+            });
+        } else {
+            clients.put(client.clientId(), client);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.clients.refresh-interval-ms:30000}")
+    public void refresh() {
+        Map<String, Client> loaded = serviceClientRepository.findAll().stream()
+                .collect(Collectors.toMap(ServiceClient::getClientId, Client::from));
+        clients.putAll(loaded);
+        clients.keySet().retainAll(loaded.keySet());
+    }
+
+    @Override
+    public void beforeCheckpoint() {
+        clients.clear();
+    }
+
+    /**
+     * Reloads the clients and replaces the random source, so that instances restored from the
+     * same image do not share its state and generate the same secrets.
+     */
+    @Override
+    public void afterRestore() {
+        random = new SecureRandom();
+        refresh();
+    }
+
+    private Client find(String clientId) {
+        return clients.get(clientId);
+    }
+
+    private byte[] hash(String secret) {
+        return macs.get().doFinal(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Client(String clientId, byte[] secretHash, Set<String> scopes, boolean enabled) {
+
+        static Client from(ServiceClient serviceClient) {
+            return new Client(serviceClient.getClientId(), HexFormat.of().parseHex(serviceClient.getSecretHash()),
+                    ServiceClientPrincipal.parseScopes(serviceClient.getScopes()), serviceClient.isEnabled());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.foodorder.usermanagement.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.introspection")
+public class TokenIntrospectionProperties {
+
+    /** Tokens per introspection request. */
+    private int maxTokens = 100;
+
+    /** Unverified tokens in one request from which signatures are checked in parallel. */
+    private int parallelThreshold = 16;
+
+    /** Threads checking signatures for large requests. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Verified tokens remembered, so repeat checks skip the signature. */
+    private long cacheSize = 100_000;
+
+    /** Upper bound on how long a verified token is remembered; never past its expiry. */
+    private Duration cacheTtl = Duration.ofMinutes(10);
+}
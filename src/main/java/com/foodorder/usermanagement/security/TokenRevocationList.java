@@ -0,0 +1,104 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked before their expiry. Revocations are written to {@code revoked_tokens}
+ * and held in memory until the token would have expired anyway, so checking a token is a map
+ * lookup. Each instance polls for rows written by the others, so a logout elsewhere takes
+ * effect here within {@code refresh-interval-ms}.
+ *
+ * <p>Polls are keyed on the writing transaction's id, not a timestamp: each one reads the rows
+ * of every transaction not yet finished at the previous poll, which the database reports along
+ * with the rows, so no instance's clock is involved.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements CheckpointParticipant {
+
+    // The horizon is taken from the same snapshot that reads the rows, and comes back even with none
+    private static final String POLL = """
+            WITH horizon AS (
+                SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) AS tx_id
+            )
+            SELECT h.tx_id, r.token_hash, r.expires_at
+            FROM horizon h
+            LEFT JOIN revoked_tokens r ON r.tx_id >= ? AND r.expires_at > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Token hash to expiry
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    // Oldest transaction still running at the last poll; rows from older ones have all been read
+    private volatile long pollHorizon;
+
+    public TokenRevocationList(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        Gauge.builder("users.revoked_tokens", revoked, Map::size).register(meterRegistry);
+    }
+
+    public void revoke(String token, Instant expiresAt) {
+        String hash = hash(token);
+        jdbcTemplate.update("INSERT INTO revoked_tokens (token_hash, expires_at, revoked_at) VALUES (?, ?, ?) "
+                + "ON CONFLICT DO NOTHING", hash, Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+        revoked.put(hash, expiresAt);
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.containsKey(hash(token));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        long[] horizon = {pollHorizon};
+        // The first poll, from horizon 0, loads every revocation still in force
+        jdbcTemplate.query(POLL, (RowCallbackHandler) row -> {
+            horizon[0] = row.getLong(1);
+            if (row.getString(2) != null) {
+                revoked.put(row.getString(2), row.getTimestamp(3).toInstant());
+            }
+        }, pollHorizon, Timestamp.from(now));
+        pollHorizon = horizon[0];
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    // Logouts while the image was stored must be in force before the first request, not a poll later
+    @Override
+    public void afterRestore() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${app.auth.revocation.cleanup-cron:0 15 * * * *}", zone = "${app.auth.revocation.zone:UTC}")
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", Timestamp.from(Instant.now()));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired token revocations", deleted);
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of what authentication and authorization need from a {@link User}. It
+ * holds no reference to the entity, so it can be shared between threads and outlive the
+ * persistence context it was read in.
+ *
+ * <p>Access tokens carry the same snapshot as claims, so a principal can also be rebuilt from a
+ * token alone. Such a principal is only as current as the token, and has no password. Tokens
+ * are only issued to enabled users, so it is taken to be enabled.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String FIRST_NAME_CLAIM = "given_name";
+    public static final String LAST_NAME_CLAIM = "family_name";
+    public static final String SELLER_CLAIM = "seller";
+
+    private static final String ADMIN = Role.RoleType.ROLE_ADMIN.name();
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final boolean seller;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    private UserPrincipal(Long id, String email, String password, String firstName, String lastName, boolean seller,
+                          boolean enabled, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.seller = seller;
+        this.enabled = enabled;
+        this.authorities = authorities;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getFirstName(),
+                user.getLastName(), user.isSeller(), user.isEnabled(),
+                user.getRoles().stream()
+                        .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.getName().name()))
+                        .toList());
+    }
+
+    /**
+     * @return empty for tokens issued before they carried the profile claims
+     */
+    public static Optional<UserPrincipal> fromClaims(Claims claims) {
+        Long id = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (id == null || roles == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserPrincipal(id, claims.getSubject(), null, claims.get(FIRST_NAME_CLAIM, String.class),
+                claims.get(LAST_NAME_CLAIM, String.class), Boolean.TRUE.equals(claims.get(SELLER_CLAIM, Boolean.class)), true,
+                roles.stream().<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString())).toList()));
+    }
+
+    public Map<String, Object> toClaims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(USER_ID_CLAIM, id);
+        claims.put(ROLES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        claims.put(FIRST_NAME_CLAIM, firstName);
+        claims.put(LAST_NAME_CLAIM, lastName);
+        claims.put(SELLER_CLAIM, seller);
+        return claims;
+    }
+
+    public boolean isAdmin() {
+        return authorities.stream().anyMatch(authority -> ADMIN.equals(authority.getAuthority()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
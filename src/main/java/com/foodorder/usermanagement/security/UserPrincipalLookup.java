@@ -0,0 +1,87 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.coalescing.SingleFlight;
+import com.foodorder.usermanagement.datasource.ReplicaLagGuard;
+import com.foodorder.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads users by email for authentication and authorization checks, with concurrent lookups of
+ * the same email sharing one query. Callers get a {@link UserPrincipal} snapshot, never the
+ * entity, so a result read in one caller's transaction is safe to hand to the others.
+ *
+ * <p>Only callers that cannot see uncommitted writes share results: those outside a transaction
+ * or in a read-only one. Inside a read-write transaction the query runs on its own, since it
+ * may have to see what that transaction has written. Callers pinned to the primary by the
+ * {@link ReplicaLagGuard} are coalesced separately from those the replica may serve.
+ */
+@Component
+public class UserPrincipalLookup {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<ReplicaLagGuard> replicaLagGuard;
+    private final SingleFlight<Key, Optional<UserPrincipal>> byEmail;
+    private final Counter bypassed;
+
+    public UserPrincipalLookup(UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<ReplicaLagGuard> replicaLagGuard,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.replicaLagGuard = replicaLagGuard;
+        this.byEmail = new SingleFlight<>("user-by-email", meterRegistry);
+        this.bypassed = meterRegistry.counter(SingleFlight.CALLS, "lookup", "user-by-email", "role", "bypassed");
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            bypassed.increment();
+            return load(email);
+        }
+        // Only the leader opens a transaction, so waiting followers hold no connection
+        return byEmail.execute(new Key(email, isPinnedToPrimary()), () -> readOnlyTransaction.execute(status -> load(email)));
+    }
+
+    /**
+     * Loads many users in one query, without coalescing.
+     *
+     * @return the principals found, keyed by lower-cased email
+     */
+    public Map<String, UserPrincipal> findAllByEmail(Collection<String> emails) {
+        List<String> normalized = emails.stream().map(email -> email.toLowerCase(Locale.ROOT)).distinct().toList();
+        return readOnlyTransaction.execute(status -> userRepository.findAllWithRolesByEmailIn(normalized).stream()
+                .map(UserPrincipal::from)
+                .collect(Collectors.toMap(principal -> principal.getEmail().toLowerCase(Locale.ROOT),
+                        Function.identity(), (first, second) -> first)));
+    }
+
+    private Optional<UserPrincipal> load(String email) {
+        return userRepository.findByEmail(email).map(UserPrincipal::from);
+    }
+
+    private boolean isPinnedToPrimary() {
+        ReplicaLagGuard guard = replicaLagGuard.getIfAvailable();
+        return guard != null && guard.isPinnedToPrimary();
+    }
+
+    private record Key(String email, boolean primary) {
+    }
+}
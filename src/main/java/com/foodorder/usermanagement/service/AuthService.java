@@ -8,4 +8,5 @@ public interface AuthService {
     JwtResponse login(LoginRequest loginRequest);
     JwtResponse register(RegisterRequest registerRequest);
     void logout(String token);
+    boolean isEmailAvailable(String email);
 } 
\ No newline at end of file
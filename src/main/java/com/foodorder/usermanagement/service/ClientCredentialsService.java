@@ -0,0 +1,12 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.request.ServiceClientRequest;
+import com.foodorder.usermanagement.dto.response.ClientTokenResponse;
+import com.foodorder.usermanagement.dto.response.ServiceClientResponse;
+
+public interface ClientCredentialsService {
+    ClientTokenResponse issueToken(String clientId, String clientSecret, String scope);
+    ServiceClientResponse register(ServiceClientRequest request);
+    ServiceClientResponse rotateSecret(String clientId);
+    ServiceClientResponse disable(String clientId);
+}
@@ -0,0 +1,8 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.response.CurrentUserResponse;
+import com.foodorder.usermanagement.security.UserPrincipal;
+
+public interface CurrentUserService {
+    CurrentUserResponse getCurrentUser(UserPrincipal principal);
+}
@@ -0,0 +1,10 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.response.TokenIntrospectionResponse;
+
+import java.util.List;
+
+public interface TokenIntrospectionService {
+    TokenIntrospectionResponse introspect(String token);
+    List<TokenIntrospectionResponse> introspect(List<String> tokens);
+}
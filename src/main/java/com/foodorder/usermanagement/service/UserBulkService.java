@@ -0,0 +1,17 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.request.BulkUserFilter;
+import com.foodorder.usermanagement.model.BulkUserAction;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserBulkService {
+    /**
+     * Applies the action to every matching user, one chunk per transaction. The ids of each
+     * committed chunk are handed to {@code chunkConsumer} before the next chunk starts.
+     *
+     * @return total number of affected users
+     */
+    long apply(BulkUserAction action, BulkUserFilter filter, Consumer<List<Long>> chunkConsumer);
+}
@@ -0,0 +1,11 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+
+public interface UserLookupService {
+    /**
+     * Resolves every requested id and email with one query per key type.
+     */
+    UserBatchLookupResponse lookup(UserBatchLookupRequest request);
+}
@@ -1,8 +1,12 @@
 package com.foodorder.usermanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.foodorder.usermanagement.dto.UserDTO;
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
 import com.foodorder.usermanagement.model.User;
 import java.util.List;
+import java.util.Set;
 
 public interface UserService {
     User getUserById(Long id);
@@ -10,7 +14,12 @@ public interface UserService {
     List<User> getAllUsers();
     List<User> getAllSellers();
     List<User> getAllCustomers();
+    SparseUserResponse getUserById(Long id, Set<UserField> fields);
+    List<SparseUserResponse> getAllUsers(Set<UserField> fields);
+    List<SparseUserResponse> getAllSellers(Set<UserField> fields);
+    List<SparseUserResponse> getAllCustomers(Set<UserField> fields);
     User updateUser(Long id, User userDetails);
+    User patchUser(Long id, JsonNode patch);
     void deleteUser(Long id);
     void changePassword(Long id, String oldPassword, String newPassword);
 } 
\ No newline at end of file
@@ -1,36 +1,53 @@
 package com.foodorder.usermanagement.service.impl;
 
+import com.foodorder.usermanagement.availability.RegisteredEmailFilter;
 import com.foodorder.usermanagement.dto.request.LoginRequest;
 import com.foodorder.usermanagement.dto.request.RegisterRequest;
 import com.foodorder.usermanagement.dto.response.JwtResponse;
 import com.foodorder.usermanagement.exception.ResourceAlreadyExistsException;
+import com.foodorder.usermanagement.mail.EmailQueue;
+import com.foodorder.usermanagement.model.EmailType;
 import com.foodorder.usermanagement.model.Role;
 import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
 import com.foodorder.usermanagement.repository.RoleRepository;
 import com.foodorder.usermanagement.repository.UserRepository;
 import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.TokenRevocationList;
+import com.foodorder.usermanagement.security.UserPrincipal;
 import com.foodorder.usermanagement.service.AuthService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final String BEARER = "Bearer ";
+
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final OutboxRecorder outboxRecorder;
+    private final EmailQueue emailQueue;
+    private final RegisteredEmailFilter registeredEmails;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     public JwtResponse login(LoginRequest loginRequest) {
@@ -41,9 +58,9 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
         
-        User user = (User) authentication.getPrincipal();
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        List<String> roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
         return new JwtResponse(jwt, user.getId(), user.getEmail(), roles);
@@ -52,11 +69,12 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional
     public JwtResponse register(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        // Most signups use a fresh address, which the filter rules out without a query
+        if (registeredEmails.mightContain(registerRequest.getEmail())
+                && userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new ResourceAlreadyExistsException("Email is already taken");
         }
 
-
         User user = new User();
         user.setFirstName(registerRequest.getFirstName());
         user.setLastName(registerRequest.getLastName());
@@ -78,15 +96,42 @@ public class AuthServiceImpl implements AuthService {
         ).orElseThrow(() -> new RuntimeException("Error: Role is not found."));
         
         user.addRole(userRole);
-        userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with another signup, possibly on an instance the filter has not heard from yet
+            throw new ResourceAlreadyExistsException("Email or phone is already taken");
+        }
+        registeredEmails.put(registerRequest.getEmail());
+        outboxRecorder.record(UserEventType.USER_REGISTERED, saved.getId());
+        emailQueue.enqueue(EmailType.WELCOME, registerRequest.getEmail(),
+                Map.of("firstName", registerRequest.getFirstName(), "email", registerRequest.getEmail()));
 
         return login(new LoginRequest(registerRequest.getEmail(), registerRequest.getPassword()));
     }
 
     @Override
     public void logout(String token) {
-        // In a stateless JWT implementation, we don't need to do anything on the server side
-        // The client should remove the token
+        String jwt = token != null && token.startsWith(BEARER) ? token.substring(BEARER.length()) : token;
+        try {
+            // Kept until the token would have expired anyway
+            tokenRevocationList.revoke(jwt, tokenProvider.parseClaims(jwt).getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Not a usable token, so there is nothing to revoke
+        }
         SecurityContextHolder.clearContext();
     }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        if (!registeredEmails.mightContain(email)) {
+            return true;
+        }
+        boolean registered = userRepository.existsByEmail(RegisteredEmailFilter.normalize(email));
+        if (!registered) {
+            registeredEmails.recordFalsePositive();
+        }
+        return !registered;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
+import com.foodorder.usermanagement.dto.request.ServiceClientRequest;
+import com.foodorder.usermanagement.dto.response.ClientTokenResponse;
+import com.foodorder.usermanagement.dto.response.ServiceClientResponse;
+import com.foodorder.usermanagement.exception.ResourceAlreadyExistsException;
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.model.ServiceClient;
+import com.foodorder.usermanagement.repository.ServiceClientRepository;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.ServiceClientPrincipal;
+import com.foodorder.usermanagement.security.ServiceClientProperties;
+import com.foodorder.usermanagement.security.ServiceClientRegistry;
+import com.foodorder.usermanagement.service.ClientCredentialsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Client-credentials grant for registered service clients. Secrets are checked against the
+ * in-memory {@link ServiceClientRegistry}, and a token issued for a client and set of scopes is
+ * handed out again until half its lifetime has passed, so a job fetching a token per run costs
+ * a hash and a cache lookup rather than a signature.
+ */
+@Service
+public class ClientCredentialsServiceImpl implements ClientCredentialsService, CheckpointParticipant {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final ServiceClientRegistry serviceClientRegistry;
+    private final ServiceClientRepository serviceClientRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ServiceClientProperties properties;
+    private final Cache<TokenKey, IssuedToken> issuedTokens;
+
+    public ClientCredentialsServiceImpl(ServiceClientRegistry serviceClientRegistry,
+                                        ServiceClientRepository serviceClientRepository,
+                                        JwtTokenProvider jwtTokenProvider,
+                                        ServiceClientProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.serviceClientRegistry = serviceClientRegistry;
+        this.serviceClientRepository = serviceClientRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.properties = properties;
+        this.issuedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getTokenCacheSize())
+                .expireAfterWrite(properties.getTokenTtl().dividedBy(2))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, issuedTokens, "client-tokens");
+    }
+
+    @Override
+    public ClientTokenResponse issueToken(String clientId, String clientSecret, String scope) {
+        ServiceClientRegistry.Client client = serviceClientRegistry.authenticate(clientId, clientSecret);
+        // No scope asks for everything the client is allowed
+        Set<String> scopes = scope == null || scope.isBlank() ? client.scopes() : ServiceClientPrincipal.parseScopes(scope);
+        if (!client.scopes().containsAll(scopes)) {
+            throw new IllegalArgumentException("Scope not allowed for this client: " + scope);
+        }
+        IssuedToken issued = issuedTokens.get(new TokenKey(client.clientId(), scopes), this::issue);
+        long expiresIn = Math.max(0, Duration.between(Instant.now(), issued.expiresAt()).toSeconds());
+        return new ClientTokenResponse(issued.token(), TOKEN_TYPE, expiresIn, ServiceClientPrincipal.formatScopes(scopes));
+    }
+
+    @Override
+    @Transactional
+    public ServiceClientResponse register(ServiceClientRequest request) {
+        Set<String> scopes = ServiceClientPrincipal.parseScopes(String.join(" ", request.getScopes()));
+        if (serviceClientRepository.findByClientId(request.getClientId()).isPresent()) {
+            throw new ResourceAlreadyExistsException("Service client already exists: " + request.getClientId());
+        }
+        String secret = serviceClientRegistry.newSecret();
+        ServiceClient serviceClient = new ServiceClient();
+        serviceClient.setClientId(request.getClientId());
+        serviceClient.setSecretHash(serviceClientRegistry.hashToHex(secret));
+        serviceClient.setScopes(ServiceClientPrincipal.formatScopes(scopes));
+        serviceClientRegistry.put(serviceClientRepository.save(serviceClient));
+        return toResponse(serviceClient, secret);
+    }
+
+    @Override
+    @Transactional
+    public ServiceClientResponse rotateSecret(String clientId) {
+        ServiceClient serviceClient = find(clientId);
+        String secret = serviceClientRegistry.newSecret();
+        serviceClient.setSecretHash(serviceClientRegistry.hashToHex(secret));
+        serviceClientRegistry.put(serviceClientRepository.save(serviceClient));
+        // The old secret's cached tokens are not handed out again
+        forgetIssuedTokens(clientId);
+        return toResponse(serviceClient, secret);
+    }
+
+    @Override
+    @Transactional
+    public ServiceClientResponse disable(String clientId) {
+        ServiceClient serviceClient = find(clientId);
+        serviceClient.setEnabled(false);
+        serviceClientRegistry.put(serviceClientRepository.save(serviceClient));
+        // Tokens already issued stop authenticating once the registry sees the client disabled
+        forgetIssuedTokens(clientId);
+        return toResponse(serviceClient, null);
+    }
+
+    // Issued before the checkpoint, so possibly expired by the time the image is restored
+    @Override
+    public void beforeCheckpoint() {
+        issuedTokens.invalidateAll();
+    }
+
+    private IssuedToken issue(TokenKey key) {
+        Instant expiresAt = Instant.now().plus(properties.getTokenTtl());
+        return new IssuedToken(jwtTokenProvider.generateClientToken(key.clientId(), key.scopes(), expiresAt), expiresAt);
+    }
+
+    // After the registry has taken in the change, so a request in between cannot cache a token again
+    private void forgetIssuedTokens(String clientId) {
+        Runnable forget = () -> issuedTokens.asMap().keySet().removeIf(key -> key.clientId().equals(clientId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget.run();
+                }
+            });
+        } else {
+            forget.run();
+        }
+    }
+
+    private ServiceClient find(String clientId) {
+        return serviceClientRepository.findByClientId(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service client not found: " + clientId));
+    }
+
+    private static ServiceClientResponse toResponse(ServiceClient serviceClient, String secret) {
+        return new ServiceClientResponse(serviceClient.getClientId(),
+                ServiceClientPrincipal.parseScopes(serviceClient.getScopes()), serviceClient.isEnabled(), secret);
+    }
+
+    private record TokenKey(String clientId, Set<String> scopes) {
+    }
+
+    private record IssuedToken(String token, Instant expiresAt) {
+    }
+}
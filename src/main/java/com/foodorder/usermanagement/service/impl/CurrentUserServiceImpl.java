@@ -0,0 +1,40 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.foodorder.usermanagement.dto.response.CurrentUserResponse;
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipalLookup;
+import com.foodorder.usermanagement.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves {@code GET /users/me} from the principal the filter authenticated. By default that
+ * principal is rebuilt from the token's claims, so the answer takes no query at all; with
+ * {@code fresh=true} the filter has already loaded the user's current, enabled principal from the
+ * database, and the answer is built from that.
+ *
+ * <p>The claims-only answer does not look at the user: someone deleted or disabled since the
+ * token was issued still gets their profile back until the token expires or is revoked. It
+ * grants nothing else, since every other endpoint loads the user; callers that must not answer
+ * for disabled users ask with {@code fresh=true}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    private final UserPrincipalLookup userPrincipalLookup;
+
+    @Override
+    public CurrentUserResponse getCurrentUser(UserPrincipal principal) {
+        if (principal.getFirstName() != null) {
+            return CurrentUserResponse.from(principal);
+        }
+        // Tokens from before the profile claims fall back to the database
+        return userPrincipalLookup.findByEmail(principal.getEmail())
+                .filter(user -> user.getId().equals(principal.getId()))
+                .filter(UserPrincipal::isEnabled)
+                .map(CurrentUserResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
+    }
+}
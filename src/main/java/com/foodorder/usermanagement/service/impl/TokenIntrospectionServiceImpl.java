@@ -0,0 +1,226 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.foodorder.usermanagement.checkpoint.CheckpointParticipant;
+import com.foodorder.usermanagement.dto.response.TokenIntrospectionResponse;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.ServiceClientPrincipal;
+import com.foodorder.usermanagement.security.ServiceClientRegistry;
+import com.foodorder.usermanagement.security.TokenIntrospectionProperties;
+import com.foodorder.usermanagement.security.TokenRevocationList;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipalLookup;
+import com.foodorder.usermanagement.service.TokenIntrospectionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers whether tokens are active, cheapest checks first. Signatures are verified once per
+ * token and remembered until the token expires, so a gateway re-checking the same tokens pays
+ * for a cache lookup. Expired and revoked tokens are answered from memory; only tokens still
+ * active reach the database, to resolve their subject to the user's current id and roles, so
+ * role changes and deletions take effect before the token expires. Service-client tokens are
+ * answered from their claims and the in-memory client index.
+ *
+ * <p>Large batches verify their uncached signatures in parallel on a small dedicated pool.
+ */
+@Service
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService, CheckpointParticipant {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList revocations;
+    private final UserPrincipalLookup userPrincipalLookup;
+    private final ServiceClientRegistry serviceClientRegistry;
+    private final TokenIntrospectionProperties properties;
+    private final Cache<String, VerifiedToken> verified;
+    private final ExecutorService verifyExecutor;
+
+    public TokenIntrospectionServiceImpl(JwtTokenProvider jwtTokenProvider,
+                                         TokenRevocationList revocations,
+                                         UserPrincipalLookup userPrincipalLookup,
+                                         ServiceClientRegistry serviceClientRegistry,
+                                         TokenIntrospectionProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revocations = revocations;
+        this.userPrincipalLookup = userPrincipalLookup;
+        this.serviceClientRegistry = serviceClientRegistry;
+        this.properties = properties;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfter(new UntilExpiry(properties.getCacheTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+        AtomicInteger threads = new AtomicInteger();
+        this.verifyExecutor = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "token-verify-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public TokenIntrospectionResponse introspect(String token) {
+        VerifiedToken verifiedToken = verify(token);
+        if (!isUsable(token, verifiedToken, Instant.now())) {
+            return TokenIntrospectionResponse.inactive();
+        }
+        if (verifiedToken.client() != null) {
+            return TokenIntrospectionResponse.active(verifiedToken.client(), verifiedToken.expiresAt());
+        }
+        return userPrincipalLookup.findByEmail(verifiedToken.subject())
+                .filter(UserPrincipal::isEnabled)
+                .map(principal -> TokenIntrospectionResponse.active(principal, verifiedToken.expiresAt()))
+                .orElseGet(TokenIntrospectionResponse::inactive);
+    }
+
+    @Override
+    public List<TokenIntrospectionResponse> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new IllegalArgumentException("At least one token is required");
+        }
+        if (tokens.size() > properties.getMaxTokens()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxTokens() + " tokens can be introspected at once");
+        }
+        Map<String, VerifiedToken> verifiedTokens = verifyAll(new LinkedHashSet<>(tokens));
+
+        Instant now = Instant.now();
+        Set<String> subjects = new LinkedHashSet<>();
+        verifiedTokens.forEach((token, verifiedToken) -> {
+            if (verifiedToken.client() == null && isUsable(token, verifiedToken, now)) {
+                subjects.add(verifiedToken.subject());
+            }
+        });
+        Map<String, UserPrincipal> principals = subjects.isEmpty() ? Map.of() : userPrincipalLookup.findAllByEmail(subjects);
+
+        List<TokenIntrospectionResponse> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            VerifiedToken verifiedToken = verifiedTokens.get(token);
+            if (verifiedToken.client() != null) {
+                results.add(isUsable(token, verifiedToken, now)
+                        ? TokenIntrospectionResponse.active(verifiedToken.client(), verifiedToken.expiresAt())
+                        : TokenIntrospectionResponse.inactive());
+                continue;
+            }
+            UserPrincipal principal = isUsable(token, verifiedToken, now)
+                    ? principals.get(verifiedToken.subject().toLowerCase(Locale.ROOT))
+                    : null;
+            results.add(principal == null || !principal.isEnabled()
+                    ? TokenIntrospectionResponse.inactive()
+                    : TokenIntrospectionResponse.active(principal, verifiedToken.expiresAt()));
+        }
+        return results;
+    }
+
+    // Signature checks are cheap to redo; the claims they cached must not outlive the image
+    @Override
+    public void beforeCheckpoint() {
+        verified.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifyExecutor.shutdownNow();
+    }
+
+    private Map<String, VerifiedToken> verifyAll(Set<String> tokens) {
+        Map<String, VerifiedToken> results = new HashMap<>(tokens.size() * 2);
+        List<String> unverified = new ArrayList<>();
+        for (String token : tokens) {
+            VerifiedToken cached = token == null ? VerifiedToken.INVALID : verified.getIfPresent(token);
+            if (cached != null) {
+                results.put(token, cached);
+            } else {
+                unverified.add(token);
+            }
+        }
+        if (unverified.size() < properties.getParallelThreshold()) {
+            unverified.forEach(token -> results.put(token, verify(token)));
+            return results;
+        }
+        int chunkSize = (unverified.size() + properties.getParallelism() - 1) / properties.getParallelism();
+        List<CompletableFuture<List<VerifiedToken>>> chunks = new ArrayList<>();
+        for (int from = 0; from < unverified.size(); from += chunkSize) {
+            List<String> chunk = unverified.subList(from, Math.min(from + chunkSize, unverified.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> chunk.stream().map(this::verify).toList(), verifyExecutor));
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            List<VerifiedToken> chunkResults = chunks.get(i).join();
+            for (int j = 0; j < chunkResults.size(); j++) {
+                results.put(unverified.get(i * chunkSize + j), chunkResults.get(j));
+            }
+        }
+        return results;
+    }
+
+    private VerifiedToken verify(String token) {
+        if (token == null) {
+            return VerifiedToken.INVALID;
+        }
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Not cached, so junk cannot push out real tokens
+            return VerifiedToken.INVALID;
+        }
+        VerifiedToken verifiedToken = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(),
+                claims.containsKey(ServiceClientPrincipal.CLIENT_ID_CLAIM) ? ServiceClientPrincipal.from(claims) : null);
+        verified.put(token, verifiedToken);
+        return verifiedToken;
+    }
+
+    private boolean isUsable(String token, VerifiedToken verifiedToken, Instant now) {
+        return verifiedToken.subject() != null && verifiedToken.expiresAt().isAfter(now) && !revocations.isRevoked(token)
+                && (verifiedToken.client() == null || serviceClientRegistry.isEnabled(verifiedToken.client().getClientId()));
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt, ServiceClientPrincipal client) {
+        static final VerifiedToken INVALID = new VerifiedToken(null, Instant.EPOCH, null);
+    }
+
+    // Remembered for the ttl, or until the token expires if that is sooner
+    private record UntilExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verifiedToken, long currentTime) {
+            long untilExpiry = Duration.between(Instant.now(), verifiedToken.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, ttl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
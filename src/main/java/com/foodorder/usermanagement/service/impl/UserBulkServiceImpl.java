@@ -0,0 +1,154 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.foodorder.usermanagement.dto.request.BulkUserFilter;
+import com.foodorder.usermanagement.model.BulkUserAction;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
+import com.foodorder.usermanagement.repository.RefreshTokenRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserBulkService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Walks the matching users in id order and changes them with set-based statements, a bounded
+ * chunk per transaction so row locks are held only briefly. Chunks that committed stay
+ * committed if a later one fails; running the same request again picks up where it stopped,
+ * because users already in the target state no longer match.
+ */
+@Slf4j
+@Service
+public class UserBulkServiceImpl implements UserBulkService {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final OutboxRecorder outboxRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserBulkServiceImpl(UserRepository userRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               OutboxRecorder outboxRecorder,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.users.bulk.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.outboxRecorder = outboxRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long apply(BulkUserAction action, BulkUserFilter filter, Consumer<List<Long>> chunkConsumer) {
+        if (filter == null || !filter.hasCriteria()) {
+            throw new IllegalArgumentException("At least one filter criterion is required");
+        }
+        long total = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            long after = afterId;
+            ids = transactionTemplate.execute(status -> applyChunk(action, filter, after));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            chunkConsumer.accept(ids);
+        } while (ids.size() == chunkSize);
+
+        log.info("Bulk {} affected {} users", action, total);
+        return total;
+    }
+
+    private List<Long> applyChunk(BulkUserAction action, BulkUserFilter filter, long afterId) {
+        List<Long> ids = selectChunk(action, filter, afterId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (action.revokesTokens()) {
+            refreshTokenRepository.deleteByUserIds(ids);
+        }
+        switch (action) {
+            case ENABLE -> userRepository.bulkSetEnabled(ids, true, now);
+            case DISABLE -> userRepository.bulkSetEnabled(ids, false, now);
+            case ACTIVATE -> userRepository.bulkSetActive(ids, true, now);
+            case DEACTIVATE -> userRepository.bulkSetActive(ids, false, now);
+            case DELETE -> userRepository.bulkSoftDelete(ids, now);
+        }
+        outboxRecorder.recordAll(UserEventType.of(action), ids);
+        return ids;
+    }
+
+    // Keyset page over the primary key; rows already in the target state are skipped
+    private List<Long> selectChunk(BulkUserAction action, BulkUserFilter filter, long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(user.get("id"), afterId));
+        switch (action) {
+            case ENABLE -> predicates.add(cb.isFalse(user.get("enabled")));
+            case DISABLE -> predicates.add(cb.isTrue(user.get("enabled")));
+            case ACTIVATE -> predicates.add(cb.isFalse(user.get("isActive")));
+            case DEACTIVATE -> predicates.add(cb.isTrue(user.get("isActive")));
+            case DELETE -> { }
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(user.get("id").in(filter.getIds()));
+        }
+        if (filter.getSeller() != null) {
+            predicates.add(cb.equal(user.get("isSeller"), filter.getSeller()));
+        }
+        if (filter.getEnabled() != null) {
+            predicates.add(cb.equal(user.get("enabled"), filter.getEnabled()));
+        }
+        if (filter.getActive() != null) {
+            predicates.add(cb.equal(user.get("isActive"), filter.getActive()));
+        }
+        if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+            String domain = filter.getEmailDomain().trim().toLowerCase(Locale.ROOT);
+            predicates.add(cb.like(cb.lower(user.get("email")), "%@" + escapeLike(domain), LIKE_ESCAPE));
+        }
+        if (filter.getCreatedAfter() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.get("createdAt"), filter.getCreatedAfter()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add(cb.lessThan(user.get("createdAt"), filter.getCreatedBefore()));
+        }
+
+        query.select(user.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query).setMaxResults(chunkSize).getResultList();
+    }
+
+    // The domain is matched literally, so a filter for "a_b.com" does not also match "axb.com"
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
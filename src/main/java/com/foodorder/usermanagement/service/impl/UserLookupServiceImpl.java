@@ -0,0 +1,95 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserLookupService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serves batch lookups from other services. Keys are de-duplicated before querying, each key
+ * type is resolved with a single IN query over a projection, and the results are put back in
+ * request order so callers can zip them with their own records.
+ */
+@Service
+public class UserLookupServiceImpl implements UserLookupService {
+
+    private final UserRepository userRepository;
+    private final int maxKeys;
+    private final DistributionSummary batchSizes;
+
+    public UserLookupServiceImpl(UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.users.batch.max-keys:500}") int maxKeys) {
+        this.userRepository = userRepository;
+        this.maxKeys = maxKeys;
+        this.batchSizes = DistributionSummary.builder("users.batch_lookup.keys")
+                .description("Keys per batch lookup request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserBatchLookupResponse lookup(UserBatchLookupRequest request) {
+        int keys = request.keyCount();
+        if (keys == 0) {
+            throw new IllegalArgumentException("At least one id or email is required");
+        }
+        if (keys > maxKeys) {
+            throw new IllegalArgumentException("At most " + maxKeys + " ids and emails can be looked up at once");
+        }
+        batchSizes.record(keys);
+
+        List<UserBatchLookupResponse.Result> results = new ArrayList<>(keys);
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            Map<Long, UserSummary> byId = index(userRepository.findSummariesByIdIn(distinct(request.getIds())),
+                    UserSummary::getId);
+            for (Long id : request.getIds()) {
+                results.add(UserBatchLookupResponse.Result.forId(id, id == null ? null : byId.get(id)));
+            }
+        }
+        if (request.getEmails() != null && !request.getEmails().isEmpty()) {
+            List<String> normalized = request.getEmails().stream().map(UserLookupServiceImpl::normalize).toList();
+            Map<String, UserSummary> byEmail = index(userRepository.findSummariesByEmailIn(distinct(normalized)),
+                    summary -> normalize(summary.getEmail()));
+            for (int i = 0; i < request.getEmails().size(); i++) {
+                String email = normalized.get(i);
+                results.add(UserBatchLookupResponse.Result.forEmail(request.getEmails().get(i),
+                        email == null ? null : byEmail.get(email)));
+            }
+        }
+        return new UserBatchLookupResponse(results);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> Collection<T> distinct(List<T> keys) {
+        LinkedHashSet<T> distinct = new LinkedHashSet<>(keys);
+        distinct.remove(null);
+        return distinct;
+    }
+
+    private static <K> Map<K, UserSummary> index(List<UserSummary> summaries, Function<UserSummary, K> key) {
+        Map<K, UserSummary> index = new HashMap<>(summaries.size() * 2);
+        for (UserSummary summary : summaries) {
+            index.put(key.apply(summary), summary);
+        }
+        return index;
+    }
+}
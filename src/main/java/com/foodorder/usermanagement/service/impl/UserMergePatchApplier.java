@@ -0,0 +1,131 @@
+package com.foodorder.usermanagement.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.User;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Applies an RFC 7396 JSON merge patch to a {@link User}. Only members present in the patch are
+ * touched, {@code null} clears an optional field, and a field is only set when its value
+ * actually changes, so Hibernate's dirty checking sees exactly the patched columns.
+ */
+@Component
+public class UserMergePatchApplier {
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[1-9]\\d{1,14}$");
+
+    private static final Map<String, TextField> TEXT_FIELDS = Map.of(
+            "firstName", new TextField(User::getFirstName, User::setFirstName, 50, true),
+            "lastName", new TextField(User::getLastName, User::setLastName, 50, true),
+            "email", new TextField(User::getEmail, User::setEmail, 100, true),
+            "phone", new TextField(User::getPhone, User::setPhone, 20, true),
+            "businessName", new TextField(User::getBusinessName, User::setBusinessName, 255, false),
+            "businessAddress", new TextField(User::getBusinessAddress, User::setBusinessAddress, 255, false),
+            "upiId", new TextField(User::getUpiId, User::setUpiId, 255, false),
+            "bankAccountNumber", new TextField(User::getBankAccountNumber, User::setBankAccountNumber, 255, false),
+            "bankIfscCode", new TextField(User::getBankIfscCode, User::setBankIfscCode, 255, false));
+
+    private static final Map<String, FlagField> FLAG_FIELDS = Map.of(
+            "enabled", new FlagField(User::isEnabled, User::setEnabled),
+            "seller", new FlagField(User::isSeller, User::setSeller),
+            "active", new FlagField(User::isActive, User::setActive));
+
+    /**
+     * @return whether the patch sets any of the account flags ({@code enabled}, {@code seller},
+     *         {@code active}), which only admins may change
+     */
+    public boolean touchesFlags(JsonNode patch) {
+        return patch != null && patch.isObject() && FLAG_FIELDS.keySet().stream().anyMatch(patch::has);
+    }
+
+    /**
+     * Validates the whole patch before applying any of it.
+     *
+     * @return {@code true} if at least one field changed
+     * @throws IllegalArgumentException if the patch is not an object, names an unknown field,
+     *                                  or carries an invalid value
+     */
+    public boolean apply(User user, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        patch.fields().forEachRemaining(entry -> validate(entry.getKey(), entry.getValue()));
+
+        boolean changed = false;
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            changed |= applyField(user, entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    private void validate(String name, JsonNode value) {
+        TextField text = TEXT_FIELDS.get(name);
+        if (text != null) {
+            if (value.isNull()) {
+                if (text.required()) {
+                    throw new IllegalArgumentException("Field '" + name + "' cannot be removed");
+                }
+                return;
+            }
+            if (!value.isTextual()) {
+                throw new IllegalArgumentException("Field '" + name + "' must be a string");
+            }
+            String textValue = value.textValue();
+            if (text.required() && textValue.isBlank()) {
+                throw new IllegalArgumentException("Field '" + name + "' cannot be blank");
+            }
+            if (textValue.length() > text.maxLength()) {
+                throw new IllegalArgumentException("Field '" + name + "' must be at most " + text.maxLength() + " characters");
+            }
+            if ("email".equals(name) && !EmailValidator.getInstance().isValid(textValue)) {
+                throw new IllegalArgumentException("Invalid email format");
+            }
+            if ("phone".equals(name) && !PHONE_PATTERN.matcher(textValue).matches()) {
+                throw new IllegalArgumentException("Invalid phone number format");
+            }
+            return;
+        }
+        if (FLAG_FIELDS.containsKey(name)) {
+            if (!value.isBoolean()) {
+                throw new IllegalArgumentException("Field '" + name + "' must be a boolean");
+            }
+            return;
+        }
+        throw new IllegalArgumentException("Field '" + name + "' cannot be patched");
+    }
+
+    private boolean applyField(User user, String name, JsonNode value) {
+        TextField text = TEXT_FIELDS.get(name);
+        if (text != null) {
+            String newValue = value.isNull() ? null : value.textValue();
+            if (Objects.equals(text.getter().apply(user), newValue)) {
+                return false;
+            }
+            text.setter().accept(user, newValue);
+            return true;
+        }
+        FlagField flag = FLAG_FIELDS.get(name);
+        boolean newValue = value.booleanValue();
+        if (flag.getter().apply(user) == newValue) {
+            return false;
+        }
+        flag.setter().accept(user, newValue);
+        return true;
+    }
+
+    private record TextField(Function<User, String> getter, BiConsumer<User, String> setter,
+                             int maxLength, boolean required) {
+    }
+
+    private record FlagField(Function<User, Boolean> getter, BiConsumer<User, Boolean> setter) {
+    }
+}
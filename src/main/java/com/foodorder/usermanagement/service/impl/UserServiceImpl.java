@@ -1,12 +1,23 @@
 package com.foodorder.usermanagement.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.foodorder.usermanagement.dto.UserDTO;
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.dto.response.SparseUserResponse;
 import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.mail.EmailQueue;
+import com.foodorder.usermanagement.model.EmailType;
 import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
 import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.retry.RetryOnConflict;
 import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipalLookup;
 import com.foodorder.usermanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -14,54 +25,92 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException;
 import org.apache.commons.validator.routines.EmailValidator;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final DateTimeFormatter CHANGED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserMergePatchApplier mergePatchApplier;
+    private final OutboxRecorder outboxRecorder;
+    private final EmailQueue emailQueue;
+    private final UserPrincipalLookup userPrincipalLookup;
 
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllSellers() {
         return userRepository.findAllSellers();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllCustomers() {
         return userRepository.findAllCustomers();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SparseUserResponse getUserById(Long id, Set<UserField> fields) {
+        return userRepository.findFieldsById(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SparseUserResponse> getAllUsers(Set<UserField> fields) {
+        return userRepository.findFields(null, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SparseUserResponse> getAllSellers(Set<UserField> fields) {
+        return userRepository.findFields(true, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SparseUserResponse> getAllCustomers(Set<UserField> fields) {
+        return userRepository.findFields(false, fields);
+    }
+
     @Override
     @Transactional
+    @RetryOnConflict
     public User updateUser(Long id, User userDetails) {
         // Authorization check: only the user or admin can update
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-            .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        if (!currentUser.getId().equals(id) && !currentUser.getRoles().stream().anyMatch(r -> r.getName().equals("ADMIN"))) {
-            throw new AccessDeniedException("Not authorized to update this user");
-        }
+        boolean admin = requireSelfOrAdmin(id, "Not authorized to update this user").isAdmin();
         // Input validation
         if (userDetails.getEmail() != null && !EmailValidator.getInstance().isValid(userDetails.getEmail())) {
             throw new IllegalArgumentException("Invalid email format");
@@ -77,7 +126,9 @@ public class UserServiceImpl implements UserService {
             user.setFirstName(userDetails.getFirstName());
         }
 
-        user.setLastName(userDetails.getLastName());
+        if (userDetails.getLastName() != null) {
+            user.setLastName(userDetails.getLastName());
+        }
 
         if (userDetails.getEmail() != null) {
             user.setEmail(userDetails.getEmail());
@@ -88,18 +139,21 @@ public class UserServiceImpl implements UserService {
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
-        if (userDetails.isEnabled() != user.isEnabled()) {
-            user.setEnabled(userDetails.isEnabled());
-        }
-        if (userDetails.isSeller() != user.isSeller()) {
-            user.setSeller(userDetails.isSeller());
-        }
-        if (userDetails.isActive() != user.isActive()) {
-            user.setActive(userDetails.isActive());
+        // Account flags are admin-only; a body always carries them, so for anyone else they are ignored
+        if (admin) {
+            if (userDetails.isEnabled() != user.isEnabled()) {
+                user.setEnabled(userDetails.isEnabled());
+            }
+            if (userDetails.isSeller() != user.isSeller()) {
+                user.setSeller(userDetails.isSeller());
+            }
+            if (userDetails.isActive() != user.isActive()) {
+                user.setActive(userDetails.isActive());
+            }
         }
         
         // Update seller-specific fields if user is a seller
-        if (userDetails.isSeller()) {
+        if (user.isSeller()) {
             if (userDetails.getBusinessName() != null) {
                 user.setBusinessName(userDetails.getBusinessName());
             }
@@ -117,36 +171,48 @@ public class UserServiceImpl implements UserService {
             }
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        outboxRecorder.record(UserEventType.USER_UPDATED, saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    @RetryOnConflict
+    public User patchUser(Long id, JsonNode patch) {
+        UserPrincipal currentUser = requireSelfOrAdmin(id, "Not authorized to update this user");
+        if (!currentUser.isAdmin() && mergePatchApplier.touchesFlags(patch)) {
+            throw new AccessDeniedException("Only admins can change enabled, seller or active");
+        }
+        User user = getUserById(id);
+        // Nothing dirty means no UPDATE and no version bump
+        if (!mergePatchApplier.apply(user, patch)) {
+            return user;
+        }
+        User saved = userRepository.save(user);
+        outboxRecorder.record(UserEventType.USER_UPDATED, saved.getId());
+        return saved;
     }
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
         // Authorization check: only the user or admin can delete
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-            .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        if (!currentUser.getId().equals(id) && !currentUser.getRoles().stream().anyMatch(r -> r.getName().equals("ADMIN"))) {
-            throw new AccessDeniedException("Not authorized to delete this user");
-        }
+        requireSelfOrAdmin(id, "Not authorized to delete this user");
         // TODO: Add rate limiting and logging for deleteUser
-        if (!userRepository.existsById(id)) {
+        // Flag flip only; roles, tokens and the row itself are removed by UserPurgeJob
+        if (userRepository.softDelete(id, LocalDateTime.now()) == 0) {
             throw new ResourceNotFoundException("User not found");
         }
-        userRepository.deleteById(id);
+        outboxRecorder.record(UserEventType.USER_DELETED, id);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public void changePassword(Long id, String oldPassword, String newPassword) {
         // Authorization check: only the user or admin can change password
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-            .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        if (!currentUser.getId().equals(id) && !currentUser.getRoles().stream().anyMatch(r -> r.getName().equals("ADMIN"))) {
-            throw new AccessDeniedException("Not authorized to change password for this user");
-        }
+        requireSelfOrAdmin(id, "Not authorized to change password for this user");
         if (newPassword == null || newPassword.length() < 8) {
             throw new IllegalArgumentException("New password must be at least 8 characters");
         }
@@ -157,5 +223,28 @@ public class UserServiceImpl implements UserService {
         }
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        outboxRecorder.record(UserEventType.USER_PASSWORD_CHANGED, id);
+        emailQueue.enqueue(EmailType.PASSWORD_CHANGED, user.getEmail(), Map.of(
+                "firstName", user.getFirstName(),
+                "email", user.getEmail(),
+                "changedAt", CHANGED_AT_FORMAT.format(OffsetDateTime.now(ZoneOffset.UTC))));
+    }
+
+    private UserPrincipal requireSelfOrAdmin(Long id, String message) {
+        UserPrincipal currentUser = currentUser();
+        if (!currentUser.getId().equals(id) && !currentUser.isAdmin()) {
+            throw new AccessDeniedException(message);
+        }
+        return currentUser;
+    }
+
+    // The JWT filter has already loaded the caller, so only other authentications need a lookup
+    private UserPrincipal currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        return userPrincipalLookup.findByEmail(authentication.getName())
+            .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
     }
 } 
\ No newline at end of file
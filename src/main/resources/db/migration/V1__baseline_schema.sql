@@ -0,0 +1,63 @@
+-- Baseline schema, equivalent to what Hibernate generated under ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    CONSTRAINT uk_roles_name UNIQUE (name),
+    CONSTRAINT ck_roles_name CHECK (name IN ('ROLE_CUSTOMER', 'ROLE_SELLER', 'ROLE_ADMIN'))
+);
+
+CREATE TABLE users (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6) NOT NULL,
+    version             BIGINT,
+    first_name          VARCHAR(50)  NOT NULL,
+    last_name           VARCHAR(50)  NOT NULL,
+    email               VARCHAR(100) NOT NULL,
+    phone               VARCHAR(20)  NOT NULL,
+    password            VARCHAR(120) NOT NULL,
+    enabled             BOOLEAN      NOT NULL,
+    is_seller           BOOLEAN      NOT NULL,
+    is_active           BOOLEAN      NOT NULL,
+    business_name       VARCHAR(255),
+    business_address    VARCHAR(255),
+    upi_id              VARCHAR(255),
+    bank_account_number VARCHAR(255),
+    bank_ifsc_code      VARCHAR(255),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_phone UNIQUE (phone)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE refresh_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT,
+    user_id     BIGINT,
+    token       VARCHAR(255) NOT NULL,
+    expiry_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked     BOOLEAN NOT NULL,
+    CONSTRAINT uk_refresh_tokens_user_id UNIQUE (user_id),
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO roles (created_at, updated_at, version, name, description)
+VALUES (now(), now(), 0, 'ROLE_CUSTOMER', 'Customer placing orders'),
+       (now(), now(), 0, 'ROLE_SELLER', 'Seller fulfilling orders'),
+       (now(), now(), 0, 'ROLE_ADMIN', 'Platform administrator')
+ON CONFLICT (name) DO NOTHING;
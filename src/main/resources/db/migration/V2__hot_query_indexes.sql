@@ -0,0 +1,39 @@
+-- Indexes for the queries issued by UserRepository and RefreshTokenRepository.
+-- refresh_tokens.user_id and refresh_tokens.token are already covered by their unique constraints.
+
+-- findAllSellers / findAllCustomers: one small partial index per population instead of
+-- a low-selectivity index on the boolean column.
+CREATE INDEX ix_users_sellers ON users (id) WHERE is_seller;
+CREATE INDEX ix_users_customers ON users (id) WHERE NOT is_seller;
+
+-- findByEmail / existsByEmail compare on lower(email); unique so that logins cannot
+-- resolve to two accounts differing only by case.
+--
+-- The email column was only unique as typed, so accounts differing by case can already
+-- exist. They have to be merged or renamed by hand first, since either account may be the
+-- one in use; the migration stops and lists them rather than failing on the index. Find
+-- them with:
+--   SELECT lower(email), array_agg(id ORDER BY id) FROM users GROUP BY 1 HAVING count(*) > 1;
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(format('%s (ids %s)', email, ids), '; ')
+    INTO duplicates
+    FROM (
+        SELECT lower(email) AS email, string_agg(id::text, ', ' ORDER BY id) AS ids
+        FROM users
+        GROUP BY lower(email)
+        HAVING count(*) > 1
+        ORDER BY lower(email)
+        LIMIT 20
+    ) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'users has emails differing only by case; resolve them before migrating: %', duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users (lower(email));
+
+-- deleteExpiredTokens range scan.
+CREATE INDEX ix_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
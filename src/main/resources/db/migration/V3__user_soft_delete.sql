@@ -0,0 +1,35 @@
+-- Soft delete: users are flagged with deleted_at on the request path and hard-deleted later
+-- by the purge job. Uniqueness only applies to live rows, so a deleted user's email and
+-- phone can be registered again before the purge has run.
+
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP(6);
+
+-- Databases baselined from a Hibernate-generated schema carry generated constraint names,
+-- so every unique constraint on users (email, phone) is dropped by lookup.
+DO $$
+DECLARE
+    constraint_name text;
+BEGIN
+    FOR constraint_name IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_class rel ON rel.oid = con.conrelid
+        WHERE rel.relname = 'users'
+          AND rel.relnamespace = current_schema()::regnamespace
+          AND con.contype = 'u'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+DROP INDEX ux_users_email_lower;
+CREATE UNIQUE INDEX ux_users_email_lower ON users (lower(email)) WHERE deleted_at IS NULL;
+CREATE UNIQUE INDEX ux_users_phone ON users (phone) WHERE deleted_at IS NULL;
+
+DROP INDEX ix_users_sellers;
+DROP INDEX ix_users_customers;
+CREATE INDEX ix_users_sellers ON users (id) WHERE is_seller AND deleted_at IS NULL;
+CREATE INDEX ix_users_customers ON users (id) WHERE NOT is_seller AND deleted_at IS NULL;
+
+-- Purge candidates; stays tiny because purged rows leave the index.
+CREATE INDEX ix_users_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,56 @@
+-- Vertical split: seller-only columns move out of users into seller_profiles, referenced by
+-- users.seller_profile_id. Customers carry no profile row, and the users row used by the
+-- auth path loses five wide, mostly-null columns.
+
+CREATE TABLE seller_profiles (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6) NOT NULL,
+    version             BIGINT,
+    business_name       VARCHAR(255),
+    business_address    VARCHAR(255),
+    upi_id              VARCHAR(255),
+    bank_account_number VARCHAR(255),
+    bank_ifsc_code      VARCHAR(255)
+);
+
+ALTER TABLE users ADD COLUMN seller_profile_id BIGINT;
+
+-- Profile ids are drawn up front so each user can be pointed at its new row in one pass;
+-- the CTE is referenced twice and therefore evaluated once.
+WITH moved AS (
+    SELECT id AS user_id,
+           nextval(pg_get_serial_sequence('seller_profiles', 'id')) AS profile_id,
+           business_name, business_address, upi_id, bank_account_number, bank_ifsc_code
+    FROM users
+    WHERE business_name IS NOT NULL
+       OR business_address IS NOT NULL
+       OR upi_id IS NOT NULL
+       OR bank_account_number IS NOT NULL
+       OR bank_ifsc_code IS NOT NULL
+), inserted AS (
+    INSERT INTO seller_profiles (id, created_at, updated_at, version, business_name, business_address,
+                                 upi_id, bank_account_number, bank_ifsc_code)
+    SELECT profile_id, now(), now(), 0, business_name, business_address,
+           upi_id, bank_account_number, bank_ifsc_code
+    FROM moved
+)
+UPDATE users u
+SET seller_profile_id = moved.profile_id
+FROM moved
+WHERE u.id = moved.user_id;
+
+ALTER TABLE users
+    ADD CONSTRAINT fk_users_seller_profile FOREIGN KEY (seller_profile_id) REFERENCES seller_profiles (id);
+
+-- One profile per user; also serves the FK check when a profile is deleted.
+CREATE UNIQUE INDEX ux_users_seller_profile_id ON users (seller_profile_id) WHERE seller_profile_id IS NOT NULL;
+
+-- Dropped columns stay in existing tuples until they are rewritten; run VACUUM FULL (or
+-- pg_repack) on users after this migration to reclaim the space of existing seller rows.
+ALTER TABLE users
+    DROP COLUMN business_name,
+    DROP COLUMN business_address,
+    DROP COLUMN upi_id,
+    DROP COLUMN bank_account_number,
+    DROP COLUMN bank_ifsc_code;
@@ -0,0 +1,27 @@
+-- Transactional outbox for user lifecycle events. Rows are written in the same transaction
+-- as the change they describe and relayed to sinks in (tx_id, id) order.
+--
+-- tx_id is the writing transaction's id. The relay only reads rows whose transaction is
+-- older than the oldest one still running (pg_snapshot_xmin), so a transaction that commits
+-- late can never hold an event behind an offset that has already moved past it.
+
+CREATE TABLE outbox_events (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tx_id          BIGINT       NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   BIGINT       NOT NULL,
+    event_type     VARCHAR(50)  NOT NULL,
+    payload        TEXT         NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX ix_outbox_events_position ON outbox_events (tx_id, id);
+CREATE INDEX ix_outbox_events_created_at ON outbox_events (created_at);
+
+-- Last relayed position per sink; resetting it replays the stream from that point.
+CREATE TABLE outbox_offsets (
+    sink          VARCHAR(100) PRIMARY KEY,
+    last_tx_id    BIGINT       NOT NULL,
+    last_event_id BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,21 @@
+-- Outgoing account emails. Rows are written in the same transaction as the change that
+-- triggers them and sent by EmailDispatcher after commit, so a rolled-back change never
+-- sends mail and a crash before sending only delays it.
+
+CREATE TABLE email_queue (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email_type      VARCHAR(50)   NOT NULL,
+    recipient       VARCHAR(255)  NOT NULL,
+    model           TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6)
+);
+
+-- Dispatcher claims due messages in this order
+CREATE INDEX ix_email_queue_due ON email_queue (next_attempt_at, id) WHERE status = 'PENDING';
+-- Cleanup of sent and given-up messages
+CREATE INDEX ix_email_queue_finished ON email_queue (created_at) WHERE status <> 'PENDING';
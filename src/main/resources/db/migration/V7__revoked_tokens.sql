@@ -0,0 +1,14 @@
+-- Access tokens revoked before they expire, such as on logout, keyed by the SHA-256 of the
+-- token so no usable token is stored. Every instance keeps the unexpired rows in memory and
+-- polls for new ones, so revocation checks never query this table.
+
+CREATE TABLE revoked_tokens (
+    token_hash  CHAR(64)      PRIMARY KEY,
+    expires_at  TIMESTAMP(6)  NOT NULL,
+    revoked_at  TIMESTAMP(6)  NOT NULL
+);
+
+-- Polling for revocations made on other instances
+CREATE INDEX ix_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+-- Cleanup once the tokens have expired anyway
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
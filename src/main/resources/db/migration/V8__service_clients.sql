@@ -0,0 +1,16 @@
+-- Registered machine callers for the client-credentials grant. Secrets are random 256-bit
+-- values, so they are stored as a keyed HMAC-SHA256 rather than a slow password hash; every
+-- instance keeps this table in memory and checks secrets without querying it.
+
+CREATE TABLE service_clients (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    version      BIGINT,
+    client_id    VARCHAR(64)  NOT NULL,
+    secret_hash  VARCHAR(64)  NOT NULL,
+    -- Space-separated, as in the token's scope claim
+    scopes       VARCHAR(255) NOT NULL,
+    enabled      BOOLEAN      NOT NULL,
+    CONSTRAINT uk_service_clients_client_id UNIQUE (client_id)
+);
@@ -0,0 +1,10 @@
+-- Revocations are polled by writing transaction rather than by revoked_at, which comes from
+-- the writing instance's clock. As for outbox_events, a poll reads everything from the oldest
+-- transaction still running at the previous poll (pg_snapshot_xmin) onwards, so a row is never
+-- missed however far the instances' clocks drift or however late it commits.
+
+ALTER TABLE revoked_tokens
+    ADD COLUMN tx_id BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint;
+
+DROP INDEX ix_revoked_tokens_revoked_at;
+CREATE INDEX ix_revoked_tokens_tx_id ON revoked_tokens (tx_id);
@@ -0,0 +1,66 @@
+package com.foodorder.usermanagement.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED = 100_000;
+
+    @Test
+    @DisplayName("Every key put is reported as possibly present")
+    void put_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(EXPECTED, 0.01);
+
+        for (int i = 0; i < EXPECTED; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < EXPECTED; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("At the expected size, absent keys test positive at about the configured rate")
+    void mightContain_StaysWithinFalsePositiveBudget() {
+        BloomFilter filter = BloomFilter.create(EXPECTED, 0.01);
+        for (int i = 0; i < EXPECTED; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < EXPECTED; i++) {
+            if (filter.mightContain("absent" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        double observed = falsePositives / (double) EXPECTED;
+        assertTrue(observed < 0.015, "Observed false-positive rate " + observed);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.003);
+        assertEquals(EXPECTED, filter.approximateElementCount(), EXPECTED * 0.02);
+    }
+
+    @Test
+    @DisplayName("Size follows the standard formulas")
+    void create_SizesFromBudget() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        assertEquals(9_585_059, filter.bitCount());
+        assertEquals(7, filter.hashCount());
+        assertEquals(1_198_136, filter.memoryBytes());
+    }
+
+    @Test
+    @DisplayName("Putting a key twice leaves the filter unchanged")
+    void put_IsIdempotent() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertTrue(filter.put("a@example.com"));
+        assertFalse(filter.put("a@example.com"));
+        assertEquals(1, filter.approximateElementCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.foodorder.usermanagement.availability;
+
+import com.foodorder.usermanagement.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ClientRateLimiter limiter = new ClientRateLimiter(30, 3, 2, now::get);
+
+    @Test
+    @DisplayName("A client may burst, is then throttled and regains tokens at the sustained rate")
+    void acquire_ThrottlesAfterBurst() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0.1");
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1"));
+        assertEquals(2, ex.getRetryAfterSeconds());
+
+        // Other clients have their own allowance
+        limiter.acquire("10.0.0.2");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.acquire("10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Clients beyond the cap share one bucket until idle buckets are evicted")
+    void acquire_CapsTrackedClients() {
+        limiter.acquire("10.0.0.1");
+        limiter.acquire("10.0.0.2");
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0." + (10 + i));
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.99"));
+        assertEquals(3, limiter.trackedClients());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        limiter.evictIdle();
+
+        assertEquals(0, limiter.trackedClients());
+        limiter.acquire("10.0.0.99");
+    }
+}
@@ -0,0 +1,165 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.proto.UserProtoMapper;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.Jwt;
+import com.foodorder.usermanagement.proto.v1.User;
+import com.google.protobuf.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the user, token and batch lookup responses as JSON, CBOR and
+ * protobuf, the way the converters do it: Jackson from the DTO, protobuf through
+ * {@link UserProtoMapper}. Decoding reads a JSON or CBOR tree and parses the protobuf message,
+ * which is what a client without the DTO classes does. Run through {@link BinaryFormatBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    public static final int BATCH_SIZE = 50;
+
+    @Param({"json", "cbor", "protobuf"})
+    public String format;
+
+    @Param({"user", "jwt", "batch"})
+    public String payload;
+
+    private Codec codec;
+    private Object body;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = codec(format, payload);
+        body = body(payload);
+        encoded = codec.encode(body);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(body);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.decode(encoded);
+    }
+
+    public interface Codec {
+        byte[] encode(Object body) throws IOException;
+
+        Object decode(byte[] bytes) throws IOException;
+    }
+
+    public static Codec codec(String format, String payload) {
+        if ("protobuf".equals(format)) {
+            Parser<?> parser = switch (payload) {
+                case "user" -> User.parser();
+                case "jwt" -> Jwt.parser();
+                default -> BatchLookupResponse.parser();
+            };
+            return new Codec() {
+                @Override
+                public byte[] encode(Object body) {
+                    return UserProtoMapper.toMessage(body).toByteArray();
+                }
+
+                @Override
+                public Object decode(byte[] bytes) throws IOException {
+                    return parser.parseFrom(bytes);
+                }
+            };
+        }
+        // Configured as Spring Boot configures the application's mappers
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule());
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        ObjectMapper objectMapper = builder.build();
+        return new Codec() {
+            @Override
+            public byte[] encode(Object body) throws IOException {
+                return objectMapper.writeValueAsBytes(body);
+            }
+
+            @Override
+            public Object decode(byte[] bytes) throws IOException {
+                return objectMapper.readValue(bytes, JsonNode.class);
+            }
+        };
+    }
+
+    public static Object body(String payload) {
+        return switch (payload) {
+            case "user" -> user();
+            case "jwt" -> new JwtResponse("eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJzZWxsZXI0MkBleGFtcGxlLmNvbSIsImlhdCI6MTcwNDExMDQwMH0."
+                    + "c2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJl", 42L, "seller42@example.com", List.of("ROLE_SELLER"));
+            default -> batch();
+        };
+    }
+
+    private static UserResponse user() {
+        UserResponse user = new UserResponse();
+        user.setId(42L);
+        user.setEmail("seller42@example.com");
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setPhone("+15550000042");
+        user.setRoles(Set.of("ROLE_SELLER"));
+        user.setEnabled(true);
+        user.setActive(true);
+        user.setSeller(true);
+        user.setBusinessName("Kitchen 42");
+        user.setBusinessAddress("42 Market Street");
+        user.setUpiId("kitchen42@upi");
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 12, 0, 0, 123_456_000));
+        user.setVersion(7L);
+        return user;
+    }
+
+    // One page of an order listing: mostly customers, a few misses
+    private static UserBatchLookupResponse batch() {
+        List<UserBatchLookupResponse.Result> results = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1000; id < 1000 + BATCH_SIZE; id++) {
+            UserSummary user = id % 10 == 0 ? null : new UserSummary(id, "user" + id + "@example.com", "First" + id,
+                    "Last" + id, "+1555000" + id, false, true, null, null);
+            results.add(UserBatchLookupResponse.Result.forId(id, user));
+        }
+        return new UserBatchLookupResponse(results);
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodorder.usermanagement.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the JMH {@link BinaryFormatBenchmark} and reports, per payload and format, the encoded
+ * size and encode and decode throughput.
+ */
+@Slf4j
+@Tag("benchmark")
+class BinaryFormatBenchmarkTest {
+
+    private static final String[] PAYLOADS = {"user", "jwt", "batch"};
+    private static final String[] FORMATS = {"json", "cbor", "protobuf"};
+
+    @Test
+    @DisplayName("Payload size and encode/decode throughput of JSON, CBOR and protobuf")
+    void binaryFormats() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(BinaryFormatBenchmark.class.getName())
+                .shouldFailOnError(true)
+                .build())
+                .run();
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1) + ' ' + result.getParams().getParam("payload")
+                    + ' ' + result.getParams().getParam("format"), result.getPrimaryResult().getScore());
+        }
+
+        StringBuilder report = new StringBuilder(String.format("Binary formats (batch of %d)%n%-8s %-9s %8s %7s %16s %16s%n",
+                BinaryFormatBenchmark.BATCH_SIZE, "payload", "format", "bytes", "size", "encode ops/ms", "decode ops/ms"));
+        for (String payload : PAYLOADS) {
+            Object body = BinaryFormatBenchmark.body(payload);
+            int jsonSize = BinaryFormatBenchmark.codec("json", payload).encode(body).length;
+            for (String format : FORMATS) {
+                int size = BinaryFormatBenchmark.codec(format, payload).encode(body).length;
+                report.append(String.format("%-8s %-9s %,8d %6.0f%% %,16.1f %,16.1f%n", payload, format, size,
+                        100.0 * size / jsonSize, scores.get("encode " + payload + ' ' + format),
+                        scores.get("decode " + payload + ' ' + format)));
+                if (!"json".equals(format)) {
+                    assertTrue(size < jsonSize, payload + " as " + format + " is not smaller than JSON");
+                }
+            }
+        }
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "binary-formats.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertEquals(PAYLOADS.length * FORMATS.length * 2, results.size());
+        results.forEach(result -> assertTrue(result.getPrimaryResult().getScore() > 0));
+    }
+}
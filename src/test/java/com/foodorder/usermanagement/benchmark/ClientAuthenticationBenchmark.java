@@ -0,0 +1,88 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.foodorder.usermanagement.dto.request.ServiceClientRequest;
+import com.foodorder.usermanagement.repository.ServiceClientRepository;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.ServiceClientProperties;
+import com.foodorder.usermanagement.security.ServiceClientRegistry;
+import com.foodorder.usermanagement.service.impl.ClientCredentialsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a machine caller pays to authenticate: the BCrypt check behind logging in as a
+ * synthetic user, against the HMAC check of a client secret and a whole client-credentials
+ * token request served from the issued-token cache. Run through
+ * {@link ClientAuthenticationBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientAuthenticationBenchmark {
+
+    private static final String PASSWORD = "synthetic-user-password";
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private ServiceClientRegistry registry;
+    private ClientCredentialsServiceImpl clientCredentials;
+    private String secret;
+
+    @Setup
+    public void setUp() {
+        // Strength the application's encoder uses
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "benchmark-secret-key-that-is-long-enough-for-hmac");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        jwtTokenProvider.init();
+        ServiceClientRepository repository = Mockito.mock(ServiceClientRepository.class);
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ServiceClientProperties properties = new ServiceClientProperties();
+        properties.setHashKey("benchmark-hash-key");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new ServiceClientRegistry(repository, properties, meterRegistry);
+        clientCredentials = new ClientCredentialsServiceImpl(registry, repository, jwtTokenProvider, properties,
+                meterRegistry);
+
+        ServiceClientRequest request = new ServiceClientRequest();
+        request.setClientId("order-service");
+        request.setScopes(Set.of("admin"));
+        secret = clientCredentials.register(request).getClientSecret();
+    }
+
+    @Benchmark
+    public boolean bcryptPassword() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public Object hmacClientSecret() {
+        return registry.authenticate("order-service", secret);
+    }
+
+    @Benchmark
+    public Object clientCredentialsToken() {
+        return clientCredentials.issueToken("order-service", secret, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.foodorder.usermanagement.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the JMH {@link ClientAuthenticationBenchmark} and reports the cost of each way a machine
+ * caller can authenticate.
+ */
+@Slf4j
+@Tag("benchmark")
+class ClientAuthenticationBenchmarkTest {
+
+    @Test
+    @DisplayName("BCrypt password check against HMAC client secret and cached client token")
+    void clientAuthentication() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ClientAuthenticationBenchmark.class.getName())
+                .shouldFailOnError(true)
+                .build())
+                .run();
+
+        Map<String, Double> micros = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            micros.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        double bcrypt = micros.get("bcryptPassword");
+
+        StringBuilder report = new StringBuilder(String.format("Machine authentication%n%-24s %14s %10s%n",
+                "", "us/op", "vs bcrypt"));
+        micros.forEach((name, score) -> report.append(String.format("%-24s %,14.2f %9.0fx%n", name, score, bcrypt / score)));
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "client-authentication.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertEquals(3, results.size());
+        assertTrue(micros.get("hmacClientSecret") * 100 < bcrypt);
+        assertTrue(micros.get("clientCredentialsToken") * 100 < bcrypt);
+    }
+}
@@ -0,0 +1,90 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the two hottest response types, with Jackson's reflective accessors
+ * and with Blackbird's generated ones. Run through {@link ResponseSerializationBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    public String accessors;
+
+    private ObjectWriter userWriter;
+    private ObjectWriter jwtWriter;
+    private UserResponse user;
+    private JwtResponse jwt;
+
+    @Setup
+    public void setUp() {
+        // Configured as Spring Boot configures the application's mapper
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(accessors)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        userWriter = objectMapper.writerFor(UserResponse.class);
+        jwtWriter = objectMapper.writerFor(JwtResponse.class);
+
+        user = new UserResponse();
+        user.setId(42L);
+        user.setEmail("seller42@example.com");
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setPhone("+15550000042");
+        user.setRoles(Set.of("ROLE_SELLER"));
+        user.setEnabled(true);
+        user.setActive(true);
+        user.setSeller(true);
+        user.setBusinessName("Kitchen 42");
+        user.setBusinessAddress("42 Market Street");
+        user.setUpiId("kitchen42@upi");
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 12, 0, 0, 123_456_000));
+        user.setVersion(7L);
+
+        jwt = new JwtResponse("eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJzZWxsZXI0MkBleGFtcGxlLmNvbSIsImlhdCI6MTcwNDExMDQwMH0."
+                + "c2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJl", 42L, "seller42@example.com", List.of("ROLE_SELLER"));
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] jwtResponse() throws JsonProcessingException {
+        return jwtWriter.writeValueAsBytes(jwt);
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodorder.usermanagement.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the JMH {@link ResponseSerializationBenchmark} with the GC profiler and reports
+ * throughput and bytes allocated per serialized response.
+ */
+@Slf4j
+@Tag("benchmark")
+class ResponseSerializationBenchmarkTest {
+
+    @Test
+    @DisplayName("Response serialization throughput and allocation, reflective and Blackbird accessors")
+    void responseSerialization() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ResponseSerializationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+
+        StringBuilder report = new StringBuilder(String.format("Response serialization%n%-14s %-11s %14s %12s%n",
+                "benchmark", "accessors", "ops/ms", "bytes/op"));
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            report.append(String.format("%-14s %-11s %,14.1f %,12.0f%n",
+                    benchmark.substring(benchmark.lastIndexOf('.') + 1),
+                    result.getParams().getParam("accessors"),
+                    result.getPrimaryResult().getScore(),
+                    allocated == null ? Double.NaN : allocated.getScore()));
+        }
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "response-serialization.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertEquals(4, results.size());
+        results.forEach(result -> assertTrue(result.getPrimaryResult().getScore() > 0));
+    }
+}
@@ -0,0 +1,194 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the users row before and after the seller profile split (V3 to V4) on a synthetic
+ * dataset: average tuple width per population, heap size, and the shared-buffer hit rate of
+ * the email lookup issued on every login and token check. shared_buffers is kept well below
+ * the table size so that the hit rate reflects how much of the working set fits in cache.
+ */
+@Slf4j
+@Tag("benchmark")
+class SellerProfileSplitBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 1_000_000);
+    private static final int SELLER_EVERY = 20;
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 50_000);
+
+    private static final String SELECT_BEFORE = "SELECT id, created_at, updated_at, version, first_name, last_name, "
+            + "email, phone, password, enabled, is_seller, is_active, deleted_at, business_name, business_address, "
+            + "upi_id, bank_account_number, bank_ifsc_code FROM users WHERE lower(email) = lower(?) AND deleted_at IS NULL";
+    private static final String SELECT_AFTER = "SELECT id, created_at, updated_at, version, first_name, last_name, "
+            + "email, phone, password, enabled, is_seller, is_active, deleted_at, seller_profile_id "
+            + "FROM users WHERE lower(email) = lower(?) AND deleted_at IS NULL";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static PostgreSQLContainer<?> postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void connect() {
+        String url = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.username", "test");
+        String password = System.getProperty("benchmark.password", "test");
+        if (url == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("benchmark")
+                    .withUsername(username)
+                    .withPassword(password)
+                    .withCommand("postgres", "-c", "shared_buffers=32MB");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+        }
+        dataSource = new SingleConnectionDataSource(url, username, password, true);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Seller profile split narrows the users row")
+    void sellerProfileSplit() throws IOException {
+        migrate("3");
+        seed();
+        Map<String, Object> before = measure(SELECT_BEFORE);
+
+        migrate("4");
+        // Dropped columns stay in old tuples until they are rewritten
+        jdbc.execute("VACUUM FULL users");
+        jdbc.execute("VACUUM ANALYZE");
+        Map<String, Object> after = measure(SELECT_AFTER);
+
+        String report = String.format("""
+                Seller profile split, %,d users (1 in %d a seller), %,d email lookups, shared_buffers=%s
+                %-28s %14s %14s
+                %-28s %14s %14s
+                %-28s %14s %14s
+                %-28s %14s %14s
+                %-28s %14s %14s
+                %-28s %14s %14s
+                """,
+                USERS, SELLER_EVERY, LOOKUPS, jdbc.queryForObject("SHOW shared_buffers", String.class),
+                "", "before (V3)", "after (V4)",
+                "avg customer row (bytes)", before.get("customer_width"), after.get("customer_width"),
+                "avg seller row (bytes)", before.get("seller_width"), after.get("seller_width"),
+                "users heap", before.get("heap_size"), after.get("heap_size"),
+                "seller_profiles heap", "-", after.get("profile_heap_size"),
+                "lookup buffer hit rate", before.get("hit_rate"), after.get("hit_rate"));
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "seller-profile-split.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertTrue(((Number) after.get("seller_width_raw")).doubleValue()
+                < ((Number) before.get("seller_width_raw")).doubleValue());
+        assertTrue(((Number) after.get("heap_bytes")).longValue() < ((Number) before.get("heap_bytes")).longValue());
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private void seed() {
+        jdbc.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone, password,
+                                   enabled, is_seller, is_active, business_name, business_address, upi_id,
+                                   bank_account_number, bank_ifsc_code)
+                SELECT now(), now(), 0, 'First' || g, 'Last' || g, 'user' || g || '@example.com',
+                       '+1' || lpad(g::text, 10, '0'),
+                       '$2a$10$' || md5(g::text) || md5((g + 1)::text),
+                       true, g % ? = 0, true,
+                       CASE WHEN g % ? = 0 THEN 'Kitchen number ' || g END,
+                       CASE WHEN g % ? = 0 THEN g || ' Market Street, Suite ' || (g % 500) || ', Bengaluru 560001' END,
+                       CASE WHEN g % ? = 0 THEN 'kitchen' || g || '@okbank' END,
+                       CASE WHEN g % ? = 0 THEN lpad(g::text, 16, '0') END,
+                       CASE WHEN g % ? = 0 THEN 'BANK0' || lpad((g % 100000)::text, 6, '0') END
+                FROM generate_series(1, ?) AS g
+                """, SELLER_EVERY, SELLER_EVERY, SELLER_EVERY, SELLER_EVERY, SELLER_EVERY, SELLER_EVERY, USERS);
+        // Compacted like the after state, so index bloat from the bulk load does not skew the comparison
+        jdbc.execute("VACUUM FULL users");
+        jdbc.execute("VACUUM ANALYZE");
+    }
+
+    private Map<String, Object> measure(String lookup) {
+        Map<String, Object> result = new HashMap<>(jdbc.queryForMap("""
+                SELECT round(avg(pg_column_size(u.*)) FILTER (WHERE NOT is_seller), 1) AS customer_width,
+                       round(avg(pg_column_size(u.*)) FILTER (WHERE is_seller), 1) AS seller_width,
+                       avg(pg_column_size(u.*)) FILTER (WHERE is_seller) AS seller_width_raw,
+                       pg_size_pretty(pg_relation_size('users')) AS heap_size,
+                       pg_relation_size('users') AS heap_bytes
+                FROM users u
+                """));
+        if (Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass('seller_profiles') IS NOT NULL", Boolean.class))) {
+            result.put("profile_heap_size",
+                    jdbc.queryForObject("SELECT pg_size_pretty(pg_relation_size('seller_profiles'))", String.class));
+        }
+
+        // One pass to warm the cache, one measured pass over a different sample of emails
+        runLookups(lookup, 7);
+        long[] blocks = runLookups(lookup, 42);
+        result.put("hit_rate", String.format("%.2f%%", 100.0 * blocks[0] / Math.max(1, blocks[0] + blocks[1])));
+        return result;
+    }
+
+    /**
+     * @return shared buffer hits and reads summed over all lookups, as reported by EXPLAIN
+     */
+    private long[] runLookups(String lookup, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] blocks = new long[2];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String email = "user" + (random.nextInt(USERS) + 1) + "@example.com";
+            String json = jdbc.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) "
+                    + lookup.replace("?", "'" + email + "'"), String.class);
+            try {
+                JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+                blocks[0] += plan.path("Shared Hit Blocks").asLong();
+                blocks[1] += plan.path("Shared Read Blocks").asLong();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return blocks;
+    }
+}
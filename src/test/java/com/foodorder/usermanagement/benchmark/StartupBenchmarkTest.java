@@ -0,0 +1,271 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.foodorder.usermanagement.UserManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the service in a fresh JVM, the way a new pod does, and measures the time from launch to
+ * the first successful {@code POST /auth/login}: context refresh, Tomcat start, the first BCrypt
+ * check and the first token. Each mode is started {@code benchmark.startup.runs} times after one
+ * untimed start that warms the file cache.
+ *
+ * <p>Modes: a plain class path; an AppCDS archive from a training run like the fast-startup build's;
+ * and with {@code -Pfast-startup}, which runs Spring AOT before the tests, the same two with
+ * {@code spring.aot.enabled}. The median of the mode the fast-startup build ships, AOT with CDS or
+ * CDS alone without AOT, must stay under {@code benchmark.startup.max-ms}.
+ */
+@Slf4j
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 3);
+    private static final long MAX_MS = Long.getLong("benchmark.startup.max-ms", 30_000);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+    private static final String EMAIL = "startup@example.com";
+    private static final String PASSWORD = "password123";
+    private static final Path WORK = Path.of("target", "benchmarks", "startup");
+    private static final Path AOT_INITIALIZER = Path.of("target", "classes",
+            UserManagementApplication.class.getName().replace('.', '/') + "__ApplicationContextInitializer.class");
+
+    private static PostgreSQLContainer<?> postgres;
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @BeforeAll
+    static void database() {
+        url = System.getProperty("benchmark.jdbc-url");
+        username = System.getProperty("benchmark.username", "test");
+        password = System.getProperty("benchmark.password", "test");
+        if (url == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("benchmark")
+                    .withUsername(username)
+                    .withPassword(password);
+            postgres.start();
+            url = postgres.getJdbcUrl();
+        }
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'Startup', 'User', ?, '+19990000001', ?, true, false, true) RETURNING id
+                """, Long.class, EMAIL, new BCryptPasswordEncoder().encode(PASSWORD));
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_CUSTOMER'",
+                id);
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Time from launch to the first successful login")
+    void timeToFirstLogin() throws Exception {
+        Files.createDirectories(WORK);
+        String classPath = classPath();
+        boolean aot = Files.exists(AOT_INITIALIZER);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("plain", List.of());
+        modes.put("cds", List.of("-XX:SharedArchiveFile=" + train(classPath, "cds", false)));
+        if (aot) {
+            modes.put("aot", List.of("-Dspring.aot.enabled=true"));
+            modes.put("aot+cds", List.of("-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + train(classPath, "aot-cds", true)));
+        }
+
+        timeToFirstLogin(classPath, "warmup", List.of());
+        Map<String, long[]> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstLogin(classPath, mode.getKey() + "-" + run, mode.getValue());
+            }
+            Arrays.sort(millis);
+            results.put(mode.getKey(), millis);
+        }
+
+        long plain = median(results.get("plain"));
+        StringBuilder report = new StringBuilder(String.format("""
+                Time to first successful login, median of %d starts per mode; %d CPUs, %s
+                %-10s %10s %10s %10s
+                """, RUNS, Runtime.getRuntime().availableProcessors(), Runtime.version(),
+                "", "median ms", "min ms", "vs plain"));
+        results.forEach((mode, millis) -> report.append(String.format("%-10s %,10d %,10d %9.0f%%%n",
+                mode, median(millis), millis[0], 100.0 * median(millis) / plain)));
+        if (!aot) {
+            report.append("aot, aot+cds skipped, run with -Pfast-startup\n");
+        }
+        log.info("\n{}", report);
+        Files.writeString(Path.of("target", "benchmarks", "startup.txt"), report);
+
+        // The mode the fast-startup build ships
+        String shipped = aot ? "aot+cds" : "cds";
+        long shippedMillis = median(results.get(shipped));
+        assertTrue(shippedMillis <= MAX_MS, shipped + " took " + shippedMillis + " ms to the first login, threshold is "
+                + MAX_MS + " ms");
+    }
+
+    /**
+     * Starts the service like the fast-startup build's training run does, without a database.
+     *
+     * @return the archive written when it exits after the context refresh
+     */
+    private static Path train(String classPath, String name, boolean aot) throws Exception {
+        Path archive = WORK.resolve(name + ".jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh", "-Dspring.aot.enabled=" + aot,
+                "-cp", classPath, UserManagementApplication.class.getName(),
+                "--spring.datasource.url=jdbc:postgresql://localhost:1/none",
+                "--spring.security.jwt.secret=" + SECRET,
+                "--app.auth.clients.hash-key=" + SECRET,
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false",
+                "--logging.level.com.zaxxer.hikari.pool.HikariPool=OFF"));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(WORK.resolve(name + "-training.log").toFile())
+                .start();
+        assertTrue(process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS), "Training run did not exit");
+        assertTrue(Files.exists(archive), "No archive, see " + WORK.resolve(name + "-training.log"));
+        return archive;
+    }
+
+    private long timeToFirstLogin(String classPath, String name, List<String> jvmOptions) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classPath, UserManagementApplication.class.getName(),
+                "--server.port=" + port,
+                "--app.grpc.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.security.jwt.secret=" + SECRET,
+                "--app.auth.clients.hash-key=" + SECRET,
+                "--logging.level.com.foodorder=INFO"));
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        Path log = WORK.resolve(name + ".log");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), "Service exited, see " + log);
+                try {
+                    if (httpClient.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - started) / 1_000_000;
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return fail("No successful login within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * The compiled classes as one jar, since CDS does not archive classes from directories, followed
+     * by the runtime dependencies the fast-startup build copies, or else the jars the tests run with.
+     */
+    private static String classPath() throws IOException {
+        Path classes = Path.of("target", "classes");
+        Path jar = WORK.resolve("application.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(classes)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> !path.equals(classes))::iterator) {
+                String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                // Directory entries too, or component scanning and classpath: locations find nothing
+                boolean directory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                if (!directory) {
+                    Files.copy(file, out);
+                }
+                out.closeEntry();
+            }
+        }
+        List<String> entries = new ArrayList<>(List.of(jar.toAbsolutePath().toString()));
+        Path lib = Path.of("target", "fast-startup", "lib");
+        if (Files.isDirectory(lib)) {
+            try (Stream<Path> jars = Files.list(lib)) {
+                jars.sorted().forEach(path -> entries.add(path.toAbsolutePath().toString()));
+            }
+        } else {
+            Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                    .filter(path -> path.endsWith(".jar"))
+                    .forEach(entries::add);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+}
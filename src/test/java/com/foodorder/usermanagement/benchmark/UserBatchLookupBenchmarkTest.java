@@ -0,0 +1,206 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resolves the same pages of user ids the way the order service does today, one
+ * {@code GET /users/{id}} per id, and with one {@code POST /users/batch} per page, over real
+ * HTTP on a keep-alive connection. Reports request count and wall time for both.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserBatchLookupBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int PAGES = Integer.getInteger("benchmark.pages", 200);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 50);
+    private static final int WARMUP_PAGES = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("benchmark")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.show-sql", () -> false);
+        registry.add("logging.level.org.springframework.security", () -> "WARN");
+        registry.add("logging.level.com.foodorder", () -> "INFO");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Batch lookups against sequential single-user calls")
+    void batchAgainstSequential() throws Exception {
+        String token = seed();
+        List<List<Long>> pages = pages(new SplittableRandom(42), PAGES);
+        List<List<Long>> warmup = pages(new SplittableRandom(7), WARMUP_PAGES);
+
+        run(warmup, token, false);
+        run(warmup, token, true);
+        long[] sequential = run(pages, token, false);
+        long[] batched = run(pages, token, true);
+
+        String report = String.format("""
+                User lookups, %,d pages of %d ids from %,d users
+                %-22s %12s %12s
+                %-22s %,12d %,12d
+                %-22s %,12d %,12d
+                %-22s %12.2f %12.2f
+                request reduction %.0fx, speed-up %.1fx
+                """,
+                PAGES, PAGE_SIZE, USERS,
+                "", "sequential", "batch",
+                "requests", sequential[0], batched[0],
+                "total ms", sequential[1] / 1_000_000, batched[1] / 1_000_000,
+                "ms per page", sequential[1] / 1e6 / PAGES, batched[1] / 1e6 / PAGES,
+                (double) sequential[0] / batched[0], (double) sequential[1] / batched[1]);
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "user-batch-lookup.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertEquals((long) PAGES * PAGE_SIZE, sequential[0]);
+        assertEquals(PAGES, batched[0]);
+        assertTrue(batched[1] < sequential[1]);
+    }
+
+    /**
+     * @return requests sent and nanoseconds taken
+     */
+    private long[] run(List<List<Long>> pages, String token, boolean batch) throws IOException, InterruptedException {
+        long requests = 0;
+        long started = System.nanoTime();
+        for (List<Long> page : pages) {
+            if (batch) {
+                JsonNode results = send(token, "/api/v1/users/batch", objectMapper.writeValueAsString(Map.of("ids", page)))
+                        .get("results");
+                assertEquals(page.size(), results.size());
+                requests++;
+            } else {
+                for (Long id : page) {
+                    assertEquals(id, send(token, "/api/v1/users/" + id, null).get("id").asLong());
+                    requests++;
+                }
+            }
+        }
+        return new long[] {requests, System.nanoTime() - started};
+    }
+
+    private JsonNode send(String token, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        if (body == null) {
+            request.GET();
+        } else {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private List<List<Long>> pages(SplittableRandom random, int count) {
+        long firstId = jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE email LIKE 'user%'", Long.class);
+        List<List<Long>> pages = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            List<Long> page = new ArrayList<>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                page.add(firstId + random.nextInt(USERS));
+            }
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private String seed() {
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                SELECT now(), now(), 0, 'First' || g, 'Last' || g, 'user' || g || '@example.com',
+                       '+1' || lpad(g::text, 10, '0'), 'encodedPassword', true, false, true
+                FROM generate_series(1, ?) AS g
+                """, USERS);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+
+        User admin = new User();
+        admin.setFirstName("Bench");
+        admin.setLastName("Admin");
+        admin.setEmail("admin@example.com");
+        admin.setPhone("+19990000000");
+        admin.setPassword("encodedPassword");
+        admin.addRole(roleRepository.findByName(Role.RoleType.ROLE_ADMIN).orElseThrow());
+        userRepository.save(admin);
+
+        UserDetails details = userDetailsService.loadUserByUsername(admin.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+}
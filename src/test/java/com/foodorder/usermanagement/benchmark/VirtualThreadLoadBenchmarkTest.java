@@ -0,0 +1,290 @@
+package com.foodorder.usermanagement.benchmark;
+
+import com.foodorder.usermanagement.UserManagementApplication;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service once on Tomcat's platform-thread pool and once on virtual threads, each time
+ * under {@code benchmark.clients} closed-loop HTTP clients. Every connection is held for
+ * {@code benchmark.query-latency-ms} to stand in for slow Postgres queries, and the Hikari pool
+ * is kept small, so the database is the bottleneck in both modes.
+ *
+ * <p>Most calls are {@code GET /users/me}, which needs no connection; the rest are
+ * {@code GET /users/{id}}, which does. With platform threads the slow calls take every
+ * Tomcat thread while they queue for a connection and the cheap calls wait behind them; with
+ * virtual threads only the slow calls queue, on the pool. The virtual-thread run needs a JDK 21
+ * runtime and is reported as skipped on older ones.
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final int SLOW_PERCENT = Integer.getInteger("benchmark.slow-percent", 20);
+    private static final long QUERY_LATENCY_MS = Long.getLong("benchmark.query-latency-ms", 50);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 10);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("benchmark")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Test
+    @DisplayName("Mixed load on virtual threads against the platform-thread pool")
+    void virtualAgainstPlatformThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = Runtime.version().feature() >= 21 ? run(true) : null;
+
+        StringBuilder report = new StringBuilder(String.format("""
+                Mixed load, %d clients for %d s, %d%% GET /users/{id} and the rest GET /users/me,
+                every connection held %d ms, Hikari pool of %d
+                %-12s %10s %10s %10s %10s %10s %10s %8s
+                """,
+                CLIENTS, MEASUREMENT.toSeconds(), SLOW_PERCENT, QUERY_LATENCY_MS, POOL_SIZE,
+                "", "me req/s", "me p50", "me p99", "id req/s", "id p50", "id p99", "errors"));
+        report.append(platform.format("platform")).append('\n');
+        report.append(virtual == null
+                ? String.format("%-12s skipped, needs a JDK 21 runtime (running %s)%n", "virtual", Runtime.version())
+                : virtual.format("virtual") + '\n');
+        log.info("\n{}", report);
+        Path output = Path.of("target", "benchmarks", "virtual-threads.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertTrue(platform.fast.size() > 0 && platform.slow.size() > 0);
+        if (virtual != null) {
+            assertTrue(virtual.fast.percentile(99) < platform.fast.percentile(99));
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                UserManagementApplication.class, SlowConnections.class)
+                .profiles("test")
+                // Arguments, because default properties would lose to the test profile
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.foodorder=INFO")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            User admin = seed(context);
+            return load(port, admin.getId(), token(context, admin));
+        }
+    }
+
+    private Result load(int port, long userId, String token) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest fast = request(port, "/api/v1/users/me", token);
+        HttpRequest slow = request(port, "/api/v1/users/" + userId, token);
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long end = measureFrom + MEASUREMENT.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Result>> futures = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            SplittableRandom random = new SplittableRandom(i);
+            futures.add(clients.submit(() -> {
+                Result result = new Result();
+                while (System.nanoTime() < end) {
+                    boolean isSlow = random.nextInt(100) < SLOW_PERCENT;
+                    long started = System.nanoTime();
+                    int status = httpClient.send(isSlow ? slow : fast, HttpResponse.BodyHandlers.discarding())
+                            .statusCode();
+                    long finished = System.nanoTime();
+                    if (started < measureFrom) {
+                        continue;
+                    }
+                    if (status != 200) {
+                        result.errors++;
+                    } else {
+                        (isSlow ? result.slow : result.fast).add(finished - started);
+                    }
+                }
+                return result;
+            }));
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(10, TimeUnit.SECONDS));
+        return total;
+    }
+
+    private static HttpRequest request(int port, String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private static User seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User admin = new User();
+        admin.setFirstName("Bench");
+        admin.setLastName("Admin");
+        admin.setEmail("admin@example.com");
+        admin.setPhone("+19990000000");
+        admin.setPassword("encodedPassword");
+        admin.addRole(context.getBean(RoleRepository.class).findByName(Role.RoleType.ROLE_ADMIN).orElseThrow());
+        return context.getBean(UserRepository.class).save(admin);
+    }
+
+    private static String token(ConfigurableApplicationContext context, User admin) {
+        UserDetails details = context.getBean(CustomUserDetailsService.class).loadUserByUsername(admin.getEmail());
+        return context.getBean(JwtTokenProvider.class).generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    /**
+     * Holds every connection for the configured latency before handing it back to the pool.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class SlowConnections {
+
+        @Bean
+        static BeanPostProcessor slowConnectionPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new SlowDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            Thread.sleep(QUERY_LATENCY_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+
+    private static final class Result {
+
+        private final Latencies fast = new Latencies();
+        private final Latencies slow = new Latencies();
+        private long errors;
+
+        void merge(Result other) {
+            fast.addAll(other.fast);
+            slow.addAll(other.slow);
+            errors += other.errors;
+        }
+
+        String format(String mode) {
+            double seconds = MEASUREMENT.toNanos() / 1e9;
+            return String.format("%-12s %10.0f %8.1fms %8.1fms %10.0f %8.1fms %8.1fms %8d",
+                    mode, fast.size() / seconds, fast.percentile(50), fast.percentile(99),
+                    slow.size() / seconds, slow.percentile(50), slow.percentile(99), errors);
+        }
+    }
+
+    private static final class Latencies {
+
+        private final List<Long> nanos = new ArrayList<>();
+
+        void add(long value) {
+            nanos.add(value);
+        }
+
+        void addAll(Latencies other) {
+            nanos.addAll(other.nanos);
+        }
+
+        int size() {
+            return nanos.size();
+        }
+
+        /**
+         * @return the percentile in milliseconds
+         */
+        double percentile(int percentile) {
+            if (nanos.isEmpty()) {
+                return Double.NaN;
+            }
+            List<Long> sorted = new ArrayList<>(nanos);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.foodorder.usermanagement.checkpoint;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointRestoreLifecycleTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final CheckpointRestoreLifecycle lifecycle = new CheckpointRestoreLifecycle(
+            List.of(new Recording("keys"), new Recording("cache")));
+
+    @Test
+    @DisplayName("Starting with the context is not a restore")
+    void start_OnRefresh_NothingReloaded() {
+        lifecycle.start();
+
+        assertTrue(lifecycle.isRunning());
+        assertEquals(List.of(), calls);
+    }
+
+    @Test
+    @DisplayName("A checkpoint drops every participant's state and the restore reloads it")
+    void stopThenStart_Participants_DroppedThenReloaded() {
+        lifecycle.start();
+
+        lifecycle.stop();
+        assertFalse(lifecycle.isRunning());
+        lifecycle.start();
+
+        assertTrue(lifecycle.isRunning());
+        assertEquals(List.of("keys.beforeCheckpoint", "cache.beforeCheckpoint",
+                "keys.afterRestore", "cache.afterRestore"), calls);
+    }
+
+    @Test
+    @DisplayName("Stops after the web server and before the connection pools")
+    void phase_BetweenWebServerAndPools() {
+        assertTrue(lifecycle.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        assertTrue(lifecycle.getPhase() > 0);
+    }
+
+    private final class Recording implements CheckpointParticipant {
+
+        private final String name;
+
+        Recording(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void beforeCheckpoint() {
+            calls.add(name + ".beforeCheckpoint");
+        }
+
+        @Override
+        public void afterRestore() {
+            calls.add(name + ".afterRestore");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.foodorder.usermanagement.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers for one key share a single load and are counted as followers")
+    void execute_ConcurrentCallers_ShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submit(CALLERS, () -> singleFlight.execute("a@example.com", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "loaded";
+        }));
+        awaitFollowers(CALLERS - 1);
+        assertEquals(1, gauge("users.single_flight.in_flight"));
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(CALLERS - 1, calls("follower"));
+        assertEquals(0, gauge("users.single_flight.in_flight"));
+    }
+
+    @Test
+    @DisplayName("Followers get the leader's exception, and the next call loads again")
+    void execute_LoaderFails_ExceptionIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        List<Future<String>> results = submit(2, () -> singleFlight.execute("a@example.com", () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitFollowers(1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+        assertEquals("recovered", singleFlight.execute("a@example.com", () -> "recovered"));
+        assertEquals(2, calls("leader"));
+    }
+
+    @Test
+    @DisplayName("Calls for different keys and calls one after another are not coalesced")
+    void execute_DistinctOrSequentialCalls_EachLoad() {
+        assertEquals("a", singleFlight.execute("a@example.com", () -> "a"));
+        assertEquals("b", singleFlight.execute("b@example.com", () -> "b"));
+        assertEquals("a2", singleFlight.execute("a@example.com", () -> "a2"));
+
+        assertEquals(3, calls("leader"));
+        assertEquals(0, calls("follower"));
+    }
+
+    private List<Future<String>> submit(int callers, Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (calls("follower") < followers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(followers, calls("follower"));
+    }
+
+    private double calls(String role) {
+        return meterRegistry.counter(SingleFlight.CALLS, "lookup", "test", "role", role).count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("lookup", "test").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.foodorder.usermanagement.controller;
 
+import com.foodorder.usermanagement.availability.ClientRateLimiter;
 import com.foodorder.usermanagement.dto.request.LoginRequest;
 import com.foodorder.usermanagement.dto.request.RegisterRequest;
 import com.foodorder.usermanagement.dto.response.JwtResponse;
 import com.foodorder.usermanagement.service.AuthService;
+import com.foodorder.usermanagement.service.ClientCredentialsService;
+import com.foodorder.usermanagement.service.TokenIntrospectionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +34,15 @@ class AuthControllerTest {
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @MockBean
+    private ClientCredentialsService clientCredentialsService;
+
+    @MockBean
+    private ClientRateLimiter emailAvailabilityRateLimiter;
+
     @Test
     void login_ValidCredentials_ReturnsJwtResponse() throws Exception {
         LoginRequest loginRequest = new LoginRequest();
@@ -0,0 +1,219 @@
+package com.foodorder.usermanagement.feed;
+
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 8;
+
+    private final OutboxEventRepository eventRepository = mock(OutboxEventRepository.class);
+    private final List<OutboxEvent> outbox = new CopyOnWriteArrayList<>();
+    private UserChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.findLatestRelayable()).thenReturn(Optional.empty());
+        when(eventRepository.findBatchAfter(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            FeedPosition after = new FeedPosition(invocation.getArgument(0), invocation.getArgument(1));
+            int limit = invocation.getArgument(2);
+            return outbox.stream().filter(event -> FeedPosition.of(event).compareTo(after) > 0).limit(limit).toList();
+        });
+        feed = new UserChangeFeed(eventRepository, mock(PlatformTransactionManager.class), BUFFER_SIZE, 3,
+                new MockEnvironment());
+        feed.poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    @DisplayName("Every subscriber receives every new event in order")
+    void fanOut_DeliversToAllSubscribers() throws Exception {
+        RecordingSubscriber first = new RecordingSubscriber(5);
+        RecordingSubscriber second = new RecordingSubscriber(5);
+        feed.subscribe(first, null);
+        feed.subscribe(second, null);
+
+        addEvents(5);
+        feed.poll();
+
+        assertTrue(first.received.await(5, TimeUnit.SECONDS));
+        assertTrue(second.received.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), first.ids());
+        assertEquals(first.ids(), second.ids());
+    }
+
+    @Test
+    @DisplayName("A subscriber resumes after the last event it saw")
+    void resume_StartsAfterLastEventId() throws Exception {
+        addEvents(5);
+        feed.poll();
+        RecordingSubscriber subscriber = new RecordingSubscriber(2);
+
+        feed.subscribe(subscriber, FeedPosition.of(outbox.get(2)).toString());
+
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(4L, 5L), subscriber.ids());
+        assertFalse(subscriber.reset);
+    }
+
+    @Test
+    @DisplayName("A position that has left the buffer gets a reset and only new events")
+    void resume_FromEvictedPosition_Resets() throws Exception {
+        addEvents(BUFFER_SIZE + 2);
+        feed.poll();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+
+        feed.subscribe(subscriber, FeedPosition.of(outbox.get(0)).toString());
+        addEvents(1);
+        feed.poll();
+
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.reset);
+        assertEquals(List.of((long) BUFFER_SIZE + 3), subscriber.ids());
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls a whole buffer behind is dropped without holding up others")
+    void slowSubscriber_IsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber slow = new RecordingSubscriber(1) {
+            @Override
+            public void onEvents(List<OutboxEvent> events) {
+                super.onEvents(events);
+                await(release);
+            }
+        };
+        RecordingSubscriber fast = new RecordingSubscriber(BUFFER_SIZE * 2);
+        feed.subscribe(slow, null);
+        feed.subscribe(fast, null);
+
+        addEvents(1);
+        feed.poll();
+        assertTrue(slow.received.await(5, TimeUnit.SECONDS));
+        // Paced so that the fast subscriber keeps up while the slow one is stuck
+        for (int i = 0; i < BUFFER_SIZE * 2 - 1; i++) {
+            addEvents(1);
+            feed.poll();
+            for (int wait = 0; wait < 100 && fast.events.size() < outbox.size(); wait++) {
+                Thread.sleep(10);
+            }
+        }
+
+        assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        assertNotNull(slow.closedReason);
+        assertEquals(1, feed.subscriberCount());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("A subscriber that throws is removed")
+    void failingSubscriber_IsRemoved() throws Exception {
+        RecordingSubscriber failing = new RecordingSubscriber(1) {
+            @Override
+            public void onHeartbeat() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        feed.subscribe(failing, null);
+
+        feed.heartbeat();
+
+        for (int i = 0; i < 50 && failing.closedReason == null; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID values the feed never issued cannot be parsed")
+    void parse_RejectsForeignIds() {
+        assertNull(FeedPosition.parse("abc"));
+        assertNull(FeedPosition.parse("-5"));
+        assertEquals(new FeedPosition(12, 34), FeedPosition.parse("12-34"));
+    }
+
+    private void addEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            OutboxEvent event = new OutboxEvent();
+            long id = outbox.size() + 1;
+            event.setId(id);
+            event.setTxId(1000 + id);
+            event.setAggregateType("user");
+            event.setAggregateId(id);
+            event.setEventType("USER_UPDATED");
+            event.setPayload("{\"id\":" + id + "}");
+            event.setCreatedAt(LocalDateTime.now());
+            outbox.add(event);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingSubscriber implements ChangeSubscriber {
+
+        private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private volatile boolean reset;
+        private volatile String closedReason;
+
+        RecordingSubscriber(int expectedEvents) {
+            this.received = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onEvents(List<OutboxEvent> batch) {
+            events.addAll(batch);
+            batch.forEach(event -> received.countDown());
+        }
+
+        @Override
+        public void onReset() {
+            reset = true;
+        }
+
+        @Override
+        public void onHeartbeat() throws IOException {
+            // nothing to record
+        }
+
+        @Override
+        public void onClosed(String reason) {
+            closedReason = reason;
+        }
+
+        List<Long> ids() {
+            return new ArrayList<>(events.stream().map(OutboxEvent::getId).toList());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.foodorder.usermanagement.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcConcurrencyLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GrpcConcurrencyLimitInterceptor interceptor = new GrpcConcurrencyLimitInterceptor(1, meterRegistry);
+
+    @Mock
+    private ServerCall<String, String> call;
+
+    @Mock
+    private ServerCallHandler<String, String> next;
+
+    @Mock
+    private ServerCall.Listener<String> listener;
+
+    @Test
+    @DisplayName("Calls over the limit are refused with RESOURCE_EXHAUSTED until one finishes")
+    void interceptCall_OverLimit_RefusedUntilOneFinishes() {
+        when(next.startCall(any(), any())).thenReturn(listener);
+
+        ServerCall.Listener<String> first = interceptor.interceptCall(call, new Metadata(), next);
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, status.getValue().getCode());
+        verify(next, times(1)).startCall(any(), any());
+        assertEquals(1.0, meterRegistry.counter("grpc.server.calls.rejected").count());
+
+        first.onComplete();
+        first.onCancel();
+        interceptor.interceptCall(call, new Metadata(), next);
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        verify(listener).onComplete();
+        verify(next, times(2)).startCall(any(), any());
+        verify(call, times(2)).close(any(), any());
+    }
+
+    @Test
+    @DisplayName("A call that fails to start gives its permit back")
+    void interceptCall_StartFails_PermitReleased() {
+        when(next.startCall(any(), any())).thenThrow(new IllegalStateException("boom")).thenReturn(listener);
+
+        assertThrows(IllegalStateException.class, () -> interceptor.interceptCall(call, new Metadata(), next));
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        verify(call, never()).close(any(), any());
+    }
+}
@@ -0,0 +1,201 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.DefaultLifecycleProcessor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application context through what Spring does around a CRaC checkpoint, without a
+ * CRaC JDK: {@code org.crac} is a no-op on other JDKs, so the lifecycle processor's stop and
+ * restart are called directly. Changes "while the image is stored" are made on a connection of
+ * their own, as another instance would make them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CheckpointRestoreIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.hikari.allow-pool-suspension", () -> true);
+        // Only the restore itself may pick up revocations
+        registry.add("app.auth.revocation.refresh-interval-ms", () -> 3_600_000);
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM revoked_tokens");
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User user = new User();
+        user.setFirstName("Casey");
+        user.setLastName("Customer");
+        user.setEmail("casey@example.com");
+        user.setPhone("+15550000001");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.addRole(roleRepository.findByName(Role.RoleType.ROLE_CUSTOMER).orElseThrow());
+        customer = userRepository.save(user);
+    }
+
+    @Test
+    @DisplayName("The pool and the web server are closed while stored and serve again after the restore")
+    void checkpoint_PoolAndServer_ClosedThenReopened() {
+        String token = login();
+        HikariDataSource pool = unwrap(dataSource);
+
+        checkpointAndRestore(() -> {
+            assertEquals(0, pool.getHikariPoolMXBean().getTotalConnections());
+            assertThrows(ResourceAccessException.class, () -> me(token, false));
+        });
+
+        assertEquals(HttpStatus.OK, me(token, true).getStatusCode());
+        assertTrue(pool.getHikariPoolMXBean().getTotalConnections() > 0);
+        // Signing keys rebuilt: new tokens are issued and old ones still verify
+        assertEquals(HttpStatus.OK, me(login(), false).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("A token revoked while the image was stored is refused on the first request after the restore")
+    void restore_RevokedWhileStored_Refused() throws Exception {
+        String token = login();
+        String hash = sha256(token);
+        assertEquals(HttpStatus.OK, me(token, false).getStatusCode());
+
+        checkpointAndRestore(() -> otherInstance().update(
+                "INSERT INTO revoked_tokens (token_hash, expires_at, revoked_at) VALUES (?, ?, ?)",
+                hash, Timestamp.from(Instant.now().plus(1, ChronoUnit.HOURS)), Timestamp.from(Instant.now())));
+
+        assertEquals(HttpStatus.FORBIDDEN, me(token, false).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("A fresh profile after the restore reads changes made while stored")
+    void restore_ChangedWhileStored_ReadsChange() {
+        String token = login();
+        assertEquals("Casey", me(token, true).getBody().get("firstName").asText());
+
+        checkpointAndRestore(() -> otherInstance().update(
+                "UPDATE users SET first_name = 'Cassidy' WHERE id = ?", customer.getId()));
+
+        assertEquals("Cassidy", me(token, true).getBody().get("firstName").asText());
+    }
+
+    private void checkpointAndRestore(Runnable whileStored) {
+        DefaultLifecycleProcessor processor = context.getBean(
+                AbstractApplicationContext.LIFECYCLE_PROCESSOR_BEAN_NAME, DefaultLifecycleProcessor.class);
+        ReflectionTestUtils.invokeMethod(processor, "stopForRestart");
+        try {
+            whileStored.run();
+        } finally {
+            ReflectionTestUtils.invokeMethod(processor, "restartAfterStop");
+        }
+    }
+
+    // The application's pool is suspended while stored
+    private JdbcTemplate otherInstance() {
+        return new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+    }
+
+    private String login() {
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/v1/auth/login",
+                Map.of("email", customer.getEmail(), "password", PASSWORD), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody().get("token").asText();
+    }
+
+    private ResponseEntity<JsonNode> me(String token, boolean fresh) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange("/api/v1/users/me" + (fresh ? "?fresh=true" : ""), HttpMethod.GET,
+                new HttpEntity<>(headers), JsonNode.class);
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String sha256(String token) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
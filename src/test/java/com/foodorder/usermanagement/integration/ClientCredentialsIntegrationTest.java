@@ -0,0 +1,184 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ClientCredentialsIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        // HttpURLConnection cannot read a 401 answer to a streamed POST
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+        jdbcTemplate.update("DELETE FROM service_clients");
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Admin");
+        user.setEmail("admin@example.com");
+        user.setPhone("+15550000001");
+        user.setPassword("encodedPassword");
+        user.addRole(roleRepository.findByName(Role.RoleType.ROLE_ADMIN).orElseThrow());
+        admin = userRepository.save(user);
+        UserDetails details = userDetailsService.loadUserByUsername(admin.getEmail());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("A registered client gets a scoped token and uses it like an admin until disabled")
+    void clientCredentials_EndToEnd() {
+        String secret = register("order-service", List.of("admin")).getBody().get("clientSecret").asText();
+
+        ResponseEntity<JsonNode> tokenResponse = token("order-service", secret, null, true);
+        assertEquals(HttpStatus.OK, tokenResponse.getStatusCode());
+        assertEquals("no-store", tokenResponse.getHeaders().getCacheControl());
+        JsonNode token = tokenResponse.getBody();
+        assertEquals("Bearer", token.get("token_type").asText());
+        assertEquals("admin", token.get("scope").asText());
+        String accessToken = token.get("access_token").asText();
+        assertEquals(accessToken, token("order-service", secret, "admin", false).getBody().get("access_token").asText());
+
+        assertEquals(HttpStatus.OK, getUser(accessToken).getStatusCode());
+        JsonNode introspected = restTemplate.postForEntity("/api/v1/auth/introspect",
+                new HttpEntity<>(Map.of("tokens", List.of(accessToken)), bearer(adminToken)), JsonNode.class)
+                .getBody().get("results").get(0);
+        assertTrue(introspected.get("active").asBoolean());
+        assertEquals("client:order-service", introspected.get("subject").asText());
+
+        assertEquals(HttpStatus.OK, restTemplate.exchange("/api/v1/admin/service-clients/order-service",
+                HttpMethod.DELETE, new HttpEntity<>(bearer(adminToken)), JsonNode.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, getUser(accessToken).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, token("order-service", secret, null, true).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Bad secrets, foreign scopes and other grant types are refused")
+    void clientCredentials_Rejected() {
+        String secret = register("report-job", List.of("customer")).getBody().get("clientSecret").asText();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, token("report-job", "wrong", null, true).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, token("report-job", secret, "admin", true).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, register("report-job", List.of("customer")).getStatusCode());
+
+        String customerToken = token("report-job", secret, null, false).getBody().get("access_token").asText();
+        assertEquals(HttpStatus.FORBIDDEN, getUser(customerToken).getStatusCode());
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "password");
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.postForEntity("/api/v1/auth/token",
+                new HttpEntity<>(form, formHeaders()), JsonNode.class).getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> register(String clientId, List<String> scopes) {
+        return restTemplate.postForEntity("/api/v1/admin/service-clients",
+                new HttpEntity<>(Map.of("clientId", clientId, "scopes", scopes), bearer(adminToken)), JsonNode.class);
+    }
+
+    private ResponseEntity<JsonNode> token(String clientId, String secret, String scope, boolean basicAuth) {
+        HttpHeaders headers = formHeaders();
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        if (basicAuth) {
+            headers.setBasicAuth(clientId, secret);
+        } else {
+            form.add("client_id", clientId);
+            form.add("client_secret", secret);
+        }
+        if (scope != null) {
+            form.add("scope", scope);
+        }
+        return restTemplate.postForEntity("/api/v1/auth/token", new HttpEntity<>(form, headers), JsonNode.class);
+    }
+
+    private ResponseEntity<JsonNode> getUser(String accessToken) {
+        return restTemplate.exchange("/api/v1/users/" + admin.getId(), HttpMethod.GET,
+                new HttpEntity<>(bearer(accessToken)), JsonNode.class);
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private static HttpHeaders formHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        return headers;
+    }
+}
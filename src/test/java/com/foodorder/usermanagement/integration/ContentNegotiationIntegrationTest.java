@@ -0,0 +1,188 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.foodorder.usermanagement.dto.request.LoginRequest;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.Jwt;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ContentNegotiationIntegrationTest {
+
+    private static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private User admin;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Admin");
+        user.setEmail("admin@example.com");
+        user.setPhone("+15550000001");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.addRole(roleRepository.findByName(Role.RoleType.ROLE_ADMIN).orElseThrow());
+        admin = userRepository.save(user);
+
+        UserDetails details = userDetailsService.loadUserByUsername(admin.getEmail());
+        token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("JSON stays the default; CBOR and protobuf are served when asked for, each with its own ETag")
+    void getUser_NegotiatesRepresentation() throws Exception {
+        String path = "/api/v1/users/" + admin.getId();
+
+        ResponseEntity<byte[]> json = exchange(HttpMethod.GET, path, MediaType.ALL, null, null);
+        assertEquals(HttpStatus.OK, json.getStatusCode());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(json.getHeaders().getContentType()));
+        assertTrue(json.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+
+        ResponseEntity<byte[]> cbor = exchange(HttpMethod.GET, path, MediaType.APPLICATION_CBOR, null, null);
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        JsonNode decoded = cborMapper.readTree(cbor.getBody());
+        assertEquals("admin@example.com", decoded.get("email").asText());
+        assertFalse(decoded.has("password"));
+
+        ResponseEntity<byte[]> protobuf = exchange(HttpMethod.GET, path, PROTOBUF, null, null);
+        assertTrue(PROTOBUF.isCompatibleWith(protobuf.getHeaders().getContentType()));
+        assertEquals("foodorder.user.v1.User", protobuf.getHeaders().getFirst("X-Protobuf-Message"));
+        com.foodorder.usermanagement.proto.v1.User user =
+                com.foodorder.usermanagement.proto.v1.User.parseFrom(protobuf.getBody());
+        assertEquals(admin.getId(), user.getId());
+        assertEquals(List.of("ROLE_ADMIN"), user.getRolesList());
+        assertTrue(protobuf.getBody().length < json.getBody().length);
+
+        String jsonETag = json.getHeaders().getETag();
+        assertNotEquals(jsonETag, cbor.getHeaders().getETag());
+        assertNotEquals(jsonETag, protobuf.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Batch lookups accept and return protobuf")
+    void batchLookup_Protobuf() throws Exception {
+        byte[] request = BatchLookupRequest.newBuilder()
+                .addIds(admin.getId())
+                .addIds(admin.getId() + 1000)
+                .addEmails("admin@example.com")
+                .build()
+                .toByteArray();
+
+        ResponseEntity<byte[]> response = exchange(HttpMethod.POST, "/api/v1/users/batch", PROTOBUF, PROTOBUF, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        BatchLookupResponse batch = BatchLookupResponse.parseFrom(response.getBody());
+        assertEquals(3, batch.getResultsCount());
+        assertTrue(batch.getResults(0).getFound());
+        assertEquals("admin@example.com", batch.getResults(0).getUser().getEmail());
+        assertFalse(batch.getResults(1).getFound());
+        assertEquals("admin@example.com", batch.getResults(2).getEmail());
+    }
+
+    @Test
+    @DisplayName("Login takes a CBOR body and answers in protobuf; errors follow the accepted type")
+    void login_CborInProtobufOut() throws Exception {
+        byte[] credentials = cborMapper.writeValueAsBytes(new LoginRequest("admin@example.com", "password123"));
+
+        ResponseEntity<byte[]> response = exchange(HttpMethod.POST, "/api/v1/auth/login", PROTOBUF,
+                MediaType.APPLICATION_CBOR, credentials);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Jwt jwt = Jwt.parseFrom(response.getBody());
+        assertEquals(admin.getId(), jwt.getId());
+        assertFalse(jwt.getToken().isEmpty());
+
+        ResponseEntity<byte[]> missing = exchange(HttpMethod.GET, "/api/v1/users/" + (admin.getId() + 1000), PROTOBUF,
+                null, null);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertEquals(404, com.foodorder.usermanagement.proto.v1.Error.parseFrom(missing.getBody()).getStatus());
+    }
+
+    private ResponseEntity<byte[]> exchange(HttpMethod method, String path, MediaType accept,
+                                            MediaType contentType, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setAccept(List.of(accept));
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        return restTemplate.exchange(path, method, new HttpEntity<>(body, headers), byte[].class);
+    }
+}
@@ -0,0 +1,155 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.coalescing.SingleFlight;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CurrentUserIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User customer;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User user = new User();
+        user.setFirstName("Casey");
+        user.setLastName("Customer");
+        user.setEmail("casey@example.com");
+        user.setPhone("+15550000001");
+        user.setPassword("encodedPassword");
+        user.addRole(roleRepository.findByName(Role.RoleType.ROLE_CUSTOMER).orElseThrow());
+        customer = userRepository.save(user);
+        UserDetails details = userDetailsService.loadUserByUsername(customer.getEmail());
+        token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("The profile is served from the token without loading the user")
+    void me_FromToken_NoLookup() {
+        double lookupsBefore = lookups();
+
+        ResponseEntity<JsonNode> response = me(false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getCacheControl().contains("no-cache"));
+        JsonNode body = response.getBody();
+        assertEquals(customer.getId(), body.get("id").asLong());
+        assertEquals("casey@example.com", body.get("email").asText());
+        assertEquals("Casey", body.get("firstName").asText());
+        assertFalse(body.get("seller").asBoolean());
+        assertEquals("ROLE_CUSTOMER", body.get("roles").get(0).asText());
+        assertEquals(lookupsBefore, lookups());
+    }
+
+    @Test
+    @DisplayName("fresh=true reads through to the database")
+    void me_Fresh_ReadsDatabase() {
+        jdbcTemplate.update("UPDATE users SET first_name = 'Cassidy' WHERE id = ?", customer.getId());
+        double lookupsBefore = lookups();
+
+        assertEquals("Casey", me(false).getBody().get("firstName").asText());
+        assertEquals(lookupsBefore, lookups());
+        assertEquals("Cassidy", me(true).getBody().get("firstName").asText());
+        assertTrue(lookups() > lookupsBefore);
+    }
+
+    @Test
+    @DisplayName("A disabled user still gets the profile from the token, but not a fresh one")
+    void me_Disabled_OnlyFromToken() {
+        jdbcTemplate.update("UPDATE users SET enabled = false, version = version + 1 WHERE id = ?", customer.getId());
+
+        assertEquals(HttpStatus.OK, me(false).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, me(true).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Without a token the profile is refused")
+    void me_Anonymous_Forbidden() {
+        assertEquals(HttpStatus.FORBIDDEN,
+                restTemplate.getForEntity("/api/v1/users/me", JsonNode.class).getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> me(boolean fresh) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange("/api/v1/users/me" + (fresh ? "?fresh=true" : ""), HttpMethod.GET,
+                new HttpEntity<>(headers), JsonNode.class);
+    }
+
+    private double lookups() {
+        String name = "user-by-email";
+        return meterRegistry.counter(SingleFlight.CALLS, "lookup", name, "role", "leader").count()
+                + meterRegistry.counter(SingleFlight.CALLS, "lookup", name, "role", "follower").count()
+                + meterRegistry.counter(SingleFlight.CALLS, "lookup", name, "role", "bypassed").count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class DisabledUserIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private User fraudster;
+
+    @BeforeEach
+    void setUp() {
+        // HttpURLConnection cannot read a 401 answer to a streamed POST
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        admin = createAdmin("ada@example.com", "+15550000001");
+        fraudster = createAdmin("mallory@fraud.example", "+15550000002");
+    }
+
+    @Test
+    @DisplayName("A bulk-disabled user can no longer log in, and tokens issued before are refused")
+    void bulkDisable_User_LoginAndTokensRefused() {
+        String fraudsterToken = login(fraudster.getEmail()).getBody().get("token").asText();
+        assertEquals(HttpStatus.OK, getUser(fraudsterToken, admin.getId()).getStatusCode());
+
+        ResponseEntity<String> bulk = restTemplate.exchange("/api/v1/users/bulk/disable", HttpMethod.POST,
+                new HttpEntity<>(Map.of("ids", List.of(fraudster.getId())), bearer(adminToken())), String.class);
+        assertEquals(HttpStatus.OK, bulk.getStatusCode());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, login(fraudster.getEmail()).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, getUser(fraudsterToken, admin.getId()).getStatusCode());
+        assertEquals(HttpStatus.OK, getUser(adminToken(), fraudster.getId()).getStatusCode());
+    }
+
+    private User createAdmin(String email, String phone) {
+        User user = new User();
+        user.setFirstName("Admin");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.addRole(roleRepository.findByName(Role.RoleType.ROLE_ADMIN).orElseThrow());
+        return userRepository.save(user);
+    }
+
+    private String adminToken() {
+        return login(admin.getEmail()).getBody().get("token").asText();
+    }
+
+    private ResponseEntity<JsonNode> login(String email) {
+        return restTemplate.postForEntity("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD),
+                JsonNode.class);
+    }
+
+    private ResponseEntity<JsonNode> getUser(String token, Long id) {
+        return restTemplate.exchange("/api/v1/users/" + id, HttpMethod.GET, new HttpEntity<>(bearer(token)),
+                JsonNode.class);
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
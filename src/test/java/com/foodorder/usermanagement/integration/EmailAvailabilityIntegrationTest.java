@@ -0,0 +1,206 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.availability.RegisteredEmailFilter;
+import com.foodorder.usermanagement.dto.response.EmailAvailabilityResponse;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
+import com.foodorder.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class EmailAvailabilityIntegrationTest {
+
+    private static final String SEEDED_EMAIL = "seeded@example.com";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // Seeded before the application starts, so it can only reach the filter through the startup scan
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()))
+                .update("""
+                        INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                           password, enabled, is_seller, is_active)
+                        VALUES (now(), now(), 0, 'Seeded', 'User', ?, '+15550000001', 'encodedPassword', true, false, true)
+                        ON CONFLICT DO NOTHING
+                        """, SEEDED_EMAIL);
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.feed.poll-interval-ms", () -> 50);
+        registry.add("app.users.email-filter.max-feed-lag", () -> "1s");
+        registry.add("app.users.email-filter.rate-limit.burst", () -> 5);
+        registry.add("app.users.email-filter.rate-limit.requests-per-minute", () -> 1);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmails;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxRecorder outboxRecorder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void awaitFilter() {
+        awaitTrue(() -> !Double.isNaN(meterRegistry.get("users.email_filter.memory").gauge().value()),
+                "Email filter was not built");
+    }
+
+    @Test
+    @DisplayName("Users present at startup are scanned in; unknown emails are answered without a lookup")
+    void emailAvailable_UsesStartupScan() {
+        double absentBefore = checks("absent");
+        double possibleBefore = checks("possibly-present");
+
+        ResponseEntity<EmailAvailabilityResponse> takenResponse = check("Seeded@Example.com");
+        EmailAvailabilityResponse taken = takenResponse.getBody();
+        EmailAvailabilityResponse free = check("nobody@example.com").getBody();
+
+        assertEquals(HttpStatus.OK, takenResponse.getStatusCode());
+        assertNotNull(taken);
+        assertFalse(taken.isAvailable());
+        assertNotNull(free);
+        assertTrue(free.isAvailable());
+        assertEquals(absentBefore + 1, checks("absent"));
+        assertEquals(possibleBefore + 1, checks("possibly-present"));
+    }
+
+    @Test
+    @DisplayName("Registrations made elsewhere reach the filter through the change feed")
+    void registrationOnAnotherInstance_ReachesFilter() {
+        String email = "elsewhere@example.com";
+        assertFalse(registeredEmails.mightContain(email));
+
+        // What another instance's signup leaves behind: the row and its outbox event, nothing in this JVM
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setFirstName("Else");
+            user.setLastName("Where");
+            user.setEmail(email);
+            user.setPhone("+15550000002");
+            user.setPassword("encodedPassword");
+            outboxRecorder.record(UserEventType.USER_REGISTERED, userRepository.save(user).getId());
+        });
+
+        awaitTrue(() -> registeredEmails.mightContain(email), "Feed did not deliver the registration");
+    }
+
+    @Test
+    @DisplayName("A registration the feed has not delivered can be ruled out, but not once the feed stalls")
+    void undeliveredRegistration_RuledOutUntilFeedStalls() throws Exception {
+        String email = "undelivered@example.com";
+        // No outbox event, so the feed never delivers it: the accepted window, held open
+        jdbcTemplate.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'Un', 'Delivered', ?, '+15550000003', 'encodedPassword', true, false, true)
+                """, email);
+        assertFalse(registeredEmails.mightContain(email));
+
+        // Feed polls wait on the lock, so the feed falls behind
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword())) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("LOCK TABLE outbox_events IN ACCESS EXCLUSIVE MODE");
+            awaitTrue(() -> registeredEmails.mightContain(email), "Filter still ruled out emails with the feed stalled");
+            connection.rollback();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid emails are rejected")
+    void emailAvailable_InvalidEmail_IsBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, check("not-an-email").getStatusCode());
+    }
+
+    @Test
+    @DirtiesContext
+    @DisplayName("A client that exhausts its allowance gets 429 with Retry-After")
+    void emailAvailable_RateLimited() {
+        ResponseEntity<EmailAvailabilityResponse> response;
+        int calls = 0;
+        do {
+            response = check("probe" + calls + "@example.com");
+            calls++;
+        } while (response.getStatusCode() == HttpStatus.OK && calls < 10);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertTrue(calls <= 6);
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private ResponseEntity<EmailAvailabilityResponse> check(String email) {
+        return restTemplate.getForEntity("/api/v1/auth/email-available?email={email}",
+                EmailAvailabilityResponse.class, email);
+    }
+
+    private double checks(String result) {
+        return meterRegistry.counter("users.email_filter.checks", "result", result).count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertTrue(condition.getAsBoolean(), message);
+    }
+}
@@ -0,0 +1,187 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.mail.EmailDispatcher;
+import com.foodorder.usermanagement.mail.EmailQueue;
+import com.foodorder.usermanagement.model.EmailType;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class EmailDispatchIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> ServerSetupTest.SMTP.getPort());
+        registry.add("app.mail.dispatcher.batch-size", () -> 10);
+        registry.add("app.mail.dispatcher.poll-interval-ms", () -> 3_600_000);
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmailQueue emailQueue;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM email_queue");
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        User newUser = new User();
+        newUser.setFirstName("Grace");
+        newUser.setLastName("User");
+        newUser.setEmail("grace@example.com");
+        newUser.setPhone("+15550004444");
+        newUser.setPassword(passwordEncoder.encode("oldPassword1"));
+        user = userRepository.save(newUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Changing a password sends a notification after the change commits")
+    void changePassword_SendsEmailAfterCommit() throws Exception {
+        userService.changePassword(user.getId(), "oldPassword1", "newPassword1");
+
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 1));
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertEquals("Your Food Order password was changed", message.getSubject());
+        assertEquals("grace@example.com", message.getAllRecipients()[0].toString());
+        assertTrue(message.getContent().toString().contains("Hi Grace,"));
+        awaitStatus("SENT", 1);
+    }
+
+    @Test
+    @DisplayName("Nothing is sent when the queuing transaction rolls back")
+    void rolledBack_SendsNothing() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailQueue.enqueue(EmailType.WELCOME, user.getEmail(), Map.of("firstName", "Grace", "email", user.getEmail()));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(greenMail.waitForIncomingEmail(1_000, 1));
+        assertEquals(0, count("SELECT count(*) FROM email_queue"));
+    }
+
+    @Test
+    @DisplayName("Many queued emails go out in batches")
+    void manyEmails_AreBatched() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 25; i++) {
+                emailQueue.enqueue(EmailType.WELCOME, "user" + i + "@example.com",
+                        Map.of("firstName", "User" + i, "email", "user" + i + "@example.com"));
+            }
+        });
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 25));
+        awaitStatus("SENT", 25);
+    }
+
+    @Test
+    @DisplayName("Requests do not wait for an unreachable mail server, and sending is retried later")
+    void mailServerDown_IsRetried() throws Exception {
+        greenMail.stop();
+
+        long start = System.nanoTime();
+        userService.changePassword(user.getId(), "oldPassword1", "newPassword1");
+        assertTrue(System.nanoTime() - start < 2_000_000_000L, "Request waited for the mail server");
+
+        awaitCondition("SELECT count(*) FROM email_queue WHERE status = 'PENDING' AND attempts = 1 "
+                + "AND last_error IS NOT NULL AND next_attempt_at > now()", 1);
+
+        greenMail.start();
+        jdbcTemplate.update("UPDATE email_queue SET next_attempt_at = now()");
+        emailDispatcher.poll();
+
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 1));
+        awaitStatus("SENT", 1);
+    }
+
+    private void awaitStatus(String status, long expected) {
+        awaitCondition("SELECT count(*) FROM email_queue WHERE status = '" + status + "'", expected);
+    }
+
+    private void awaitCondition(String sql, long expected) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count(sql) != expected && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertEquals(expected, count(sql), sql);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+}
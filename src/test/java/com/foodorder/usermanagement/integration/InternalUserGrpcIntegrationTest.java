@@ -0,0 +1,254 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.feed.UserChangeFeed;
+import com.foodorder.usermanagement.grpc.GrpcServer;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.GetUserRequest;
+import com.foodorder.usermanagement.proto.v1.InternalUserServiceGrpc;
+import com.foodorder.usermanagement.proto.v1.IntrospectTokenRequest;
+import com.foodorder.usermanagement.proto.v1.IntrospectTokenResponse;
+import com.foodorder.usermanagement.proto.v1.UserChange;
+import com.foodorder.usermanagement.proto.v1.WatchUserChangesRequest;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import io.grpc.Context;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The internal gRPC API end to end over the in-process transport, with the application's own
+ * services, interceptors and executor.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class InternalUserGrpcIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.feed.poll-interval-ms", () -> 50);
+    }
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Autowired
+    private OutboxRecorder outboxRecorder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Server server;
+    private ManagedChannel channel;
+    private User admin;
+    private User customer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = grpcServer.configure(InProcessServerBuilder.forName(name)).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        admin = saveUser("admin@example.com", "+15550000001", Role.RoleType.ROLE_ADMIN);
+        customer = saveUser("customer@example.com", "+15550000002", Role.RoleType.ROLE_CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Calls without a token or by a non-admin are rejected")
+    void calls_RequireAdminToken() {
+        GetUserRequest request = GetUserRequest.newBuilder().setId(customer.getId()).build();
+
+        StatusRuntimeException anonymous = assertThrows(StatusRuntimeException.class,
+                () -> InternalUserServiceGrpc.newBlockingStub(channel).getUser(request));
+        assertEquals(Status.Code.UNAUTHENTICATED, anonymous.getStatus().getCode());
+
+        StatusRuntimeException asCustomer = assertThrows(StatusRuntimeException.class,
+                () -> stub(tokenFor(customer)).getUser(request));
+        assertEquals(Status.Code.PERMISSION_DENIED, asCustomer.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Introspection reports subject, current roles and expiry; bad tokens are just inactive")
+    void introspectToken() {
+        String customerToken = tokenFor(customer);
+
+        IntrospectTokenResponse active = stub(tokenFor(admin))
+                .introspectToken(IntrospectTokenRequest.newBuilder().setToken(customerToken).build());
+
+        assertTrue(active.getActive());
+        assertEquals("customer@example.com", active.getSubject());
+        assertEquals(customer.getId(), active.getUserId());
+        assertEquals(List.of("ROLE_CUSTOMER"), active.getRolesList());
+        assertTrue(active.getExpiresAt().getSeconds() > Instant.now().getEpochSecond());
+
+        IntrospectTokenResponse inactive = stub(tokenFor(admin))
+                .introspectToken(IntrospectTokenRequest.newBuilder().setToken("not-a-token").build());
+        assertEquals(IntrospectTokenResponse.newBuilder().setActive(false).build(), inactive);
+    }
+
+    @Test
+    @DisplayName("Users resolve one at a time and in batches, with REST's limits and statuses")
+    void getUserAndBatch() {
+        InternalUserServiceGrpc.InternalUserServiceBlockingStub stub = stub(tokenFor(admin));
+
+        com.foodorder.usermanagement.proto.v1.User user =
+                stub.getUser(GetUserRequest.newBuilder().setId(customer.getId()).build());
+        assertEquals("customer@example.com", user.getEmail());
+        assertEquals(List.of("ROLE_CUSTOMER"), user.getRolesList());
+
+        StatusRuntimeException missing = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.newBuilder().setId(customer.getId() + 1000).build()));
+        assertEquals(Status.Code.NOT_FOUND, missing.getStatus().getCode());
+
+        BatchLookupResponse batch = stub.batchGetUsers(BatchLookupRequest.newBuilder()
+                .addIds(customer.getId())
+                .addIds(customer.getId() + 1000)
+                .addEmails("ADMIN@example.com")
+                .build());
+        assertEquals(3, batch.getResultsCount());
+        assertEquals("customer@example.com", batch.getResults(0).getUser().getEmail());
+        assertFalse(batch.getResults(1).getFound());
+        assertEquals(admin.getId(), batch.getResults(2).getUser().getId());
+
+        StatusRuntimeException empty = assertThrows(StatusRuntimeException.class,
+                () -> stub.batchGetUsers(BatchLookupRequest.getDefaultInstance()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, empty.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Watching streams committed changes until the client cancels")
+    void watchUserChanges() throws Exception {
+        userChangeFeed.poll();
+        int subscribers = userChangeFeed.subscriberCount();
+        Context.CancellableContext context = Context.current().withCancellation();
+        try {
+            Iterator<UserChange> changes = context.call(() -> stub(tokenFor(admin))
+                    .withDeadlineAfter(10, TimeUnit.SECONDS)
+                    .watchUserChanges(WatchUserChangesRequest.getDefaultInstance()));
+            awaitTrue(() -> userChangeFeed.subscriberCount() == subscribers + 1, "Watch did not subscribe");
+
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxRecorder.record(UserEventType.USER_UPDATED, customer.getId()));
+
+            UserChange change = changes.next();
+            assertEquals(UserEventType.USER_UPDATED.name(), change.getType());
+            assertEquals(customer.getId(), change.getUserId());
+            assertFalse(change.getEventId().isEmpty());
+            assertTrue(change.getPayload().contains("customer@example.com"));
+        } finally {
+            context.cancel(null);
+        }
+        awaitTrue(() -> userChangeFeed.subscriberCount() == subscribers, "Cancelled watch was not unsubscribed");
+    }
+
+    private InternalUserServiceGrpc.InternalUserServiceBlockingStub stub(String token) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        return InternalUserServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private String tokenFor(User user) {
+        UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    private User saveUser(String email, String phone, Role.RoleType roleType) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword("encodedPassword");
+        user.addRole(roleRepository.findByName(roleType).orElseThrow());
+        return userRepository.save(user);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertTrue(condition.getAsBoolean(), message);
+    }
+}
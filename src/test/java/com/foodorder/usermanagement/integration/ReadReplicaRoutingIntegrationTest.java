@@ -0,0 +1,168 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two independent Postgres instances stand in for primary and replica, so the instance that
+ * answers a query shows where it was routed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("spring.datasource.replica.lag-tolerance", () -> "30s");
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = jdbcFor(primary);
+        replicaJdbc = jdbcFor(replica);
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.update("DELETE FROM user_roles");
+            jdbc.update("DELETE FROM users");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only service methods are answered by the replica")
+    void readOnlyLookup_UsesReplica() {
+        insertDirectly(replicaJdbc, "replica-only@example.com");
+
+        User user = userService.getUserByEmail("replica-only@example.com");
+
+        assertEquals("replica-only@example.com", user.getEmail());
+        assertEquals(1, userService.getAllUsers().size());
+    }
+
+    @Test
+    @DisplayName("Read-write transactions are answered by the primary")
+    void readWriteTransaction_UsesPrimary() {
+        insertDirectly(replicaJdbc, "replica-only@example.com");
+
+        boolean visible = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                userRepository.findByEmail("replica-only@example.com").isPresent()));
+
+        assertFalse(visible);
+    }
+
+    @Test
+    @DisplayName("Writes land on the primary only")
+    void save_WritesToPrimary() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.save(newUser("written@example.com")));
+
+        assertEquals(1, countByEmail(primaryJdbc, "written@example.com"));
+        assertEquals(0, countByEmail(replicaJdbc, "written@example.com"));
+    }
+
+    @Test
+    @DisplayName("A principal that just wrote reads its own writes from the primary")
+    void recentWriter_IsPinnedToPrimary() {
+        authenticateAs("writer@example.com");
+        transactionTemplate.executeWithoutResult(status -> userRepository.save(newUser("written@example.com")));
+
+        assertEquals("written@example.com", userService.getUserByEmail("written@example.com").getEmail());
+
+        authenticateAs("someone-else@example.com");
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("written@example.com"));
+    }
+
+    private void authenticateAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone("+1" + Math.abs(email.hashCode() % 1_000_000_000L));
+        user.setPassword("encodedPassword");
+        return user;
+    }
+
+    private void insertDirectly(JdbcTemplate jdbc, String email) {
+        jdbc.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                VALUES (now(), now(), 0, 'Test', 'User', ?, '+15550000001', 'encodedPassword', true, false, true)
+                """, email);
+    }
+
+    private int countByEmail(JdbcTemplate jdbc, String email) {
+        Integer count = jdbc.queryForObject("SELECT count(*) FROM users WHERE email = ?", Integer.class, email);
+        return count == null ? 0 : count;
+    }
+
+    private JdbcTemplate jdbcFor(PostgreSQLContainer<?> container) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword()));
+    }
+}
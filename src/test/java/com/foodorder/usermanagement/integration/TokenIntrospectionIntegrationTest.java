@@ -0,0 +1,188 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class TokenIntrospectionIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.auth.introspection.max-tokens", () -> 20);
+        registry.add("app.auth.introspection.parallel-threshold", () -> 4);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        adminToken = token(save("admin@example.com", "+15550000001", Role.RoleType.ROLE_ADMIN));
+    }
+
+    @Test
+    @DisplayName("Each token gets its own result, in request order, with the user's current roles")
+    void introspect_MixedBatch() {
+        User buyer = save("buyer@example.com", "+15550000002", Role.RoleType.ROLE_CUSTOMER);
+        String buyerToken = token(buyer);
+        List<String> tokens = new ArrayList<>(Collections.nCopies(5, buyerToken));
+        tokens.add(1, "not-a-token");
+
+        ResponseEntity<JsonNode> response = introspect(adminToken, tokens);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode results = response.getBody().get("results");
+        assertEquals(6, results.size());
+        assertFalse(results.get(1).get("active").asBoolean());
+        assertFalse(results.get(1).has("subject"));
+        JsonNode active = results.get(0);
+        assertTrue(active.get("active").asBoolean());
+        assertEquals("buyer@example.com", active.get("subject").asText());
+        assertEquals(buyer.getId(), active.get("userId").asLong());
+        assertEquals("ROLE_CUSTOMER", active.get("roles").get(0).asText());
+        assertTrue(active.has("expiresAt"));
+    }
+
+    @Test
+    @DisplayName("A token is inactive once its holder logs out, and can no longer authenticate")
+    void introspect_AfterLogout_Inactive() {
+        String sellerToken = token(save("seller@example.com", "+15550000003", Role.RoleType.ROLE_SELLER));
+        assertTrue(introspect(adminToken, List.of(sellerToken)).getBody().get("results").get(0).get("active").asBoolean());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(sellerToken);
+        assertEquals(HttpStatus.OK,
+                restTemplate.postForEntity("/api/v1/auth/logout", new HttpEntity<>(headers), Void.class).getStatusCode());
+
+        assertFalse(introspect(adminToken, List.of(sellerToken)).getBody().get("results").get(0).get("active").asBoolean());
+        assertEquals(Integer.valueOf(1),
+                jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_tokens", Integer.class));
+        assertEquals(HttpStatus.FORBIDDEN, introspect(sellerToken, List.of(adminToken)).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("A revocation from another instance is picked up by the next poll, whatever its clock said")
+    void introspect_RevokedElsewhere_SkewedClock() throws Exception {
+        String sellerToken = token(save("seller@example.com", "+15550000003", Role.RoleType.ROLE_SELLER));
+        tokenRevocationList.refresh();
+
+        jdbcTemplate.update("INSERT INTO revoked_tokens (token_hash, expires_at, revoked_at) VALUES (?, ?, ?)",
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(sellerToken.getBytes(StandardCharsets.UTF_8))),
+                Timestamp.from(Instant.now().plus(1, ChronoUnit.HOURS)), Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+        tokenRevocationList.refresh();
+
+        assertFalse(introspect(adminToken, List.of(sellerToken)).getBody().get("results").get(0).get("active").asBoolean());
+    }
+
+    @Test
+    @DisplayName("Only admins may introspect, and batches are capped")
+    void introspect_Rejected() {
+        String buyerToken = token(save("other@example.com", "+15550000004", Role.RoleType.ROLE_CUSTOMER));
+
+        assertEquals(HttpStatus.FORBIDDEN, introspect(null, List.of(adminToken)).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, introspect(buyerToken, List.of(adminToken)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, introspect(adminToken, Collections.nCopies(21, adminToken)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, introspect(adminToken, List.of()).getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> introspect(String bearer, List<String> tokens) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (bearer != null) {
+            headers.setBearerAuth(bearer);
+        }
+        return restTemplate.postForEntity("/api/v1/auth/introspect",
+                new HttpEntity<>(Map.of("tokens", tokens), headers), JsonNode.class);
+    }
+
+    private User save(String email, String phone, Role.RoleType role) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword("encodedPassword");
+        user.addRole(roleRepository.findByName(role).orElseThrow());
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserBatchLookupIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.batch.max-keys", () -> 6);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private User customer;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM seller_profiles");
+        admin = saveUser("admin@example.com", "+15550000001", Role.RoleType.ROLE_ADMIN);
+        customer = saveUser("customer@example.com", "+15550000002", Role.RoleType.ROLE_CUSTOMER);
+        seller = saveUser("seller@example.com", "+15550000003", Role.RoleType.ROLE_SELLER);
+    }
+
+    @Test
+    @DisplayName("Ids and emails resolve in request order, with misses reported per key")
+    void batch_ResolvesInRequestOrder() {
+        User deleted = saveUser("deleted@example.com", "+15550000004", Role.RoleType.ROLE_CUSTOMER);
+        jdbcTemplate.update("UPDATE users SET deleted_at = now() WHERE id = ?", deleted.getId());
+
+        ResponseEntity<JsonNode> response = batch(tokenFor(admin), Map.of(
+                "ids", List.of(seller.getId(), -1L, customer.getId(), deleted.getId()),
+                "emails", List.of("CUSTOMER@example.com", "nobody@example.com")));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode results = response.getBody().get("results");
+        assertEquals(6, results.size());
+
+        assertEquals(seller.getId(), results.get(0).get("id").asLong());
+        assertTrue(results.get(0).get("found").asBoolean());
+        assertEquals("Kitchen", results.get(0).get("user").get("businessName").asText());
+        assertFalse(results.get(0).get("user").has("password"));
+
+        assertEquals(-1L, results.get(1).get("id").asLong());
+        assertFalse(results.get(1).get("found").asBoolean());
+        assertFalse(results.get(1).has("user"));
+
+        assertEquals(customer.getId(), results.get(2).get("user").get("id").asLong());
+        assertFalse(results.get(3).get("found").asBoolean(), "Deleted users are not resolved");
+
+        assertEquals("CUSTOMER@example.com", results.get(4).get("email").asText());
+        assertEquals(customer.getId(), results.get(4).get("user").get("id").asLong());
+        assertFalse(results.get(5).get("found").asBoolean());
+    }
+
+    @Test
+    @DisplayName("Requests over the key limit are rejected")
+    void batch_TooManyKeys_IsBadRequest() {
+        ResponseEntity<JsonNode> response = batch(tokenFor(admin), Map.of(
+                "ids", List.of(1L, 2L, 3L, 4L),
+                "emails", List.of("a@example.com", "b@example.com", "c@example.com")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Non-admins cannot look users up")
+    void batch_RequiresAdmin() {
+        ResponseEntity<JsonNode> response = batch(tokenFor(customer), Map.of("ids", List.of(seller.getId())));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> batch(String token, Map<String, ?> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.postForEntity("/api/v1/users/batch", new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    private String tokenFor(User user) {
+        UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    private User saveUser(String email, String phone, Role.RoleType roleType) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword("encodedPassword");
+        if (roleType == Role.RoleType.ROLE_SELLER) {
+            user.setSeller(true);
+            user.setBusinessName("Kitchen");
+            user.setBusinessAddress("1 Market Street");
+        }
+        user.addRole(roleRepository.findByName(roleType).orElseThrow());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,148 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.dto.request.BulkUserFilter;
+import com.foodorder.usermanagement.model.BulkUserAction;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserBulkOperationIntegrationTest {
+
+    private static final int CHUNK_SIZE = 7;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.bulk.chunk-size", () -> CHUNK_SIZE);
+    }
+
+    @Autowired
+    private UserBulkService userBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                SELECT now(), now(), 0, 'First' || g, 'Last' || g,
+                       'user' || g || CASE WHEN g % 2 = 0 THEN '@fraud.example' ELSE '@example.com' END,
+                       '+1' || lpad(g::text, 9, '0'), 'secret', true, g % 2 = 0, true
+                FROM generate_series(1, 40) AS g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_SELLER' WHERE u.is_seller
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (created_at, updated_at, version, user_id, token, expiry_date, revoked)
+                SELECT now(), now(), 0, u.id, 'token-' || u.id, now() + interval '1 day', false FROM users u
+                """);
+    }
+
+    @Test
+    @DisplayName("Bulk disable changes only matching users, in chunks, and revokes their refresh tokens")
+    void disable_MatchingUsers() {
+        List<List<Long>> chunks = new ArrayList<>();
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setEmailDomain("fraud.example");
+        filter.setSeller(true);
+
+        long affected = userBulkService.apply(BulkUserAction.DISABLE, filter, chunks::add);
+
+        assertEquals(20, affected);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.size() <= CHUNK_SIZE));
+        assertEquals(20, count("SELECT count(*) FROM users WHERE NOT enabled AND version = 1"));
+        assertEquals(20, count("SELECT count(*) FROM users WHERE enabled AND version = 0"));
+        assertEquals(20, count("SELECT count(*) FROM refresh_tokens"));
+        assertEquals(20, count("SELECT count(*) FROM outbox_events e JOIN users u ON u.id = e.aggregate_id "
+                + "WHERE e.event_type = 'USER_DISABLED' AND u.email LIKE '%@fraud.example'"));
+    }
+
+    @Test
+    @DisplayName("Wildcards in the email domain are matched literally")
+    void disable_DomainWildcards_MatchedLiterally() {
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setEmailDomain("fraud_example");
+
+        assertEquals(0, userBulkService.apply(BulkUserAction.DISABLE, filter, ids -> { }));
+        filter.setEmailDomain("%");
+        assertEquals(0, userBulkService.apply(BulkUserAction.DISABLE, filter, ids -> { }));
+    }
+
+    @Test
+    @DisplayName("Running the same bulk action again affects nobody")
+    void disable_IsIdempotent() {
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setSeller(true);
+
+        userBulkService.apply(BulkUserAction.DISABLE, filter, ids -> { });
+        long second = userBulkService.apply(BulkUserAction.DISABLE, filter, ids -> { });
+
+        assertEquals(0, second);
+    }
+
+    @Test
+    @DisplayName("Bulk delete soft-deletes users and revokes their tokens")
+    void delete_SoftDeletesUsers() {
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setSeller(true);
+
+        long affected = userBulkService.apply(BulkUserAction.DELETE, filter, ids -> { });
+
+        assertEquals(20, affected);
+        assertEquals(20, userRepository.count());
+        assertEquals(20, count("SELECT count(*) FROM users WHERE deleted_at IS NOT NULL AND is_seller"));
+        assertEquals(20, count("SELECT count(*) FROM refresh_tokens"));
+    }
+
+    @Test
+    @DisplayName("An empty filter is rejected")
+    void emptyFilter_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userBulkService.apply(BulkUserAction.DISABLE, new BulkUserFilter(), ids -> { }));
+        assertEquals(40, userRepository.count());
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,197 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserChangeFeedIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.feed.poll-interval-ms", () -> 50);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Stream<String>> streams = new ArrayList<>();
+    private User admin;
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        admin = saveUser("admin@example.com", "+15550000001", Role.RoleType.ROLE_ADMIN);
+        customer = saveUser("customer@example.com", "+15550000002", Role.RoleType.ROLE_CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(Stream::close);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Admins receive user changes as they happen and can resume from the last event id")
+    void stream_DeliversChangesAndResumes() throws Exception {
+        BlockingQueue<String> lines = openStream(tokenFor(admin), null);
+
+        rename(customer, "First");
+        String firstId = awaitLine(lines, "id:");
+        assertEquals("event:USER_UPDATED", awaitLine(lines, "event:"));
+        assertTrue(awaitLine(lines, "data:").contains("\"firstName\": \"First\""));
+
+        rename(customer, "Second");
+        rename(customer, "Third");
+
+        BlockingQueue<String> resumed = openStream(tokenFor(admin), firstId.substring("id:".length()));
+        awaitLine(resumed, "id:");
+        assertTrue(awaitLine(resumed, "data:").contains("\"firstName\": \"Second\""));
+        awaitLine(resumed, "id:");
+        assertTrue(awaitLine(resumed, "data:").contains("\"firstName\": \"Third\""));
+    }
+
+    @Test
+    @DisplayName("An unknown position resets the stream")
+    void stream_UnknownPosition_Resets() throws Exception {
+        BlockingQueue<String> lines = openStream(tokenFor(admin), "issued-elsewhere");
+
+        assertEquals("event:RESET", awaitLine(lines, "event:"));
+    }
+
+    @Test
+    @DisplayName("Non-admins cannot subscribe")
+    void stream_RequiresAdmin() throws Exception {
+        HttpResponse<Void> response = httpClient.send(request(tokenFor(customer), null),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(403, response.statusCode());
+    }
+
+    private BlockingQueue<String> openStream(String token, String lastEventId) throws Exception {
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> response = httpClient.send(request(token, lastEventId),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        streams.add(response.body());
+        CompletableFuture.runAsync(() -> response.body().forEach(lines::add));
+        return lines;
+    }
+
+    private HttpRequest request(String token, String lastEventId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/users/changes"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return builder.GET().build();
+    }
+
+    private String awaitLine(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String line = lines.poll(100, TimeUnit.MILLISECONDS);
+            if (line != null && line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new AssertionError("No '" + prefix + "' line received");
+    }
+
+    private void rename(User user, String firstName) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        User details = new User();
+        details.setFirstName(firstName);
+        details.setEnabled(true);
+        details.setActive(true);
+        userService.updateUser(user.getId(), details);
+    }
+
+    private String tokenFor(User user) {
+        UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    private User saveUser(String email, String phone, Role.RoleType roleType) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword("encodedPassword");
+        user.addRole(roleRepository.findByName(roleType).orElseThrow());
+        return userRepository.save(user);
+    }
+}
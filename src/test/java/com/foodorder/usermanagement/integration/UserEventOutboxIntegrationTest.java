@@ -0,0 +1,279 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.dto.request.BulkUserFilter;
+import com.foodorder.usermanagement.model.BulkUserAction;
+import com.foodorder.usermanagement.model.OutboxEvent;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.InMemoryBrokerOutboxSink;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
+import com.foodorder.usermanagement.outbox.OutboxRelay;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserBulkService;
+import com.foodorder.usermanagement.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The relay is driven by hand; the scheduled poll is pushed out of the way so it cannot
+ * race the assertions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@Testcontainers(disabledWithoutDocker = true)
+class UserEventOutboxIntegrationTest {
+
+    @TempDir
+    static Path outboxDir;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.outbox.sinks", () -> "in-process,file,broker");
+        registry.add("app.outbox.relay.poll-interval-ms", () -> 3_600_000);
+        registry.add("app.outbox.file.path", () -> outboxDir.resolve("user-events.ndjson").toString());
+        registry.add("app.outbox.broker.partitions", () -> 1);
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBulkService userBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxRecorder outboxRecorder;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryBrokerOutboxSink broker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private long brokerStart;
+
+    @BeforeEach
+    void setUp() {
+        // Drain whatever earlier tests left behind, then start from a clean table
+        outboxRelay.relay("in-process");
+        outboxRelay.relay("file");
+        outboxRelay.relay("broker");
+        brokerStart = broker.endOffset(0);
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+
+        User newUser = new User();
+        newUser.setFirstName("Outbox");
+        newUser.setLastName("User");
+        newUser.setEmail("outbox@example.com");
+        newUser.setPhone("+15550009999");
+        newUser.setPassword("encodedPassword");
+        user = userRepository.save(newUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("A user update is relayed to every sink with a snapshot of the committed row")
+    void update_IsRelayedToAllSinks() throws Exception {
+        userService.updateUser(user.getId(), details("Renamed"));
+
+        assertEquals(1, outboxRelay.relay("broker"));
+        outboxRelay.relay("in-process");
+        outboxRelay.relay("file");
+
+        List<OutboxEvent> delivered = brokerEvents();
+        assertEquals(1, delivered.size());
+        OutboxEvent event = delivered.get(0);
+        assertEquals(UserEventType.USER_UPDATED.name(), event.getEventType());
+        assertEquals(user.getId(), event.getAggregateId());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals("Renamed", payload.get("firstName").asText());
+        assertEquals(1, payload.get("version").asLong());
+
+        assertEquals(1, events.stream(OutboxEvent.class).filter(e -> e.getId().equals(event.getId())).count());
+        List<String> lines = Files.readAllLines(outboxDir.resolve("user-events.ndjson"));
+        JsonNode line = objectMapper.readTree(lines.get(lines.size() - 1));
+        assertEquals(event.getId(), line.get("id").asLong());
+        assertEquals("Renamed", line.get("payload").get("firstName").asText());
+    }
+
+    @Test
+    @DisplayName("Events of a rolled-back transaction are never relayed")
+    void rolledBackChange_LeavesNoEvent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRecorder.record(UserEventType.USER_UPDATED, user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRelay.relay("broker"));
+        assertEquals(0, count("SELECT count(*) FROM outbox_events"));
+    }
+
+    @Test
+    @DisplayName("Recording outside a transaction is rejected")
+    void recordWithoutTransaction_IsRejected() {
+        assertThrows(Exception.class, () -> outboxRecorder.record(UserEventType.USER_UPDATED, user.getId()));
+    }
+
+    @Test
+    @DisplayName("An event committed later by an older transaction is not skipped")
+    void olderTransactionCommittingLate_IsNotSkipped() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> older = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    outboxRecorder.record(UserEventType.USER_DISABLED, user.getId());
+                    recorded.countDown();
+                    await(release);
+                }));
+        assertTrue(recorded.await(30, TimeUnit.SECONDS));
+
+        userService.updateUser(user.getId(), details("Newer"));
+        assertEquals(0, outboxRelay.relay("broker"), "Relayed past a transaction that is still running");
+
+        release.countDown();
+        older.get(30, TimeUnit.SECONDS);
+        assertEquals(2, outboxRelay.relay("broker"));
+        assertEquals(List.of(UserEventType.USER_DISABLED.name(), UserEventType.USER_UPDATED.name()),
+                brokerEvents().stream().map(OutboxEvent::getEventType).toList());
+    }
+
+    @Test
+    @DisplayName("Replaying a sink delivers the events from the given one again")
+    void replay_RedeliversEvents() {
+        for (int i = 0; i < 3; i++) {
+            userService.updateUser(user.getId(), details("Name" + i));
+        }
+        assertEquals(3, outboxRelay.relay("broker"));
+        OutboxEvent second = brokerEvents().get(1);
+
+        outboxRelay.replay("broker", second.getId());
+
+        assertEquals(2, outboxRelay.relay("broker"));
+        List<Long> ids = brokerEvents().stream().map(OutboxEvent::getId).toList();
+        assertEquals(5, ids.size());
+        assertEquals(ids.subList(1, 3), ids.subList(3, 5));
+    }
+
+    @Test
+    @DisplayName("Bulk actions write one event per affected user in the same chunk transaction")
+    void bulkAction_RecordsEventPerUser() {
+        jdbcTemplate.update("""
+                INSERT INTO users (created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active)
+                SELECT now(), now(), 0, 'First' || g, 'Last' || g, 'bulk' || g || '@example.com',
+                       '+1' || lpad(g::text, 9, '0'), 'secret', true, true, true
+                FROM generate_series(1, 12) AS g
+                """);
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setSeller(true);
+
+        userBulkService.apply(BulkUserAction.DISABLE, filter, ids -> { });
+
+        assertEquals(12, outboxRelay.relay("broker"));
+        assertTrue(brokerEvents().stream()
+                .allMatch(event -> event.getEventType().equals(UserEventType.USER_DISABLED.name())
+                        && event.getPayload().contains("\"enabled\": false")));
+    }
+
+    @Test
+    @DisplayName("Deleting a user records a USER_DELETED event")
+    void delete_RecordsEvent() throws Exception {
+        userService.deleteUser(user.getId());
+
+        outboxRelay.relay("broker");
+
+        OutboxEvent event = brokerEvents().get(0);
+        assertEquals(UserEventType.USER_DELETED.name(), event.getEventType());
+        assertTrue(objectMapper.readTree(event.getPayload()).get("deleted").asBoolean());
+    }
+
+    private List<OutboxEvent> brokerEvents() {
+        return new ArrayList<>(broker.poll(0, brokerStart, Integer.MAX_VALUE));
+    }
+
+    private User details(String firstName) {
+        User details = new User();
+        details.setFirstName(firstName);
+        details.setEnabled(true);
+        details.setActive(true);
+        return details;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
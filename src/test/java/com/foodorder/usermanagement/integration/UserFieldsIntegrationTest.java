@@ -0,0 +1,196 @@
+package com.foodorder.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.RoleRepository;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.security.CustomUserDetailsService;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserFieldsIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User admin;
+    private User seller;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM seller_profiles");
+        admin = saveUser("admin@example.com", "+15550000001", Role.RoleType.ROLE_ADMIN);
+        seller = saveUser("seller@example.com", "+15550000002", Role.RoleType.ROLE_SELLER);
+        token = tokenFor(admin);
+    }
+
+    @Test
+    @DisplayName("Only the selected fields are returned, seller fields included")
+    void getUser_WithFields_ReturnsOnlyThoseFields() {
+        ResponseEntity<JsonNode> response = get("/api/v1/users/" + seller.getId() + "?fields=email, businessName,id", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode body = response.getBody();
+        assertEquals(List.of("id", "email", "businessName"), fieldNames(body));
+        assertEquals("seller@example.com", body.get("email").asText());
+        assertEquals("Kitchen", body.get("businessName").asText());
+    }
+
+    @Test
+    @DisplayName("A matching If-None-Match gets 304 until the user changes")
+    void getUser_IfNoneMatch_NotModifiedUntilChanged() {
+        String path = "/api/v1/users/" + seller.getId() + "?fields=firstName,businessName";
+        ResponseEntity<JsonNode> first = get(path, null);
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+        assertFalse(eTag.startsWith("W/"), "ETags are strong");
+
+        ResponseEntity<JsonNode> unchanged = get(path, eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(eTag, unchanged.getHeaders().getETag());
+
+        // Another selection is another representation
+        assertNotEquals(eTag, get("/api/v1/users/" + seller.getId() + "?fields=firstName", null).getHeaders().getETag());
+        assertNotEquals(eTag, get("/api/v1/users/" + seller.getId(), null).getHeaders().getETag());
+
+        // A seller profile write changes the tag even though the users row is untouched
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(seller.getId()).orElseThrow().setBusinessName("Bakery"));
+
+        ResponseEntity<JsonNode> changed = get(path, eTag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals("Bakery", changed.getBody().get("businessName").asText());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("List endpoints carry a collection ETag that changes when a member does")
+    void getUsers_CollectionETag() {
+        ResponseEntity<JsonNode> first = get("/api/v1/users?fields=id,email", null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(2, first.getBody().size());
+        assertEquals(List.of("id", "email"), fieldNames(first.getBody().get(0)));
+        String eTag = first.getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/api/v1/users?fields=id,email", eTag).getStatusCode());
+
+        jdbcTemplate.update("UPDATE users SET deleted_at = now(), version = version + 1 WHERE id = ?", seller.getId());
+
+        ResponseEntity<JsonNode> afterDelete = get("/api/v1/users?fields=id,email", eTag);
+        assertEquals(HttpStatus.OK, afterDelete.getStatusCode());
+        assertEquals(1, afterDelete.getBody().size());
+
+        String full = get("/api/v1/users", null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/api/v1/users", full).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Unknown or restricted fields are rejected")
+    void getUser_UnknownField_IsBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, get("/api/v1/users/" + seller.getId() + "?fields=password", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, get("/api/v1/users/sellers?fields=id,nope", null).getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> get(String path, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private String tokenFor(User user) {
+        UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    private User saveUser(String email, String phone, Role.RoleType roleType) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPassword("encodedPassword");
+        if (roleType == Role.RoleType.ROLE_SELLER) {
+            user.setSeller(true);
+            user.setBusinessName("Kitchen");
+            user.setBusinessAddress("1 Market Street");
+        }
+        user.addRole(roleRepository.findByName(roleType).orElseThrow());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,161 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.job.UserPurgeJob;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserSoftDeleteIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.users.purge.batch-size", () -> 3);
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPurgeJob userPurgeJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        user = userRepository.save(newUser("deleted@example.com", "+15550000001"));
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_CUSTOMER'
+                """, user.getId());
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (created_at, updated_at, version, user_id, token, expiry_date, revoked)
+                VALUES (now(), now(), 0, ?, 'token', now() + interval '1 day', false)
+                """, user.getId());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deleting flags the row and hides it from every query")
+    void delete_HidesUser() {
+        userService.deleteUser(user.getId());
+
+        assertEquals(1, count("SELECT count(*) FROM users WHERE deleted_at IS NOT NULL"));
+        assertEquals(1, count("SELECT count(*) FROM refresh_tokens"));
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertTrue(userRepository.findByEmail("deleted@example.com").isEmpty());
+        assertFalse(userRepository.existsByEmail("deleted@example.com"));
+        assertTrue(userRepository.findAllCustomers().isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Deleting an already deleted user is reported as not found")
+    void delete_Twice() {
+        userService.deleteUser(user.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    @DisplayName("A deleted user's email and phone can be registered again")
+    void delete_ReleasesUniqueKeys() {
+        userService.deleteUser(user.getId());
+
+        User replacement = userRepository.save(newUser("deleted@example.com", "+15550000001"));
+
+        assertNotEquals(user.getId(), replacement.getId());
+    }
+
+    @Test
+    @DisplayName("The purge job removes users past retention with their dependent rows")
+    void purge_RemovesExpiredUsers() {
+        for (int i = 0; i < 7; i++) {
+            User seller = newUser("other" + i + "@example.com", "+1555000010" + i);
+            seller.setSeller(true);
+            seller.setBusinessName("Kitchen " + i);
+            User other = userRepository.save(seller);
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.softDelete(other.getId(), LocalDateTime.now().minusDays(30)));
+        }
+        userService.deleteUser(user.getId());
+
+        long purged = userPurgeJob.purge(LocalDateTime.now().minusDays(7));
+
+        assertEquals(7, purged);
+        assertEquals(1, count("SELECT count(*) FROM users"));
+        assertEquals(0, count("SELECT count(*) FROM seller_profiles"));
+        assertEquals(1, count("SELECT count(*) FROM refresh_tokens"));
+
+        assertEquals(1, userPurgeJob.purge(LocalDateTime.now().plusMinutes(1)));
+        assertEquals(0, count("SELECT count(*) FROM users"));
+        assertEquals(0, count("SELECT count(*) FROM user_roles"));
+        assertEquals(0, count("SELECT count(*) FROM refresh_tokens"));
+    }
+
+    private User newUser(String email, String phone) {
+        User newUser = new User();
+        newUser.setFirstName("Test");
+        newUser.setLastName("User");
+        newUser.setEmail(email);
+        newUser.setPhone(phone);
+        newUser.setPassword("encodedPassword");
+        return newUser;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+}
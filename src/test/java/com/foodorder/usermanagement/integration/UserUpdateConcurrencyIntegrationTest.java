@@ -0,0 +1,131 @@
+package com.foodorder.usermanagement.integration;
+
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single user row with concurrent profile updates and checks that lost races are
+ * retried rather than surfacing as errors.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserUpdateConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 25;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 4);
+        registry.add("app.retry.conflict.max-attempts", () -> 20);
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        User newUser = new User();
+        newUser.setFirstName("Initial");
+        newUser.setLastName("User");
+        newUser.setEmail("contended@example.com");
+        newUser.setPhone("+15550001234");
+        newUser.setPassword("encodedPassword");
+        user = userRepository.save(newUser);
+    }
+
+    @Test
+    @DisplayName("Concurrent updates of one user are all applied via retries")
+    void concurrentUpdates_AreRetried() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger applied = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        double conflictsBefore = meterRegistry.counter("users.optimistic_lock.conflicts").count();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    User details = new User();
+                    details.setFirstName("T" + thread + "U" + i);
+                    details.setLastName("User");
+                    details.setEnabled(true);
+                    details.setActive(true);
+                    userService.updateUser(user.getId(), details);
+                    applied.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get(2, TimeUnit.MINUTES);
+            } catch (Exception ex) {
+                failures.add(ex.getCause());
+            }
+        }
+        executor.shutdown();
+
+        assertTrue(failures.stream().allMatch(OptimisticLockingFailureException.class::isInstance),
+                "Unexpected failures: " + failures);
+        assertEquals(THREADS * UPDATES_PER_THREAD, applied.get(), "Updates lost to exhausted retries");
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(user.getVersion() + applied.get(), reloaded.getVersion());
+        assertTrue(meterRegistry.counter("users.optimistic_lock.conflicts").count() > conflictsBefore);
+    }
+}
@@ -0,0 +1,51 @@
+package com.foodorder.usermanagement.mail;
+
+import com.foodorder.usermanagement.model.EmailType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    @DisplayName("Subject and body are rendered from the model")
+    void render_SubstitutesVariables() {
+        EmailTemplate template = EmailTemplate.compile("greeting",
+                "Subject: Hello {{ name }}\n\nHi {{name}}, your code is {{code}}.\n");
+
+        Map<String, String> model = Map.of("name", "Ada", "code", "42");
+
+        assertEquals("Hello Ada", template.renderSubject(model));
+        assertEquals("Hi Ada, your code is 42.\n", template.renderBody(model));
+        assertEquals(Set.of("name", "code"), template.getVariables());
+    }
+
+    @Test
+    @DisplayName("A missing model value is rejected")
+    void render_MissingValue_Throws() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "Subject: Hi\n\nHello {{name}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.renderBody(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Templates without a subject line or with unclosed variables do not compile")
+    void compile_MalformedTemplate_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("a", "Hello {{name}}"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("b", "Subject: Hi\n\nHello {{name"));
+    }
+
+    @Test
+    @DisplayName("Every email type has a template that compiles")
+    void bundledTemplates_Compile() {
+        EmailTemplates templates = new EmailTemplates();
+
+        for (EmailType type : EmailType.values()) {
+            assertTrue(templates.get(type).getVariables().contains("firstName"), type.name());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.foodorder.usermanagement.mapper;
+
+import com.foodorder.usermanagement.dto.UserDTO;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMapperTest {
+
+    private final UserMapper mapper = Mappers.getMapper(UserMapper.class);
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setName(Role.RoleType.ROLE_SELLER);
+
+        seller = new User();
+        seller.setId(3L);
+        seller.setFirstName("Sam");
+        seller.setLastName("Seller");
+        seller.setEmail("seller@example.com");
+        seller.setPhone("+15550000003");
+        seller.setPassword("encodedPassword");
+        seller.setSeller(true);
+        seller.setBusinessName("Kitchen");
+        seller.setBusinessAddress("1 Market Street");
+        seller.setUpiId("kitchen@upi");
+        seller.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        seller.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 12, 0));
+        seller.setVersion(4L);
+        seller.addRole(role);
+    }
+
+    @Test
+    @DisplayName("Responses carry the profile fields and role names but never the password")
+    void toResponse_MapsSellerWithoutPassword() {
+        UserResponse response = mapper.toResponse(seller);
+
+        assertEquals(3L, response.getId());
+        assertEquals("seller@example.com", response.getEmail());
+        assertEquals(Set.of("ROLE_SELLER"), response.getRoles());
+        assertTrue(response.isSeller());
+        assertTrue(response.isEnabled());
+        assertTrue(response.isActive());
+        assertEquals("Kitchen", response.getBusinessName());
+        assertEquals("kitchen@upi", response.getUpiId());
+        assertEquals(4L, response.getVersion());
+        assertEquals(seller.getUpdatedAt(), response.getUpdatedAt());
+        assertEquals(1, mapper.toResponses(List.of(seller)).size());
+    }
+
+    @Test
+    @DisplayName("DTOs round-trip to entities without identity, roles or audit columns")
+    void toEntity_IgnoresServerManagedFields() {
+        UserDTO dto = mapper.toDto(seller);
+        assertEquals(3L, dto.getId());
+        assertEquals("Kitchen", dto.getBusinessName());
+        assertTrue(dto.isSeller());
+
+        User user = mapper.toEntity(dto);
+
+        assertNull(user.getId());
+        assertNull(user.getVersion());
+        assertTrue(user.getRoles().isEmpty());
+        assertEquals("seller@example.com", user.getEmail());
+        assertEquals("encodedPassword", user.getPassword());
+        assertEquals("1 Market Street", user.getBusinessAddress());
+        assertTrue(user.isSeller());
+    }
+}
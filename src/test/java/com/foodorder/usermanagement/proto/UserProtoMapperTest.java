@@ -0,0 +1,103 @@
+package com.foodorder.usermanagement.proto;
+
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.ErrorResponse;
+import com.foodorder.usermanagement.dto.response.JwtResponse;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.dto.response.UserResponse;
+import com.foodorder.usermanagement.proto.v1.BatchLookupRequest;
+import com.foodorder.usermanagement.proto.v1.BatchLookupResponse;
+import com.foodorder.usermanagement.proto.v1.Jwt;
+import com.foodorder.usermanagement.proto.v1.User;
+import com.foodorder.usermanagement.proto.v1.UserSummaryOrBuilder;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserProtoMapperTest {
+
+    @Test
+    @DisplayName("Users survive the wire format; missing optional fields stay unset")
+    void toMessage_User_RoundTrips() throws InvalidProtocolBufferException {
+        UserResponse response = new UserResponse();
+        response.setId(3L);
+        response.setEmail("seller@example.com");
+        response.setFirstName("Sam");
+        response.setLastName("Seller");
+        response.setRoles(Set.of("ROLE_SELLER"));
+        response.setEnabled(true);
+        response.setActive(true);
+        response.setSeller(true);
+        response.setBusinessName("Kitchen");
+        response.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 12, 0, 0, 123_456_000));
+        response.setVersion(4L);
+
+        User user = User.parseFrom(UserProtoMapper.toMessage(response).toByteArray());
+
+        assertEquals(3L, user.getId());
+        assertEquals("seller@example.com", user.getEmail());
+        assertEquals("", user.getPhone());
+        assertEquals(List.of("ROLE_SELLER"), user.getRolesList());
+        assertTrue(user.getSeller());
+        assertEquals("Kitchen", user.getBusinessName());
+        assertFalse(user.hasUpiId());
+        assertFalse(user.hasCreatedAt());
+        assertEquals(response.getUpdatedAt().atZone(ZoneId.systemDefault()).toEpochSecond(),
+                user.getUpdatedAt().getSeconds());
+        assertEquals(123_456_000, user.getUpdatedAt().getNanos());
+        assertEquals(4L, user.getVersion());
+    }
+
+    @Test
+    @DisplayName("Batch results keep their key, order and misses")
+    void toMessage_Batch_KeepsKeysAndMisses() {
+        UserSummary summary = new UserSummary(1L, "a@example.com", "A", "User", "+15550000001", false, true, null, null);
+        BatchLookupResponse batch = UserProtoMapper.toMessage(new UserBatchLookupResponse(List.of(
+                UserBatchLookupResponse.Result.forId(1L, summary),
+                UserBatchLookupResponse.Result.forId(2L, null),
+                UserBatchLookupResponse.Result.forEmail("a@example.com", summary))));
+
+        assertEquals(3, batch.getResultsCount());
+        BatchLookupResponse.Result byId = batch.getResults(0);
+        assertEquals(BatchLookupResponse.Result.KeyCase.ID, byId.getKeyCase());
+        assertTrue(byId.getFound());
+        UserSummaryOrBuilder user = byId.getUserOrBuilder();
+        assertEquals("a@example.com", user.getEmail());
+        assertFalse(user.hasBusinessName());
+
+        assertFalse(batch.getResults(1).getFound());
+        assertFalse(batch.getResults(1).hasUser());
+        assertEquals(BatchLookupResponse.Result.KeyCase.EMAIL, batch.getResults(2).getKeyCase());
+        assertEquals("a@example.com", batch.getResults(2).getEmail());
+    }
+
+    @Test
+    @DisplayName("Tokens, errors and batch requests convert; other types have no representation")
+    void otherTypes() {
+        Jwt jwt = (Jwt) UserProtoMapper.toMessage(new JwtResponse("token", 7L, "a@example.com", List.of("ROLE_CUSTOMER")));
+        assertEquals("Bearer", jwt.getType());
+        assertEquals(7L, jwt.getId());
+
+        com.foodorder.usermanagement.proto.v1.Error error = UserProtoMapper.toMessage(
+                new ErrorResponse(404, "User not found", LocalDateTime.now()));
+        assertEquals(404, error.getStatus());
+
+        UserBatchLookupRequest request = UserProtoMapper.fromMessage(BatchLookupRequest.newBuilder()
+                .addIds(1L)
+                .addEmails("a@example.com")
+                .build());
+        assertEquals(List.of(1L), request.getIds());
+        assertEquals(List.of("a@example.com"), request.getEmails());
+
+        assertNull(UserProtoMapper.toMessage("plain string"));
+        assertFalse(UserProtoMapper.canConvert(String.class));
+    }
+}
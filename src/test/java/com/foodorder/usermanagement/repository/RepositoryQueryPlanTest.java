@@ -0,0 +1,314 @@
+package com.foodorder.usermanagement.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.dto.UserField;
+import com.foodorder.usermanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls every declared repository method, records the SQL Hibernate sends for it, and runs
+ * EXPLAIN on that SQL once the tables hold {@value #SEED_USERS} users. Fails when a plan falls
+ * back to a sequential scan over a table larger than {@code plan.seqscan.row-threshold} rows.
+ * Sequential scans are disabled for the session, so a Seq Scan in the plan means no index can
+ * serve the query at all.
+ *
+ * <p>The methods are called while only the first {@value #CALLED_USERS} users exist, so eager
+ * loads stay few, and each call is rolled back. Statements are planned as generic prepared
+ * statements, the way the driver runs them once it has prepared them server-side.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+    private static final int CALLED_USERS = 50;
+    private static final int SEED_USERS = 20_000;
+    private static final long ROW_THRESHOLD = Long.getLong("plan.seqscan.row-threshold", 1_000L);
+    private static final List<Long> IDS = List.of(41L, 42L, 43L);
+    private static final List<String> EMAILS = List.of("user40@example.com", "user41@example.com");
+
+    private static final List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer recordingStatementInspector() {
+            StatementInspector inspector = sql -> {
+                recorded.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerProfileRepository sellerProfileRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+
+    @Autowired
+    private ServiceClientRepository serviceClientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Every declared repository method is called by the plan check")
+    void everyRepositoryMethodIsCovered() {
+        Set<String> called = calls().keySet();
+        List<String> missing = new ArrayList<>();
+        for (Class<?> repository : List.of(UserRepository.class, UserFieldsRepository.class, SellerProfileRepository.class,
+                RefreshTokenRepository.class, OutboxEventRepository.class, OutboxOffsetRepository.class,
+                EmailQueueRepository.class, ServiceClientRepository.class)) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .map(Method::getName)
+                    .map(name -> repository.getSimpleName() + "." + name)
+                    .filter(key -> !called.contains(key))
+                    .forEach(missing::add);
+        }
+        assertTrue(missing.isEmpty(), "No EXPLAIN check for repository methods: " + missing);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesAvoidSequentialScans() {
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true));
+        seed(1, CALLED_USERS);
+
+        Map<String, Set<String>> statements = new LinkedHashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        calls().forEach((method, call) -> {
+            recorded.clear();
+            transaction.executeWithoutResult(status -> {
+                call.run();
+                entityManager.flush();
+                status.setRollbackOnly();
+            });
+            statements.put(method, new LinkedHashSet<>(recorded));
+        });
+
+        seed(CALLED_USERS + 1, SEED_USERS);
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET enable_seqscan = off");
+        jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+
+        return statements.entrySet().stream()
+                .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+                    assertFalse(entry.getValue().isEmpty(), "No SQL recorded for " + entry.getKey());
+                    for (String sql : entry.getValue()) {
+                        assertNoLargeSeqScan(sql);
+                    }
+                }));
+    }
+
+    // Sample arguments hit rows among the first CALLED_USERS users, none of them sellers whose profile would block a delete
+    private Map<String, Runnable> calls() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<UserField> fields = EnumSet.of(UserField.EMAIL, UserField.BUSINESS_NAME);
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("UserRepository.findAll", () -> userRepository.findAll());
+        calls.put("UserRepository.findByEmail", () -> userRepository.findByEmail("User42@Example.com"));
+        calls.put("UserRepository.findByPhone", () -> userRepository.findByPhone("+1000000042"));
+        calls.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("user42@example.com"));
+        calls.put("UserRepository.findAllWithRolesByEmailIn", () -> userRepository.findAllWithRolesByEmailIn(EMAILS));
+        calls.put("UserRepository.findSummariesByIdIn", () -> userRepository.findSummariesByIdIn(IDS));
+        calls.put("UserRepository.findSummariesByEmailIn", () -> userRepository.findSummariesByEmailIn(EMAILS));
+        calls.put("UserRepository.findAllSellers", () -> userRepository.findAllSellers());
+        calls.put("UserRepository.findAllCustomers", () -> userRepository.findAllCustomers());
+        calls.put("UserRepository.bulkSetEnabled", () -> userRepository.bulkSetEnabled(IDS, false, now));
+        calls.put("UserRepository.bulkSetActive", () -> userRepository.bulkSetActive(IDS, false, now));
+        calls.put("UserRepository.softDelete", () -> userRepository.softDelete(42L, now));
+        calls.put("UserRepository.bulkSoftDelete", () -> userRepository.bulkSoftDelete(IDS, now));
+        calls.put("UserRepository.findPurgeableIds", () -> userRepository.findPurgeableIds(now, 500));
+        calls.put("UserRepository.findSellerProfileIds", () -> userRepository.findSellerProfileIds(IDS));
+        calls.put("UserRepository.deleteRoleLinks", () -> userRepository.deleteRoleLinks(IDS));
+        calls.put("UserRepository.purgeDeleted", () -> userRepository.purgeDeleted(IDS));
+        calls.put("UserFieldsRepository.findFieldsById", () -> userRepository.findFieldsById(42L, fields));
+        calls.put("UserFieldsRepository.findFields", () -> userRepository.findFields(true, fields));
+        calls.put("SellerProfileRepository.deleteByIds", () -> sellerProfileRepository.deleteByIds(IDS));
+        calls.put("RefreshTokenRepository.findByToken", () -> refreshTokenRepository.findByToken("token-42"));
+        calls.put("RefreshTokenRepository.findByUser", () -> refreshTokenRepository.findByUser(user(42L)));
+        calls.put("RefreshTokenRepository.deleteByUser", () -> refreshTokenRepository.deleteByUser(user(42L)));
+        calls.put("RefreshTokenRepository.deleteByUserIds", () -> refreshTokenRepository.deleteByUserIds(IDS));
+        calls.put("RefreshTokenRepository.deleteExpiredTokens", () -> refreshTokenRepository.deleteExpiredTokens());
+        calls.put("OutboxEventRepository.insertUserEvents",
+                () -> outboxEventRepository.insertUserEvents(IDS, "USER_UPDATED", now));
+        calls.put("OutboxEventRepository.findBatchAfter", () -> outboxEventRepository.findBatchAfter(1000, 42, 500));
+        calls.put("OutboxEventRepository.findLatestRelayable", () -> outboxEventRepository.findLatestRelayable());
+        calls.put("OutboxEventRepository.deleteRelayedBefore", () -> outboxEventRepository.deleteRelayedBefore(now, 500));
+        calls.put("OutboxOffsetRepository.lockBySink", () -> outboxOffsetRepository.lockBySink("broker"));
+        calls.put("OutboxOffsetRepository.createIfMissing", () -> outboxOffsetRepository.createIfMissing("broker"));
+        calls.put("EmailQueueRepository.claimDue", () -> emailQueueRepository.claimDue(now, 50));
+        calls.put("EmailQueueRepository.markSent", () -> emailQueueRepository.markSent(IDS, now));
+        calls.put("EmailQueueRepository.deleteFinishedBefore",
+                () -> emailQueueRepository.deleteFinishedBefore(now.minusDays(30)));
+        calls.put("ServiceClientRepository.findByClientId", () -> serviceClientRepository.findByClientId("order-service"));
+        return calls;
+    }
+
+    // A reference, so looking the user up adds no statement of its own
+    private User user(Long id) {
+        return entityManager.getReference(User.class, id);
+    }
+
+    private void seed(int from, int to) {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, created_at, updated_at, version, first_name, last_name, email, phone,
+                                   password, enabled, is_seller, is_active, deleted_at)
+                SELECT g, now(), now(), 0, 'First' || g, 'Last' || g, 'user' || g || '@example.com',
+                       '+1' || lpad(g::text, 9, '0'), 'secret', true, g % 10 = 0, true,
+                       CASE WHEN g % 100 = 1 THEN now() - interval '60 days' END
+                FROM generate_series(?, ?) AS g
+                """, from, to);
+        jdbcTemplate.update("""
+                WITH profiles AS (
+                    INSERT INTO seller_profiles (id, created_at, updated_at, version, business_name)
+                    SELECT u.id, now(), now(), 0, 'Business ' || u.id FROM users u
+                    WHERE u.is_seller AND u.id BETWEEN ? AND ?
+                    RETURNING id
+                )
+                UPDATE users u SET seller_profile_id = profiles.id FROM profiles WHERE u.id = profiles.id
+                """, from, to);
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT u.id, r.id FROM users u
+                JOIN roles r ON r.name = CASE WHEN u.is_seller THEN 'ROLE_SELLER' ELSE 'ROLE_CUSTOMER' END
+                WHERE u.id BETWEEN ? AND ?
+                """, from, to);
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (created_at, updated_at, version, user_id, token, expiry_date, revoked)
+                SELECT now(), now(), 0, u.id, 'token-' || u.id, now() + (u.id % 30 - 15) * interval '1 day', false
+                FROM users u WHERE u.id BETWEEN ? AND ?
+                """, from, to);
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events (tx_id, aggregate_type, aggregate_id, event_type, payload, created_at)
+                SELECT 1000 + u.id / 10, 'user', u.id, 'USER_REGISTERED', '{}', now() - (u.id % 30) * interval '1 day'
+                FROM users u WHERE u.id BETWEEN ? AND ?
+                """, from, to);
+        jdbcTemplate.update("""
+                INSERT INTO email_queue (email_type, recipient, model, status, attempts, next_attempt_at, created_at)
+                SELECT 'WELCOME', u.email, '{}', CASE WHEN u.id % 100 = 0 THEN 'PENDING' ELSE 'SENT' END, 1,
+                       now() - (u.id % 60) * interval '1 day', now() - (u.id % 60) * interval '1 day'
+                FROM users u WHERE u.id BETWEEN ? AND ?
+                """, from, to);
+        if (from == 1) {
+            jdbcTemplate.update("INSERT INTO outbox_offsets (sink, last_tx_id, last_event_id, updated_at) "
+                    + "VALUES ('broker', 1000, 42, now())");
+        }
+    }
+
+    // Parameters are left unbound: a generic plan is the same whatever values they take
+    private void assertNoLargeSeqScan(String sql) throws Exception {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        jdbcTemplate.execute("DEALLOCATE ALL");
+        jdbcTemplate.execute("PREPARE plan_check AS " + prepared);
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                + (parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")"),
+                String.class);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+
+        List<String> offenders = new ArrayList<>();
+        collectSeqScans(plan, offenders);
+        assertTrue(offenders.isEmpty(), "Sequential scan on " + offenders + " for: " + sql + "\n" + json);
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> offenders) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            if (estimatedRows(relation) > ROW_THRESHOLD) {
+                offenders.add(relation);
+            }
+        }
+        node.path("Plans").forEach(child -> collectSeqScans(child, offenders));
+    }
+
+    private long estimatedRows(String relation) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE relname = ?", Long.class, relation);
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodorder.usermanagement.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("JJWT's implementation and Jackson serializer are reachable in a native image")
+    void registersJjwtHints() {
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(io.jsonwebtoken.impl.DefaultJwtBuilder.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(io.jsonwebtoken.impl.DefaultJwtParserBuilder.class)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(io.jsonwebtoken.jackson.io.JacksonDeserializer.class)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .test(hints));
+    }
+}
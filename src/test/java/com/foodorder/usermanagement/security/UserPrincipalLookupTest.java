@@ -0,0 +1,111 @@
+package com.foodorder.usermanagement.security;
+
+import com.foodorder.usermanagement.coalescing.SingleFlight;
+import com.foodorder.usermanagement.datasource.ReplicaLagGuard;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalLookupTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<ReplicaLagGuard> replicaLagGuard;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPrincipalLookup lookup;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        lookup = new UserPrincipalLookup(userRepository, transactionManager, replicaLagGuard, meterRegistry);
+
+        Role role = new Role();
+        role.setName(Role.RoleType.ROLE_ADMIN);
+        admin = new User();
+        admin.setId(7L);
+        admin.setEmail("admin@example.com");
+        admin.setPassword("encodedPassword");
+        admin.addRole(role);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Outside a transaction the lookup is coalesced and runs in its own read-only transaction")
+    void findByEmail_NoTransaction_Coalesced() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(admin));
+
+        UserPrincipal principal = lookup.findByEmail("admin@example.com").orElseThrow();
+
+        assertEquals(7L, principal.getId());
+        assertEquals("admin@example.com", principal.getUsername());
+        assertTrue(principal.isAdmin());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(1, calls("leader"));
+    }
+
+    @Test
+    @DisplayName("Inside a read-write transaction the lookup runs on its own")
+    void findByEmail_ReadWriteTransaction_Bypassed() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(admin));
+
+        assertTrue(lookup.findByEmail("admin@example.com").isPresent());
+
+        verifyNoInteractions(transactionManager);
+        assertEquals(1, calls("bypassed"));
+        assertEquals(0, calls("leader"));
+    }
+
+    @Test
+    @DisplayName("Principals are detached snapshots that do not follow later entity changes")
+    void findByEmail_ReturnsSnapshot() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(admin));
+
+        UserPrincipal principal = lookup.findByEmail("admin@example.com").orElseThrow();
+        admin.setPassword("changedPassword");
+        admin.getRoles().clear();
+
+        assertEquals("encodedPassword", principal.getPassword());
+        assertTrue(principal.isAdmin());
+    }
+
+    private double calls(String role) {
+        return meterRegistry.counter(SingleFlight.CALLS, "lookup", "user-by-email", "role", role).count();
+    }
+}
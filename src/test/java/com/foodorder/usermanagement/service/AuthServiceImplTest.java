@@ -1,29 +1,42 @@
 package com.foodorder.usermanagement.service;
 
+import com.foodorder.usermanagement.availability.RegisteredEmailFilter;
 import com.foodorder.usermanagement.dto.request.LoginRequest;
 import com.foodorder.usermanagement.dto.request.RegisterRequest;
 import com.foodorder.usermanagement.dto.response.JwtResponse;
 import com.foodorder.usermanagement.exception.ResourceAlreadyExistsException;
+import com.foodorder.usermanagement.model.EmailType;
 import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.mail.EmailQueue;
 import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
 import com.foodorder.usermanagement.repository.RoleRepository;
 import com.foodorder.usermanagement.repository.UserRepository;
 import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.TokenRevocationList;
+import com.foodorder.usermanagement.security.UserPrincipal;
 import com.foodorder.usermanagement.service.impl.AuthServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +60,18 @@ class AuthServiceImplTest {
     @Mock
     private Authentication authentication;
     
+    @Mock
+    private OutboxRecorder outboxRecorder;
+    
+    @Mock
+    private EmailQueue emailQueue;
+    
+    @Mock
+    private RegisteredEmailFilter registeredEmails;
+    
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -76,6 +101,8 @@ class AuthServiceImplTest {
         loginRequest = new LoginRequest();
         loginRequest.setEmail("test@example.com");
         loginRequest.setPassword("password");
+
+        lenient().when(registeredEmails.mightContain(anyString())).thenReturn(true);
     }
 
     @Test
@@ -86,7 +113,7 @@ class AuthServiceImplTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(tokenProvider.generateToken(any())).thenReturn("jwtToken");
-        when(authentication.getPrincipal()).thenReturn(testUser);
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.from(testUser));
 
         JwtResponse response = authService.register(registerRequest);
 
@@ -95,6 +122,59 @@ class AuthServiceImplTest {
         assertEquals(testUser.getId(), response.getId());
         assertEquals(testUser.getEmail(), response.getEmail());
         verify(userRepository).save(any(User.class));
+        verify(emailQueue).enqueue(eq(EmailType.WELCOME), eq("test@example.com"), anyMap());
+        verify(registeredEmails).put("test@example.com");
+    }
+
+    @Test
+    void register_EmailRuledOutByFilter_SkipsLookup() {
+        when(registeredEmails.mightContain("test@example.com")).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(roleRepository.findByName(any())).thenReturn(Optional.of(testRole));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(tokenProvider.generateToken(any())).thenReturn("jwtToken");
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.from(testUser));
+
+        authService.register(registerRequest);
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void register_ConcurrentDuplicate_ThrowsException() {
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(roleRepository.findByName(any())).thenReturn(Optional.of(testRole));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("ux_users_email_lower"));
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> authService.register(registerRequest));
+        verify(registeredEmails, never()).put(anyString());
+        verifyNoInteractions(emailQueue);
+    }
+
+    @Test
+    void isEmailAvailable_RuledOutByFilter_DoesNotQuery() {
+        when(registeredEmails.mightContain("new@example.com")).thenReturn(false);
+
+        assertTrue(authService.isEmailAvailable("new@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void isEmailAvailable_PossibleMatch_ChecksRepository() {
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+        assertFalse(authService.isEmailAvailable(" Test@Example.com "));
+        verify(registeredEmails, never()).recordFalsePositive();
+    }
+
+    @Test
+    void isEmailAvailable_FalsePositive_IsRecorded() {
+        when(userRepository.existsByEmail("other@example.com")).thenReturn(false);
+
+        assertTrue(authService.isEmailAvailable("other@example.com"));
+        verify(registeredEmails).recordFalsePositive();
     }
 
     @Test
@@ -109,7 +189,7 @@ class AuthServiceImplTest {
     void login_ValidCredentials_Success() {
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(tokenProvider.generateToken(any())).thenReturn("jwtToken");
-        when(authentication.getPrincipal()).thenReturn(testUser);
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.from(testUser));
 
         JwtResponse response = authService.login(loginRequest);
 
@@ -121,8 +201,20 @@ class AuthServiceImplTest {
 
     @Test
     void logout_Success() {
-        authService.logout("token");
-        // Verify that no exceptions are thrown
-        assertTrue(true);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(tokenProvider.parseClaims("token")).thenReturn(Jwts.claims().setExpiration(Date.from(expiresAt)));
+
+        authService.logout("Bearer token");
+
+        verify(tokenRevocationList).revoke(eq("token"), eq(Instant.ofEpochSecond(expiresAt.getEpochSecond())));
+    }
+
+    @Test
+    void logout_InvalidToken_RevokesNothing() {
+        when(tokenProvider.parseClaims("token")).thenThrow(new MalformedJwtException("bad"));
+
+        authService.logout("Bearer token");
+
+        verifyNoInteractions(tokenRevocationList);
     }
 } 
\ No newline at end of file
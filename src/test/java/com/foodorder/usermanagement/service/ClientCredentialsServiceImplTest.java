@@ -0,0 +1,189 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.request.ServiceClientRequest;
+import com.foodorder.usermanagement.dto.response.ClientTokenResponse;
+import com.foodorder.usermanagement.dto.response.ServiceClientResponse;
+import com.foodorder.usermanagement.model.ServiceClient;
+import com.foodorder.usermanagement.repository.ServiceClientRepository;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.ServiceClientPrincipal;
+import com.foodorder.usermanagement.security.ServiceClientProperties;
+import com.foodorder.usermanagement.security.ServiceClientRegistry;
+import com.foodorder.usermanagement.service.impl.ClientCredentialsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCredentialsServiceImplTest {
+
+    @Mock
+    private ServiceClientRepository serviceClientRepository;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private ServiceClientRegistry registry;
+    private ClientCredentialsServiceImpl service;
+    private String secret;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        jwtTokenProvider.init();
+        jwtTokenProvider = spy(jwtTokenProvider);
+
+        ServiceClientProperties properties = new ServiceClientProperties();
+        properties.setHashKey("test-hash-key");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new ServiceClientRegistry(serviceClientRepository, properties, meterRegistry);
+        service = new ClientCredentialsServiceImpl(registry, serviceClientRepository, jwtTokenProvider, properties,
+                meterRegistry);
+
+        lenient().when(serviceClientRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ServiceClientRequest request = new ServiceClientRequest();
+        request.setClientId("order-service");
+        request.setScopes(Set.of("admin", "Customer"));
+        ServiceClientResponse registered = service.register(request);
+        secret = registered.getClientSecret();
+    }
+
+    @Test
+    @DisplayName("Registration stores a keyed hash of the secret, never the secret")
+    void register_StoresHashOnly() {
+        verify(serviceClientRepository).save(argThat(client -> {
+            assertEquals(64, client.getSecretHash().length());
+            assertNotEquals(secret, client.getSecretHash());
+            assertEquals("admin customer", client.getScopes());
+            return true;
+        }));
+        assertTrue(secret.length() >= 43);
+    }
+
+    @Test
+    @DisplayName("A token carries the client and its scopes and is handed out again while fresh")
+    void issueToken_ScopedAndCached() {
+        ClientTokenResponse first = service.issueToken("order-service", secret, null);
+        ClientTokenResponse second = service.issueToken("order-service", secret, "customer admin");
+
+        assertEquals("Bearer", first.getTokenType());
+        assertEquals("admin customer", first.getScope());
+        assertTrue(first.getExpiresIn() > 3500 && first.getExpiresIn() <= 3600);
+        assertEquals(first.getAccessToken(), second.getAccessToken());
+        Claims claims = jwtTokenProvider.parseClaims(first.getAccessToken());
+        assertEquals("client:order-service", claims.getSubject());
+        assertEquals("order-service", claims.get(ServiceClientPrincipal.CLIENT_ID_CLAIM));
+        assertEquals("admin customer", claims.get(ServiceClientPrincipal.SCOPE_CLAIM));
+    }
+
+    @Test
+    @DisplayName("A narrower scope gets its own token; scopes beyond the client's are refused")
+    void issueToken_ScopeNarrowing() {
+        ClientTokenResponse customer = service.issueToken("order-service", secret, "customer");
+
+        assertEquals("customer", customer.getScope());
+        assertNotEquals(service.issueToken("order-service", secret, null).getAccessToken(), customer.getAccessToken());
+        assertThrows(IllegalArgumentException.class, () -> service.issueToken("order-service", secret, "seller"));
+        assertThrows(IllegalArgumentException.class, () -> service.issueToken("order-service", secret, "root"));
+    }
+
+    @Test
+    @DisplayName("Wrong secrets and unknown clients are rejected, unknown ones without a query")
+    void issueToken_BadCredentials() {
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("order-service", secret + "x", null));
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("order-service", null, null));
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("unknown", secret, null));
+        verify(serviceClientRepository, never()).findByClientId("unknown");
+    }
+
+    @Test
+    @DisplayName("Disabled clients get no tokens; rotation retires the old secret")
+    void disableAndRotate() {
+        ServiceClient stored = new ServiceClient();
+        stored.setClientId("order-service");
+        stored.setSecretHash(registry.hashToHex(secret));
+        stored.setScopes("admin customer");
+        when(serviceClientRepository.findByClientId("order-service")).thenReturn(Optional.of(stored));
+
+        String rotated = service.rotateSecret("order-service").getClientSecret();
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("order-service", secret, null));
+        assertNotNull(service.issueToken("order-service", rotated, null).getAccessToken());
+
+        service.disable("order-service");
+        assertFalse(registry.isEnabled("order-service"));
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("order-service", rotated, null));
+    }
+
+    @Test
+    @DisplayName("Rotation stops handing out the token cached for the client")
+    void rotateSecret_ForgetsIssuedTokens() {
+        ServiceClient stored = new ServiceClient();
+        stored.setClientId("order-service");
+        stored.setSecretHash(registry.hashToHex(secret));
+        stored.setScopes("admin customer");
+        when(serviceClientRepository.findByClientId("order-service")).thenReturn(Optional.of(stored));
+        service.issueToken("order-service", secret, null);
+
+        String rotated = service.rotateSecret("order-service").getClientSecret();
+        service.issueToken("order-service", rotated, null);
+
+        verify(jwtTokenProvider, times(2)).generateClientToken(eq("order-service"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Inside a transaction, changes reach the registry only once it commits")
+    void register_TakenInAfterCommit() {
+        ServiceClientRequest request = new ServiceClientRequest();
+        request.setClientId("billing-service");
+        request.setScopes(Set.of("customer"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            String billingSecret = service.register(request).getClientSecret();
+            assertFalse(registry.isEnabled("billing-service"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNotNull(service.issueToken("billing-service", billingSecret, null).getAccessToken());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("A rotation that rolls back leaves the old secret working")
+    void rotateSecret_RolledBack() {
+        ServiceClient stored = new ServiceClient();
+        stored.setClientId("order-service");
+        stored.setSecretHash(registry.hashToHex(secret));
+        stored.setScopes("admin customer");
+        when(serviceClientRepository.findByClientId("order-service")).thenReturn(Optional.of(stored));
+
+        TransactionSynchronizationManager.initSynchronization();
+        String rotated;
+        try {
+            rotated = service.rotateSecret("order-service").getClientSecret();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotNull(service.issueToken("order-service", secret, null).getAccessToken());
+        assertThrows(BadCredentialsException.class, () -> service.issueToken("order-service", rotated, null));
+    }
+}
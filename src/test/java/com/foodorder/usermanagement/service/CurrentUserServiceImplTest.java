@@ -0,0 +1,105 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.response.CurrentUserResponse;
+import com.foodorder.usermanagement.exception.ResourceNotFoundException;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipalLookup;
+import com.foodorder.usermanagement.service.impl.CurrentUserServiceImpl;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserServiceImplTest {
+
+    @Mock
+    private UserPrincipalLookup userPrincipalLookup;
+
+    @InjectMocks
+    private CurrentUserServiceImpl service;
+
+    private User user;
+    private UserPrincipal fromToken;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setName(Role.RoleType.ROLE_SELLER);
+        user = new User();
+        user.setId(7L);
+        user.setEmail("seller@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setSeller(true);
+        user.addRole(role);
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        jwtTokenProvider.init();
+        UserPrincipal principal = UserPrincipal.from(user);
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        fromToken = UserPrincipal.fromClaims(jwtTokenProvider.parseClaims(token)).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("The profile is answered from the token's claims without a lookup")
+    void getCurrentUser_FromClaims() {
+        CurrentUserResponse response = service.getCurrentUser(fromToken);
+
+        assertEquals(7L, response.getId());
+        assertEquals("seller@example.com", response.getEmail());
+        assertEquals("Sam", response.getFirstName());
+        assertEquals("Seller", response.getLastName());
+        assertTrue(response.isSeller());
+        assertEquals(List.of("ROLE_SELLER"), response.getRoles());
+        assertNull(fromToken.getPassword());
+        verifyNoInteractions(userPrincipalLookup);
+    }
+
+    @Test
+    @DisplayName("A principal the filter loaded fresh is answered as loaded")
+    void getCurrentUser_Fresh_AsLoaded() {
+        user.setFirstName("Samantha");
+
+        assertEquals("Samantha", service.getCurrentUser(UserPrincipal.from(user)).getFirstName());
+        verifyNoInteractions(userPrincipalLookup);
+    }
+
+    @Test
+    @DisplayName("Tokens without the profile claims fall back to the user, unless gone or disabled")
+    void getCurrentUser_OldToken_LooksUp() {
+        UserPrincipal oldToken = UserPrincipal.fromClaims(Jwts.claims(
+                Map.of(UserPrincipal.USER_ID_CLAIM, 7L, UserPrincipal.ROLES_CLAIM, List.of("ROLE_SELLER")))
+                .setSubject("seller@example.com")).orElseThrow();
+        when(userPrincipalLookup.findByEmail("seller@example.com")).thenReturn(Optional.of(UserPrincipal.from(user)));
+
+        assertEquals("Sam", service.getCurrentUser(oldToken).getFirstName());
+
+        user.setEnabled(false);
+        when(userPrincipalLookup.findByEmail("seller@example.com")).thenReturn(Optional.of(UserPrincipal.from(user)));
+        assertThrows(ResourceNotFoundException.class, () -> service.getCurrentUser(oldToken));
+
+        when(userPrincipalLookup.findByEmail("seller@example.com")).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> service.getCurrentUser(oldToken));
+    }
+}
@@ -0,0 +1,208 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.response.TokenIntrospectionResponse;
+import com.foodorder.usermanagement.model.Role;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.ServiceClientRegistry;
+import com.foodorder.usermanagement.security.TokenIntrospectionProperties;
+import com.foodorder.usermanagement.security.TokenRevocationList;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.security.UserPrincipalLookup;
+import com.foodorder.usermanagement.service.impl.TokenIntrospectionServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceImplTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    @Mock
+    private TokenRevocationList revocations;
+
+    @Mock
+    private UserPrincipalLookup userPrincipalLookup;
+
+    @Mock
+    private ServiceClientRegistry serviceClientRegistry;
+
+    private final TokenIntrospectionProperties properties = new TokenIntrospectionProperties();
+    private final Set<String> verifyingThreads = ConcurrentHashMap.newKeySet();
+    private JwtTokenProvider jwtTokenProvider;
+    private TokenIntrospectionServiceImpl service;
+    private UserPrincipal admin;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = spy(new JwtTokenProvider());
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        jwtTokenProvider.init();
+        lenient().doAnswer(invocation -> {
+            verifyingThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(jwtTokenProvider).parseClaims(any());
+
+        properties.setParallelThreshold(4);
+        properties.setParallelism(2);
+        service = new TokenIntrospectionServiceImpl(jwtTokenProvider, revocations, userPrincipalLookup, serviceClientRegistry,
+                properties, new SimpleMeterRegistry());
+
+        Role role = new Role();
+        role.setName(Role.RoleType.ROLE_ADMIN);
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("admin@example.com");
+        user.setPassword("encodedPassword");
+        user.addRole(role);
+        admin = UserPrincipal.from(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Active tokens report the user's current id and roles, in request order")
+    void introspect_ActiveAndInvalid_InRequestOrder() {
+        String token = token(admin);
+        when(userPrincipalLookup.findAllByEmail(anyCollection())).thenReturn(Map.of("admin@example.com", admin));
+
+        List<TokenIntrospectionResponse> results = service.introspect(List.of("not-a-token", token));
+
+        assertFalse(results.get(0).isActive());
+        assertNull(results.get(0).getSubject());
+        assertTrue(results.get(1).isActive());
+        assertEquals("admin@example.com", results.get(1).getSubject());
+        assertEquals(7L, results.get(1).getUserId());
+        assertEquals(List.of("ROLE_ADMIN"), results.get(1).getRoles());
+        assertNotNull(results.get(1).getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("Tokens of a user disabled since they were issued are inactive")
+    void introspect_DisabledUser_Inactive() {
+        String token = token(admin);
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("admin@example.com");
+        user.setEnabled(false);
+        UserPrincipal disabled = UserPrincipal.from(user);
+        when(userPrincipalLookup.findAllByEmail(anyCollection())).thenReturn(Map.of("admin@example.com", disabled));
+        when(userPrincipalLookup.findByEmail("admin@example.com")).thenReturn(Optional.of(disabled));
+
+        assertFalse(service.introspect(List.of(token)).get(0).isActive());
+        assertFalse(service.introspect(token).isActive());
+    }
+
+    @Test
+    @DisplayName("A verified signature is remembered across calls")
+    void introspect_VerifiedTokenCached() {
+        String token = token(admin);
+        when(userPrincipalLookup.findAllByEmail(anyCollection())).thenReturn(Map.of("admin@example.com", admin));
+
+        service.introspect(List.of(token));
+        service.introspect(List.of(token, token));
+
+        verify(jwtTokenProvider, times(1)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("Revoked and expired tokens are answered without a database lookup")
+    void introspect_RevokedOrExpired_NoLookup() {
+        String revoked = token(admin);
+        String expired = Jwts.builder()
+                .setSubject("admin@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+        when(revocations.isRevoked(revoked)).thenReturn(true);
+
+        List<TokenIntrospectionResponse> results = service.introspect(List.of(revoked, expired));
+
+        assertFalse(results.get(0).isActive());
+        assertFalse(results.get(1).isActive());
+        verifyNoInteractions(userPrincipalLookup);
+    }
+
+    @Test
+    @DisplayName("Batches at the threshold verify their signatures on the verification pool")
+    void introspect_LargeBatch_VerifiedInParallel() {
+        // Distinct tokens, so none is served from the cache
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tokens.add(Jwts.builder()
+                    .setSubject("admin@example.com")
+                    .setId("jti-" + i)
+                    .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .compact());
+        }
+        when(userPrincipalLookup.findAllByEmail(anyCollection())).thenReturn(Map.of("admin@example.com", admin));
+
+        List<TokenIntrospectionResponse> results = service.introspect(tokens);
+
+        assertTrue(results.stream().allMatch(TokenIntrospectionResponse::isActive));
+        assertFalse(verifyingThreads.isEmpty());
+        assertTrue(verifyingThreads.stream().allMatch(name -> name.startsWith("token-verify-")), verifyingThreads::toString);
+        verify(userPrincipalLookup, times(1)).findAllByEmail(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Client tokens are answered from their claims while the client stays enabled")
+    void introspect_ClientToken_NoLookup() {
+        String token = jwtTokenProvider.generateClientToken("order-service", List.of("admin"),
+                Instant.now().plusSeconds(60));
+        when(serviceClientRegistry.isEnabled("order-service")).thenReturn(true, false);
+
+        TokenIntrospectionResponse active = service.introspect(List.of(token)).get(0);
+        TokenIntrospectionResponse disabled = service.introspect(List.of(token)).get(0);
+
+        assertTrue(active.isActive());
+        assertEquals("client:order-service", active.getSubject());
+        assertNull(active.getUserId());
+        assertEquals(List.of("ROLE_ADMIN"), active.getRoles());
+        assertFalse(disabled.isActive());
+        verifyNoInteractions(userPrincipalLookup);
+    }
+
+    @Test
+    @DisplayName("Empty and oversized batches are rejected")
+    void introspect_BatchSizeValidated() {
+        properties.setMaxTokens(2);
+
+        assertThrows(IllegalArgumentException.class, () -> service.introspect(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.introspect(List.of("a", "b", "c")));
+    }
+
+    private String token(UserPrincipal principal) {
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.foodorder.usermanagement.service;
+
+import com.foodorder.usermanagement.dto.UserSummary;
+import com.foodorder.usermanagement.dto.request.UserBatchLookupRequest;
+import com.foodorder.usermanagement.dto.response.UserBatchLookupResponse;
+import com.foodorder.usermanagement.repository.UserRepository;
+import com.foodorder.usermanagement.service.impl.UserLookupServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserLookupServiceImpl lookupService;
+
+    @BeforeEach
+    void setUp() {
+        lookupService = new UserLookupServiceImpl(userRepository, new SimpleMeterRegistry(), 5);
+    }
+
+    @Test
+    void lookup_ReturnsResultsInRequestOrderWithMisses() {
+        when(userRepository.findSummariesByIdIn(any())).thenReturn(List.of(summary(3L, "c@example.com"), summary(1L, "a@example.com")));
+        when(userRepository.findSummariesByEmailIn(any())).thenReturn(List.of(summary(2L, "B@example.com")));
+
+        UserBatchLookupRequest request = new UserBatchLookupRequest();
+        request.setIds(List.of(1L, 9L, 3L, 1L));
+        request.setEmails(List.of(" b@EXAMPLE.com"));
+
+        List<UserBatchLookupResponse.Result> results = lookupService.lookup(request).getResults();
+
+        assertEquals(List.of(1L, 9L, 3L, 1L), results.subList(0, 4).stream().map(UserBatchLookupResponse.Result::getId).toList());
+        assertEquals(List.of(true, false, true, true), results.stream().limit(4).map(UserBatchLookupResponse.Result::isFound).toList());
+        assertNull(results.get(1).getUser());
+        assertEquals(" b@EXAMPLE.com", results.get(4).getEmail());
+        assertEquals(2L, results.get(4).getUser().getId());
+        verify(userRepository).findSummariesByIdIn(Set.of(1L, 9L, 3L));
+        verify(userRepository).findSummariesByEmailIn(Set.of("b@example.com"));
+    }
+
+    @Test
+    void lookup_OnlyIds_DoesNotQueryEmails() {
+        when(userRepository.findSummariesByIdIn(any())).thenReturn(List.of());
+
+        UserBatchLookupRequest request = new UserBatchLookupRequest();
+        request.setIds(Arrays.asList(7L, null));
+
+        List<UserBatchLookupResponse.Result> results = lookupService.lookup(request).getResults();
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(UserBatchLookupResponse.Result::isFound));
+        verify(userRepository, never()).findSummariesByEmailIn(any());
+    }
+
+    @Test
+    void lookup_NoKeysOrTooManyKeys_Throws() {
+        UserBatchLookupRequest empty = new UserBatchLookupRequest();
+        assertThrows(IllegalArgumentException.class, () -> lookupService.lookup(empty));
+
+        UserBatchLookupRequest tooMany = new UserBatchLookupRequest();
+        tooMany.setIds(List.of(1L, 2L, 3L));
+        tooMany.setEmails(List.of("a@example.com", "b@example.com", "c@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> lookupService.lookup(tooMany));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserSummary summary(Long id, String email) {
+        return new UserSummary(id, email, "First", "Last", "+15550000000", false, true, null, null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.foodorder.usermanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.service.impl.UserMergePatchApplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMergePatchApplierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserMergePatchApplier applier = new UserMergePatchApplier();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail("test@example.com");
+        user.setPhone("+1234567890");
+        user.setEnabled(true);
+        user.setSeller(true);
+        user.setActive(true);
+        user.setBusinessName("Test Kitchen");
+        user.setUpiId("test@upi");
+    }
+
+    @Test
+    @DisplayName("Should only touch fields present in the patch")
+    void apply_PartialPatch() throws Exception {
+        boolean changed = applier.apply(user, patch("{\"firstName\":\"Patched\",\"active\":false}"));
+
+        assertTrue(changed);
+        assertEquals("Patched", user.getFirstName());
+        assertFalse(user.isActive());
+        assertEquals("User", user.getLastName());
+        assertEquals("test@example.com", user.getEmail());
+        assertEquals("Test Kitchen", user.getBusinessName());
+    }
+
+    @Test
+    @DisplayName("Should report no change when the patch matches current values")
+    void apply_NoOpPatch() throws Exception {
+        boolean changed = applier.apply(user, patch("{\"firstName\":\"Test\",\"seller\":true,\"businessName\":\"Test Kitchen\"}"));
+
+        assertFalse(changed);
+    }
+
+    @Test
+    @DisplayName("Should report no change for an empty patch")
+    void apply_EmptyPatch() throws Exception {
+        assertFalse(applier.apply(user, patch("{}")));
+    }
+
+    @Test
+    @DisplayName("Should clear optional fields set to null")
+    void apply_NullClearsOptionalField() throws Exception {
+        boolean changed = applier.apply(user, patch("{\"upiId\":null,\"bankIfscCode\":null}"));
+
+        assertTrue(changed);
+        assertNull(user.getUpiId());
+        assertNull(user.getBankIfscCode());
+    }
+
+    @Test
+    @DisplayName("Should reject null for required fields")
+    void apply_NullRequiredField() throws Exception {
+        JsonNode patch = patch("{\"lastName\":null}");
+
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch));
+        assertEquals("User", user.getLastName());
+    }
+
+    @Test
+    @DisplayName("Should reject fields that cannot be patched")
+    void apply_UnknownField() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("{\"password\":\"newPassword123\"}")));
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("{\"roles\":[]}")));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values without applying any of the patch")
+    void apply_InvalidValues() throws Exception {
+        JsonNode patch = patch("{\"firstName\":\"Patched\",\"email\":\"not-an-email\"}");
+
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch));
+        assertEquals("Test", user.getFirstName());
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("{\"phone\":\"abc\"}")));
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("{\"enabled\":\"yes\"}")));
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("{\"firstName\":42}")));
+    }
+
+    @Test
+    @DisplayName("Should tell which patches set the admin-only account flags")
+    void touchesFlags() throws Exception {
+        assertTrue(applier.touchesFlags(patch("{\"firstName\":\"Patched\",\"active\":true}")));
+        assertTrue(applier.touchesFlags(patch("{\"enabled\":null}")));
+        assertFalse(applier.touchesFlags(patch("{\"firstName\":\"Patched\",\"businessName\":\"Kitchen\"}")));
+        assertFalse(applier.touchesFlags(patch("[]")));
+    }
+
+    @Test
+    @DisplayName("Should reject a patch that is not a JSON object")
+    void apply_NonObjectPatch() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> applier.apply(user, patch("[]")));
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
@@ -1,30 +1,46 @@
 package com.foodorder.usermanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodorder.usermanagement.dto.UserDTO;
 import com.foodorder.usermanagement.exception.ResourceNotFoundException;
 import com.foodorder.usermanagement.exception.UserAlreadyExistsException;
+import com.foodorder.usermanagement.mail.EmailQueue;
+import com.foodorder.usermanagement.model.EmailType;
+import com.foodorder.usermanagement.model.Role;
 import com.foodorder.usermanagement.model.User;
+import com.foodorder.usermanagement.model.UserEventType;
+import com.foodorder.usermanagement.outbox.OutboxRecorder;
 import com.foodorder.usermanagement.repository.UserRepository;
 import com.foodorder.usermanagement.security.JwtTokenProvider;
+import com.foodorder.usermanagement.security.UserPrincipal;
+import com.foodorder.usermanagement.service.impl.UserMergePatchApplier;
 import com.foodorder.usermanagement.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +61,15 @@ class UserServiceImplTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private OutboxRecorder outboxRecorder;
+
+    @Mock
+    private EmailQueue emailQueue;
+
+    @Spy
+    private UserMergePatchApplier mergePatchApplier = new UserMergePatchApplier();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -74,6 +99,16 @@ class UserServiceImplTest {
         testUserDTO.setEnabled(true);
         testUserDTO.setSeller(false);
         testUserDTO.setActive(true);
+
+        // The service only lets users change their own account
+        UserPrincipal principal = UserPrincipal.from(testUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -217,7 +252,7 @@ class UserServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals("", result.getFirstName());
-        assertNull(result.getLastName());
+        assertEquals("User", result.getLastName());
         verify(userRepository).save(any(User.class));
     }
 
@@ -250,28 +285,95 @@ class UserServiceImplTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should leave account flags alone when a user updates their own account")
+    void updateUser_NonAdmin_FlagsIgnored() {
+        User updateUser = new User();
+        updateUser.setFirstName("Updated");
+        updateUser.setEnabled(false);
+        updateUser.setSeller(true);
+        updateUser.setActive(false);
+        updateUser.setBusinessName("Test Business");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.updateUser(1L, updateUser);
+
+        assertEquals("Updated", result.getFirstName());
+        assertTrue(result.isEnabled());
+        assertFalse(result.isSeller());
+        assertTrue(result.isActive());
+        assertNull(result.getBusinessName());
+    }
+
+    @Test
+    @DisplayName("Should let admins change account flags")
+    void updateUser_Admin_SetsFlags() {
+        signInAsAdmin();
+        User updateUser = new User();
+        updateUser.setEnabled(false);
+        updateUser.setSeller(true);
+        updateUser.setActive(false);
+        updateUser.setBusinessName("Test Business");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.updateUser(1L, updateUser);
+
+        assertFalse(result.isEnabled());
+        assertTrue(result.isSeller());
+        assertFalse(result.isActive());
+        assertEquals("Test Business", result.getBusinessName());
+    }
+
+    @Test
+    @DisplayName("Should refuse a patch of account flags from a non-admin")
+    void patchUser_NonAdmin_FlagsDenied() throws Exception {
+        JsonNode patch = new ObjectMapper().readTree("{\"firstName\":\"Patched\",\"enabled\":true}");
+
+        assertThrows(AccessDeniedException.class, () -> userService.patchUser(1L, patch));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should let admins patch account flags")
+    void patchUser_Admin_SetsFlags() throws Exception {
+        signInAsAdmin();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.patchUser(1L, new ObjectMapper().readTree("{\"seller\":true}"));
+
+        assertTrue(result.isSeller());
+        verify(outboxRecorder).record(UserEventType.USER_UPDATED, 1L);
+    }
+
     @Test
     @DisplayName("Should successfully delete user")
     void deleteUser_Success() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.softDelete(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).softDelete(eq(1L), any(LocalDateTime.class));
+        verify(userRepository, never()).deleteById(anyLong());
+        verify(outboxRecorder).record(UserEventType.USER_DELETED, 1L);
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent user")
     void deleteUser_NotFound() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.softDelete(eq(1L), any(LocalDateTime.class))).thenReturn(0);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(1L));
         verify(userRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(outboxRecorder);
     }
 
     @Test
@@ -286,6 +388,8 @@ class UserServiceImplTest {
 
         // Assert
         verify(userRepository).save(any(User.class));
+        verify(outboxRecorder).record(UserEventType.USER_PASSWORD_CHANGED, 1L);
+        verify(emailQueue).enqueue(eq(EmailType.PASSWORD_CHANGED), eq(testUser.getEmail()), anyMap());
     }
 
     @Test
@@ -300,4 +404,17 @@ class UserServiceImplTest {
             () -> userService.changePassword(1L, "wrongPassword", "newPassword"));
         verify(userRepository, never()).save(any(User.class));
     }
-} 
\ No newline at end of file
+
+    private void signInAsAdmin() {
+        Role role = new Role();
+        role.setName(Role.RoleType.ROLE_ADMIN);
+        User admin = new User();
+        admin.setId(2L);
+        admin.setEmail("admin@example.com");
+        admin.setPassword("password");
+        admin.addRole(role);
+        UserPrincipal principal = UserPrincipal.from(admin);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}